@@ -0,0 +1,107 @@
+package cz.chess.engine.eval;
+
+import cz.chess.engine.model.board.BitBoard;
+import cz.chess.engine.model.board.PieceSquareTables;
+import cz.chess.engine.model.board.Position;
+import cz.chess.engine.model.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * Static evaluation of a Position used at the leaves of the Search.
+ * The score is the material and piece placement by the PieceSquareTables together with the PawnStructure,
+ * blended between the midgame and the endgame values by the pieces left on the board.
+ * BitBoard keeps the sums up to date while moves are made and unmade
+ * and the Pawn skeleton is mostly found in a PawnHashTable,
+ * so evaluating a leaf costs only a few arithmetic operations and table lookups.
+ * This class is only used for its methods, it cannot be instantiated.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class Evaluation {
+
+    /* phase of the starting position, more (after promotions) counts as the midgame as well */
+    public static final int MAX_PHASE = 24;
+
+    /* centipawn values indexed by PieceType ordinal: KING, QUEEN, ROOK, BISHOP, KNIGHT, PAWN */
+    private static final int[] PIECE_VALUES = Arrays.stream(PieceType.values()).mapToInt(PieceType::getValue).toArray();
+
+    private Evaluation() {
+        throw new RuntimeException("Evaluation class is not instantiable!");
+    }
+
+    /**
+     * Evaluates the Pawn skeleton from scratch, a Search uses evaluate(Position, PawnHashTable) instead.
+     *
+     * @param position
+     * @return score in centipawns from the point of view of the side to move
+     */
+    public static int evaluate(final Position position) {
+        final BitBoard bitBoard = position.getBitBoard();
+        return evaluate(position, bitBoard.getMidgameScore(), bitBoard.getEndgameScore(), bitBoard.getPhase(),
+                PawnStructure.evaluate(bitBoard));
+    }
+
+    /**
+     * @param position
+     * @param pawnHashTable table of the calling thread
+     * @return score in centipawns from the point of view of the side to move
+     */
+    public static int evaluate(final Position position, final PawnHashTable pawnHashTable) {
+        final BitBoard bitBoard = position.getBitBoard();
+        return evaluate(position, bitBoard.getMidgameScore(), bitBoard.getEndgameScore(), bitBoard.getPhase(),
+                pawnHashTable.probe(bitBoard));
+    }
+
+    /**
+     * Evaluates the position from scratch, without the sums kept by BitBoard.
+     *
+     * @param position
+     * @return the same score as evaluate(), used to check the incremental updates
+     */
+    public static int evaluateFromScratch(final Position position) {
+        final BitBoard bitBoard = position.getBitBoard();
+        int midgame = 0;
+        int endgame = 0;
+        int phase = 0;
+        for (int code = 0; code < BitBoard.NUM_PIECE_CODES; code++) {
+            long pieces = bitBoard.getPieces(code);
+            while (pieces != 0) {
+                final int square = BitBoard.lowestSquare(pieces);
+                pieces &= pieces - 1;
+                midgame += PieceSquareTables.midgame(code, square);
+                endgame += PieceSquareTables.endgame(code, square);
+                phase += PieceSquareTables.phase(code);
+            }
+        }
+        return evaluate(position, midgame, endgame, phase, PawnStructure.evaluate(bitBoard));
+    }
+
+    /**
+     * @param code piece code, BitBoard.EMPTY is worth 0
+     * @return centipawn value of the piece, used by the move ordering and the StaticExchange
+     */
+    public static int pieceValue(final int code) {
+        return code == BitBoard.EMPTY ? 0 : PIECE_VALUES[BitBoard.typeOf(code)];
+    }
+
+    /**
+     * @param type PieceType ordinal
+     * @return centipawn value of the piece type
+     */
+    public static int typeValue(final int type) {
+        return PIECE_VALUES[type];
+    }
+
+    private static int evaluate(final Position position,
+                                final int midgame,
+                                final int endgame,
+                                final int phase,
+                                final int pawnScore) {
+        final int midgamePhase = Math.min(phase, MAX_PHASE);
+        final int midgameTotal = midgame + PawnStructure.midgame(pawnScore) + PawnStructure.kingShield(position.getBitBoard());
+        final int endgameTotal = endgame + PawnStructure.endgame(pawnScore);
+        final int score = (midgameTotal * midgamePhase + endgameTotal * (MAX_PHASE - midgamePhase)) / MAX_PHASE;
+        return position.getSideToMove() == Position.WHITE ? score : -score;
+    }
+}
@@ -0,0 +1,57 @@
+package cz.chess.engine.eval;
+
+import cz.chess.engine.model.board.BitBoard;
+
+/**
+ * Fixed-size hash table of PawnStructure scores keyed by the pawn key of BitBoard.
+ * Sibling nodes of the Search mostly share their Pawn skeleton,
+ * so the skeleton is evaluated once and then read back from the table.
+ *
+ * The table is two flat arrays, a slot is always replaced by the newest skeleton.
+ * It is not thread-safe, every Search thread owns its own table.
+ * An empty slot has the key 0, which is the key of a board without Pawns, whose score is 0 as well.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class PawnHashTable {
+
+    public static final int DEFAULT_SIZE = 1 << 14;
+
+    private final long[] keys;
+    private final int[] scores;
+    private final int mask;
+
+    public PawnHashTable() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * @param size number of entries, rounded down to a power of two
+     */
+    public PawnHashTable(final int size) {
+        final int entries = Integer.highestOneBit(Math.max(1, size));
+        this.keys = new long[entries];
+        this.scores = new int[entries];
+        this.mask = entries - 1;
+    }
+
+    /**
+     * Finds the score of the Pawn skeleton of the @param bitBoard, evaluates and stores it if it is not in the table.
+     *
+     * @param bitBoard
+     * @return score packed by PawnStructure.score(), from the point of view of white
+     */
+    public int probe(final BitBoard bitBoard) {
+        final long key = bitBoard.getPawnKey();
+        final int index = (int) key & this.mask;
+        if (this.keys[index] != key) {
+            this.keys[index] = key;
+            this.scores[index] = PawnStructure.evaluate(bitBoard);
+        }
+        return this.scores[index];
+    }
+
+    public int size() {
+        return this.keys.length;
+    }
+}
@@ -0,0 +1,187 @@
+package cz.chess.engine.eval;
+
+import cz.chess.engine.model.board.BitBoard;
+import cz.chess.engine.model.board.MoveTables;
+import cz.chess.engine.model.board.Position;
+import cz.chess.engine.model.pieces.Piece.PieceType;
+
+/**
+ * Evaluation of the Pawn skeleton: doubled, isolated, backward and passed Pawns
+ * and the Pawn shield in front of each King.
+ * The skeleton terms depend on the Pawns only, so the PawnHashTable stores them under the pawn key
+ * and they are computed once per skeleton. The shield also depends on the King and is cheap, it is never stored.
+ *
+ * Scores pack the midgame value in the upper and the endgame value in the lower 16 bits of one int,
+ * see score(), midgame() and endgame(). They are from the point of view of white.
+ * This class is only used for its methods, it cannot be instantiated.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class PawnStructure {
+
+    private static final int PAWN = PieceType.PAWN.ordinal();
+
+    private static final int DOUBLED = score(-10, -25);
+    private static final int ISOLATED = score(-12, -15);
+    private static final int BACKWARD = score(-8, -12);
+    /* indexed by the rank counted from the side's own first rank */
+    private static final int[] PASSED = {
+            0, score(0, 5), score(3, 10), score(8, 20), score(15, 35), score(25, 60), score(40, 90), 0};
+    /* midgame bonus for every own Pawn in the King's shield */
+    private static final int SHIELD = 12;
+
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    /* indexed by side and Tile: Tiles in front of a Pawn on its own and both adjacent files */
+    private static final long[][] PASSED_MASKS = new long[2][64];
+    /* indexed by side and Tile: Tiles in front of a Pawn on its own file */
+    private static final long[][] FORWARD_FILE_MASKS = new long[2][64];
+    /* indexed by side and Tile: Tiles on the adjacent files on the Pawn's rank and behind it, where its supporters stand */
+    private static final long[][] SUPPORT_MASKS = new long[2][64];
+    /* indexed by side and Tile: two ranks in front of a King on its own and both adjacent files */
+    private static final long[][] SHIELD_MASKS = new long[2][64];
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            FILES[file] = BitBoard.FILE_A << file;
+        }
+        for (int file = 0; file < 8; file++) {
+            ADJACENT_FILES[file] = (file > 0 ? FILES[file - 1] : 0) | (file < 7 ? FILES[file + 1] : 0);
+        }
+        for (int square = 0; square < 64; square++) {
+            final int file = BitBoard.fileOf(square);
+            final int rank = BitBoard.rankOf(square);
+            for (int other = 0; other < 64; other++) {
+                final int otherRank = BitBoard.rankOf(other);
+                final long mask = BitBoard.squareMask(other);
+                final boolean sameFile = BitBoard.fileOf(other) == file;
+                final boolean adjacentFile = Math.abs(BitBoard.fileOf(other) - file) == 1;
+                final boolean nearFile = sameFile || adjacentFile;
+                if (nearFile && otherRank > rank) {
+                    PASSED_MASKS[Position.WHITE][square] |= mask;
+                }
+                if (nearFile && otherRank < rank) {
+                    PASSED_MASKS[Position.BLACK][square] |= mask;
+                }
+                if (sameFile && otherRank > rank) {
+                    FORWARD_FILE_MASKS[Position.WHITE][square] |= mask;
+                }
+                if (sameFile && otherRank < rank) {
+                    FORWARD_FILE_MASKS[Position.BLACK][square] |= mask;
+                }
+                if (adjacentFile && otherRank <= rank) {
+                    SUPPORT_MASKS[Position.WHITE][square] |= mask;
+                }
+                if (adjacentFile && otherRank >= rank) {
+                    SUPPORT_MASKS[Position.BLACK][square] |= mask;
+                }
+                if (nearFile && otherRank > rank && otherRank <= rank + 2) {
+                    SHIELD_MASKS[Position.WHITE][square] |= mask;
+                }
+                if (nearFile && otherRank < rank && otherRank >= rank - 2) {
+                    SHIELD_MASKS[Position.BLACK][square] |= mask;
+                }
+            }
+        }
+    }
+
+    private PawnStructure() {
+        throw new RuntimeException("PawnStructure class is not instantiable!");
+    }
+
+    /**
+     * Evaluates the Pawn skeleton from scratch, the PawnHashTable calls this once per pawn key.
+     *
+     * @param bitBoard
+     * @return packed score of the doubled, isolated, backward and passed Pawns of both sides
+     */
+    public static int evaluate(final BitBoard bitBoard) {
+        return evaluateSide(bitBoard, Position.WHITE) - evaluateSide(bitBoard, Position.BLACK);
+    }
+
+    /**
+     * @param bitBoard
+     * @return midgame bonus of both Kings for the own Pawns shielding them, from the point of view of white
+     */
+    public static int kingShield(final BitBoard bitBoard) {
+        return shieldOf(bitBoard, Position.WHITE) - shieldOf(bitBoard, Position.BLACK);
+    }
+
+    /**
+     * @return @param midgame and @param endgame values packed into one int
+     */
+    public static int score(final int midgame, final int endgame) {
+        return (midgame << 16) + endgame;
+    }
+
+    /**
+     * @param score packed by score()
+     * @return midgame value
+     */
+    public static int midgame(final int score) {
+        return (score + 0x8000) >> 16;
+    }
+
+    /**
+     * @param score packed by score()
+     * @return endgame value
+     */
+    public static int endgame(final int score) {
+        return (short) score;
+    }
+
+    private static int evaluateSide(final BitBoard bitBoard, final int side) {
+        final long ownPawns = bitBoard.getPieces(BitBoard.pieceCode(side, PAWN));
+        final long enemyPawns = bitBoard.getPieces(BitBoard.pieceCode(side ^ 1, PAWN));
+        final long enemyAttacks = pawnAttacks(enemyPawns, side ^ 1);
+        int score = 0;
+        long pawns = ownPawns;
+        while (pawns != 0) {
+            final int square = BitBoard.lowestSquare(pawns);
+            pawns &= pawns - 1;
+            final int file = BitBoard.fileOf(square);
+            final boolean doubled = (ownPawns & FORWARD_FILE_MASKS[side][square]) != 0;
+            if (doubled) {
+                score += DOUBLED;
+            }
+            if ((ownPawns & ADJACENT_FILES[file]) == 0) {
+                score += ISOLATED;
+            } else if ((ownPawns & SUPPORT_MASKS[side][square]) == 0
+                    && (enemyAttacks & BitBoard.squareMask(stopSquare(side, square))) != 0) {
+                // no own Pawn can ever defend it and an enemy Pawn keeps it from advancing
+                score += BACKWARD;
+            }
+            if (!doubled && (enemyPawns & PASSED_MASKS[side][square]) == 0) {
+                score += PASSED[relativeRank(side, square)];
+            }
+        }
+        return score;
+    }
+
+    private static int shieldOf(final BitBoard bitBoard, final int side) {
+        final int kingSquare = bitBoard.getKingSquare(side);
+        if (kingSquare < 0) {
+            return 0;
+        }
+        final long ownPawns = bitBoard.getPieces(BitBoard.pieceCode(side, PAWN));
+        return SHIELD * BitBoard.popCount(ownPawns & SHIELD_MASKS[side][kingSquare]);
+    }
+
+    private static long pawnAttacks(final long pawns, final int side) {
+        long attacks = 0;
+        long remaining = pawns;
+        while (remaining != 0) {
+            attacks |= MoveTables.pawnAttacks(side, BitBoard.lowestSquare(remaining));
+            remaining &= remaining - 1;
+        }
+        return attacks;
+    }
+
+    private static int stopSquare(final int side, final int square) {
+        return side == Position.WHITE ? square + 8 : square - 8;
+    }
+
+    private static int relativeRank(final int side, final int square) {
+        return side == Position.WHITE ? BitBoard.rankOf(square) : 7 - BitBoard.rankOf(square);
+    }
+}
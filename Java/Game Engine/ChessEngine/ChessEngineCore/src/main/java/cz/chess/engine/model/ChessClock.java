@@ -0,0 +1,285 @@
+package cz.chess.engine.model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chess clock of one game following a TimeControl.
+ * The time is measured with System.nanoTime(), so it does not drift and does not depend on the wall clock.
+ *
+ * The clock does not have a thread of its own. While it runs, it schedules one task on the shared
+ * ScheduledExecutorService of its ClockService for the moment the shown seconds change or the time runs out,
+ * so one ClockService can run the clocks of many games. All methods are thread-safe.
+ * TimerListeners are called on the scheduler thread or on the thread pressing the clock.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class ChessClock {
+
+    private final ScheduledExecutorService scheduler;
+    private final List<TimerListener> listeners = new CopyOnWriteArrayList<>();
+
+    private TimeControl timeControl;
+    /* time left at the start of the current move of the side to move, or at the end of the last move of the other side */
+    private final long[] remainingNanos = new long[2];
+    private final int[] movesMade = new int[2];
+    private PlayingSide sideToMove = PlayingSide.WHITE;
+    private boolean running;
+    private long moveStartNanos;
+    private PlayingSide flaggedSide;
+    private ScheduledFuture<?> tick;
+    /* a tick which has already started when it was cancelled finds out it is not the current one */
+    private long tickNumber;
+
+    /**
+     * Created by ClockService.createClock.
+     */
+    ChessClock(final TimeControl timeControl, final ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        reset(timeControl);
+    }
+
+    /**
+     * @param listener told about every change of the shown time and when the time runs out
+     */
+    public void addListener(final TimerListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Stops the clock and sets it to the start of a game with the same TimeControl, white to move.
+     */
+    public void reset() {
+        reset(getTimeControl());
+    }
+
+    /**
+     * Stops the clock and sets it to the start of a game with the @param timeControl, white to move.
+     */
+    public void reset(final TimeControl timeControl) {
+        synchronized (this) {
+            cancelTick();
+            this.timeControl = timeControl;
+            this.remainingNanos[0] = timeControl.getInitialMillis() * 1_000_000;
+            this.remainingNanos[1] = this.remainingNanos[0];
+            this.movesMade[0] = 0;
+            this.movesMade[1] = 0;
+            this.sideToMove = PlayingSide.WHITE;
+            this.running = false;
+            this.flaggedSide = null;
+        }
+        publishTime();
+    }
+
+    /**
+     * Starts the time of the side to move, does nothing if the clock runs or a player has no time left.
+     */
+    public void start() {
+        synchronized (this) {
+            if (this.running || this.flaggedSide != null) {
+                return;
+            }
+            this.running = true;
+            this.moveStartNanos = System.nanoTime();
+            scheduleTick();
+        }
+        publishTime();
+    }
+
+    /**
+     * Stops the time, e.g. when the game ends. start continues the move of the same side.
+     */
+    public void stop() {
+        synchronized (this) {
+            if (!this.running) {
+                return;
+            }
+            this.remainingNanos[this.sideToMove.ordinal()] -= System.nanoTime() - this.moveStartNanos;
+            this.running = false;
+            cancelTick();
+        }
+        publishTime();
+    }
+
+    /**
+     * Ends the move of the side to move and starts the time of its opponent.
+     * The player gets the increment, the delay and the time of the next period.
+     * If the clock is stopped, only the side to move changes.
+     */
+    public void press() {
+        PlayingSide flagged = null;
+        synchronized (this) {
+            if (this.flaggedSide != null) {
+                return;
+            }
+            if (this.running) {
+                final long now = System.nanoTime();
+                final int side = this.sideToMove.ordinal();
+                final long elapsed = now - this.moveStartNanos;
+                long remaining = this.remainingNanos[side] - elapsed;
+                if (remaining <= 0) { // the flag fell before the scheduled task noticed it
+                    this.remainingNanos[side] = 0;
+                    flagged = flag();
+                } else {
+                    this.movesMade[side]++;
+                    remaining += Math.min(elapsed, this.timeControl.getDelayMillis() * 1_000_000)
+                            + this.timeControl.getIncrementMillis() * 1_000_000
+                            + this.timeControl.getPeriodMillisAfter(this.movesMade[side]) * 1_000_000;
+                    this.remainingNanos[side] = remaining;
+                    this.moveStartNanos = now;
+                    this.sideToMove = opponent(this.sideToMove);
+                    scheduleTick();
+                }
+            } else {
+                this.sideToMove = opponent(this.sideToMove);
+            }
+        }
+        if (flagged != null) {
+            timeRanOut(flagged);
+        }
+        publishTime();
+    }
+
+    /**
+     * Changes the side to move of a stopped clock, e.g. for a game set up from a position.
+     */
+    public synchronized void setSideToMove(final PlayingSide playingSide) {
+        if (!this.running) {
+            this.sideToMove = playingSide;
+        }
+    }
+
+    public synchronized PlayingSide getSideToMove() {
+        return this.sideToMove;
+    }
+
+    public synchronized TimeControl getTimeControl() {
+        return this.timeControl;
+    }
+
+    public synchronized boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * @return side whose time ran out, null if both players still have time
+     */
+    public synchronized PlayingSide getFlaggedSide() {
+        return this.flaggedSide;
+    }
+
+    /**
+     * @return time left to the @param playingSide at this moment, never negative
+     */
+    public synchronized long getRemainingMillis(final PlayingSide playingSide) {
+        return Math.max(0, remainingNanos(playingSide, System.nanoTime())) / 1_000_000;
+    }
+
+    /**
+     * @return time left to the @param playingSide rounded up to whole seconds, as a clock shows it
+     */
+    public synchronized int getRemainingSeconds(final PlayingSide playingSide) {
+        return toShownSeconds(remainingNanos(playingSide, System.nanoTime()));
+    }
+
+    /**
+     * @return moves the @param playingSide has to make until the next period, 0 if the period lasts until the end
+     */
+    public synchronized int getMovesToGo(final PlayingSide playingSide) {
+        return this.timeControl.getMovesToGo(this.movesMade[playingSide.ordinal()]);
+    }
+
+    /**
+     * Tells the listeners how much time each player has.
+     */
+    public void publishTime() {
+        final int whiteSeconds;
+        final int blackSeconds;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            whiteSeconds = toShownSeconds(remainingNanos(PlayingSide.WHITE, now));
+            blackSeconds = toShownSeconds(remainingNanos(PlayingSide.BLACK, now));
+        }
+        for (final TimerListener listener : this.listeners) {
+            listener.timeChanged(whiteSeconds, blackSeconds);
+        }
+    }
+
+    /**
+     * Run by the scheduler when the shown seconds of the side to move change or its time runs out.
+     */
+    private void tick(final long number) {
+        PlayingSide flagged = null;
+        synchronized (this) {
+            if (!this.running || number != this.tickNumber) {
+                return;
+            }
+            if (remainingNanos(this.sideToMove, System.nanoTime()) <= 0) {
+                this.remainingNanos[this.sideToMove.ordinal()] = 0;
+                flagged = flag();
+            } else {
+                scheduleTick();
+            }
+        }
+        if (flagged != null) {
+            timeRanOut(flagged);
+        }
+        publishTime();
+    }
+
+    /**
+     * Must be called holding the lock.
+     *
+     * @return the side to move, whose time ran out
+     */
+    private PlayingSide flag() {
+        this.running = false;
+        this.flaggedSide = this.sideToMove;
+        cancelTick();
+        return this.flaggedSide;
+    }
+
+    private void timeRanOut(final PlayingSide playingSide) {
+        for (final TimerListener listener : this.listeners) {
+            listener.timeRanOut(playingSide);
+        }
+    }
+
+    /**
+     * Must be called holding the lock while the clock runs.
+     * Schedules the next tick for the moment the shown seconds of the side to move change.
+     */
+    private void scheduleTick() {
+        cancelTick();
+        final long remaining = remainingNanos(this.sideToMove, System.nanoTime());
+        final long untilNextSecond = remaining <= 0 ? 0 : (remaining - 1) % 1_000_000_000L + 1;
+        final long number = ++this.tickNumber;
+        this.tick = this.scheduler.schedule(() -> tick(number), untilNextSecond, TimeUnit.NANOSECONDS);
+    }
+
+    private void cancelTick() {
+        if (this.tick != null) {
+            this.tick.cancel(false);
+            this.tick = null;
+        }
+    }
+
+    /**
+     * Must be called holding the lock.
+     */
+    private long remainingNanos(final PlayingSide playingSide, final long now) {
+        final long remaining = this.remainingNanos[playingSide.ordinal()];
+        return this.running && playingSide == this.sideToMove ? remaining - (now - this.moveStartNanos) : remaining;
+    }
+
+    private static int toShownSeconds(final long nanos) {
+        return nanos <= 0 ? 0 : (int) ((nanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    private static PlayingSide opponent(final PlayingSide playingSide) {
+        return playingSide.isWhite() ? PlayingSide.BLACK : PlayingSide.WHITE;
+    }
+}
@@ -0,0 +1,48 @@
+package cz.chess.engine.model;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Runs the ChessClocks of any number of games on a few shared scheduler threads.
+ * A clock only uses a scheduler thread for a moment whenever its shown seconds change.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class ClockService {
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a service with one scheduler thread, enough for the clocks of thousands of games.
+     */
+    public ClockService() {
+        this(1);
+    }
+
+    /**
+     * @param threads number of scheduler threads, at least 1
+     */
+    public ClockService(final int threads) {
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, threads), runnable -> {
+            final Thread thread = new Thread(runnable, "chess-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param timeControl rules of the clock
+     * @return stopped clock at the start of a game, white to move
+     */
+    public ChessClock createClock(final TimeControl timeControl) {
+        return new ChessClock(timeControl, this.scheduler);
+    }
+
+    /**
+     * Stops all clocks of this service for good.
+     */
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+    }
+}
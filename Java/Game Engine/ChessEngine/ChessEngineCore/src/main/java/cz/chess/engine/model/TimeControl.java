@@ -0,0 +1,186 @@
+package cz.chess.engine.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Rules of a ChessClock: the periods of the game and the time a player gets back for every move.
+ *
+ * A period gives its time to both players and lasts a number of moves, e.g. 40 moves in 90 minutes,
+ * the time of the next period is added to the clock after the last move of the previous one.
+ * The last period lasts until the end of the game, or repeats if it has a number of moves.
+ * Every move adds the Fischer increment to the clock, a Bronstein delay gives back the time
+ * of the move up to the delay. Use the Builder class or the static factories to create an instance.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class TimeControl {
+
+    private final List<Period> periods;
+    private final long incrementMillis;
+    private final long delayMillis;
+
+    private TimeControl(final Builder builder) {
+        this.periods = Collections.unmodifiableList(new ArrayList<>(builder.periods));
+        this.incrementMillis = builder.incrementMillis;
+        this.delayMillis = builder.delayMillis;
+    }
+
+    /**
+     * @param millis time for the whole game
+     * @return time control without increment and delay
+     */
+    public static TimeControl suddenDeath(final long millis) {
+        return new Builder().addPeriod(0, millis).build();
+    }
+
+    /**
+     * @param millis time for the whole game
+     * @param incrementMillis time added after every move
+     * @return time control with a Fischer increment
+     */
+    public static TimeControl fischer(final long millis, final long incrementMillis) {
+        return new Builder().addPeriod(0, millis).setIncrement(incrementMillis).build();
+    }
+
+    /**
+     * @param millis time for the whole game
+     * @param delayMillis longest time of a move given back after the move
+     * @return time control with a Bronstein delay
+     */
+    public static TimeControl bronstein(final long millis, final long delayMillis) {
+        return new Builder().addPeriod(0, millis).setDelay(delayMillis).build();
+    }
+
+    /**
+     * @return time on the clock at the start of the game
+     */
+    public long getInitialMillis() {
+        return this.periods.get(0).millis;
+    }
+
+    public long getIncrementMillis() {
+        return this.incrementMillis;
+    }
+
+    public long getDelayMillis() {
+        return this.delayMillis;
+    }
+
+    /**
+     * @param movesMade moves the player has made so far
+     * @return moves the player has to make until the next period, 0 if the current period lasts until the end of the game
+     */
+    public int getMovesToGo(final int movesMade) {
+        int periodEnd = 0;
+        for (final Period period : this.periods) {
+            if (period.moves == 0) {
+                return 0;
+            }
+            periodEnd += period.moves;
+            if (movesMade < periodEnd) {
+                return periodEnd - movesMade;
+            }
+        }
+        final int lastMoves = this.periods.get(this.periods.size() - 1).moves;
+        return lastMoves - (movesMade - periodEnd) % lastMoves;
+    }
+
+    /**
+     * @param movesMade moves the player has made including the one just finished
+     * @return time of the period which starts after the move, 0 if the move does not end a period
+     */
+    public long getPeriodMillisAfter(final int movesMade) {
+        int periodEnd = 0;
+        for (int i = 0; i < this.periods.size(); i++) {
+            final Period period = this.periods.get(i);
+            if (period.moves == 0) {
+                return 0;
+            }
+            periodEnd += period.moves;
+            if (movesMade == periodEnd) {
+                return i + 1 < this.periods.size() ? this.periods.get(i + 1).millis : period.millis;
+            }
+            if (movesMade < periodEnd) {
+                return 0;
+            }
+        }
+        final Period last = this.periods.get(this.periods.size() - 1);
+        return (movesMade - periodEnd) % last.moves == 0 ? last.millis : 0;
+    }
+
+    /**
+     * @return the time control in the usual notation, e.g. "40/5400+30" in seconds
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (final Period period : this.periods) {
+            if (builder.length() > 0) {
+                builder.append(':');
+            }
+            if (period.moves > 0) {
+                builder.append(period.moves).append('/');
+            }
+            builder.append(period.millis / 1000);
+        }
+        if (this.incrementMillis > 0) {
+            builder.append('+').append(this.incrementMillis / 1000.0);
+        }
+        if (this.delayMillis > 0) {
+            builder.append(" delay ").append(this.delayMillis / 1000.0);
+        }
+        return builder.toString();
+    }
+
+    private static final class Period {
+
+        private final int moves;
+        private final long millis;
+
+        private Period(final int moves, final long millis) {
+            this.moves = moves;
+            this.millis = millis;
+        }
+    }
+
+    /**
+     * Builder for TimeControl
+     */
+    public static class Builder {
+
+        private final List<Period> periods = new ArrayList<>();
+        private long incrementMillis = 0;
+        private long delayMillis = 0;
+
+        /**
+         * @param moves moves of the period, 0 for the rest of the game
+         * @param millis time of the period
+         */
+        public Builder addPeriod(final int moves, final long millis) {
+            if (!this.periods.isEmpty() && this.periods.get(this.periods.size() - 1).moves == 0) {
+                throw new RuntimeException("No period can follow the one lasting until the end of the game!");
+            }
+            this.periods.add(new Period(Math.max(0, moves), Math.max(0, millis)));
+            return this;
+        }
+
+        public Builder setIncrement(final long incrementMillis) {
+            this.incrementMillis = Math.max(0, incrementMillis);
+            return this;
+        }
+
+        public Builder setDelay(final long delayMillis) {
+            this.delayMillis = Math.max(0, delayMillis);
+            return this;
+        }
+
+        public TimeControl build() {
+            if (this.periods.isEmpty()) {
+                throw new RuntimeException("A time control needs at least one period!");
+            }
+            return new TimeControl(this);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package cz.chess.engine.model;
+
+/**
+ * Receives the events of a ChessClock, e.g. to show the clocks in the GUI.
+ * The methods are called on the scheduler thread of the ClockService or on the thread pressing the clock.
+ *
+ * @author Vojtěch Sýkora
+ */
+public interface TimerListener {
+
+    /**
+     * Called whenever the shown seconds change and whenever the player to move changes.
+     *
+     * @param whiteSeconds time left to white rounded up to whole seconds
+     * @param blackSeconds time left to black rounded up to whole seconds
+     */
+    void timeChanged(int whiteSeconds, int blackSeconds);
+
+    /**
+     * Called once when a player has no time left.
+     *
+     * @param playingSide side whose time ran out
+     */
+    void timeRanOut(PlayingSide playingSide);
+}
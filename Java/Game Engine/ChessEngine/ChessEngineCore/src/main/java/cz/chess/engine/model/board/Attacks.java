@@ -0,0 +1,149 @@
+package cz.chess.engine.model.board;
+
+import cz.chess.engine.model.pieces.Piece.PieceType;
+
+/**
+ * Attack queries over a BitBoard.
+ * Instead of generating all moves of the opponent, attacks are found by looking
+ * from the target Tile outwards for pieces which could reach it.
+ * This class is only used for its methods, it cannot be instantiated.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class Attacks {
+
+    private static final int KING = PieceType.KING.ordinal();
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+    private static final int ROOK = PieceType.ROOK.ordinal();
+    private static final int BISHOP = PieceType.BISHOP.ordinal();
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final int PAWN = PieceType.PAWN.ordinal();
+
+    private Attacks() {
+        throw new RuntimeException("Attacks class is not instantiable!");
+    }
+
+    /**
+     * Checks if any piece of @param side attacks the Tile @param square.
+     *
+     * @param bitBoard piece placement
+     * @param square Tile index
+     * @param side 0 for WHITE, 1 for BLACK
+     * @return true if the Tile is attacked, else false
+     */
+    public static boolean isSquareAttacked(final BitBoard bitBoard, final int square, final int side) {
+        // a pawn attacks the Tile exactly when a pawn of the other side standing there would attack the pawn
+        if ((MoveTables.pawnAttacks(side ^ 1, square) & bitBoard.getPieces(BitBoard.pieceCode(side, PAWN))) != 0
+                || (MoveTables.knightAttacks(square) & bitBoard.getPieces(BitBoard.pieceCode(side, KNIGHT))) != 0
+                || (MoveTables.kingAttacks(square) & bitBoard.getPieces(BitBoard.pieceCode(side, KING))) != 0) {
+            return true;
+        }
+        final long occupancy = bitBoard.getOccupancy();
+        final long queens = bitBoard.getPieces(BitBoard.pieceCode(side, QUEEN));
+        final long rooks = bitBoard.getPieces(BitBoard.pieceCode(side, ROOK)) | queens;
+        final long bishops = bitBoard.getPieces(BitBoard.pieceCode(side, BISHOP)) | queens;
+        return (MoveTables.rookAttacks(square, occupancy) & rooks) != 0
+                || (MoveTables.bishopAttacks(square, occupancy) & bishops) != 0;
+    }
+
+    /**
+     * Finds the pieces of both sides attacking the Tile @param square as if only @param occupancy was occupied,
+     * used to uncover sliders standing behind other attackers (x-rays).
+     *
+     * @param bitBoard piece placement
+     * @param square Tile index
+     * @param occupancy bitmap of Tiles which block sliders
+     * @return bitmap of the attacking pieces, pieces outside @param occupancy are included too
+     */
+    public static long attackersTo(final BitBoard bitBoard, final int square, final long occupancy) {
+        final long queens = bitBoard.getPieces(BitBoard.pieceCode(Position.WHITE, QUEEN))
+                | bitBoard.getPieces(BitBoard.pieceCode(Position.BLACK, QUEEN));
+        final long rooks = bitBoard.getPieces(BitBoard.pieceCode(Position.WHITE, ROOK))
+                | bitBoard.getPieces(BitBoard.pieceCode(Position.BLACK, ROOK)) | queens;
+        final long bishops = bitBoard.getPieces(BitBoard.pieceCode(Position.WHITE, BISHOP))
+                | bitBoard.getPieces(BitBoard.pieceCode(Position.BLACK, BISHOP)) | queens;
+        final long knights = bitBoard.getPieces(BitBoard.pieceCode(Position.WHITE, KNIGHT))
+                | bitBoard.getPieces(BitBoard.pieceCode(Position.BLACK, KNIGHT));
+        final long kings = bitBoard.getPieces(BitBoard.pieceCode(Position.WHITE, KING))
+                | bitBoard.getPieces(BitBoard.pieceCode(Position.BLACK, KING));
+        return (MoveTables.pawnAttacks(Position.BLACK, square) & bitBoard.getPieces(BitBoard.pieceCode(Position.WHITE, PAWN)))
+                | (MoveTables.pawnAttacks(Position.WHITE, square) & bitBoard.getPieces(BitBoard.pieceCode(Position.BLACK, PAWN)))
+                | (MoveTables.knightAttacks(square) & knights)
+                | (MoveTables.kingAttacks(square) & kings)
+                | (MoveTables.rookAttacks(square, occupancy) & rooks)
+                | (MoveTables.bishopAttacks(square, occupancy) & bishops);
+    }
+
+    /**
+     * Calculates all Tiles attacked by pieces of @param side.
+     *
+     * @param bitBoard piece placement
+     * @param side 0 for WHITE, 1 for BLACK
+     * @return bitmap of attacked Tiles
+     */
+    public static long attackedSquares(final BitBoard bitBoard, final int side) {
+        long attacks = 0L;
+        long pieces = bitBoard.getOccupancy(side);
+        while (pieces != 0) {
+            final int square = BitBoard.lowestSquare(pieces);
+            pieces &= pieces - 1;
+            attacks |= attacksOf(bitBoard, bitBoard.getPieceCode(square), square);
+        }
+        return attacks;
+    }
+
+    /**
+     * Finds pieces of @param side which cannot leave the line between their King and an enemy slider
+     * without exposing the King to an attack.
+     *
+     * @param bitBoard piece placement
+     * @param side 0 for WHITE, 1 for BLACK
+     * @return bitmap of pinned pieces
+     */
+    public static long pinnedPieces(final BitBoard bitBoard, final int side) {
+        final int kingSquare = bitBoard.getKingSquare(side);
+        if (kingSquare < 0) {
+            return 0L;
+        }
+        final int enemy = side ^ 1;
+        final long enemyQueens = bitBoard.getPieces(BitBoard.pieceCode(enemy, QUEEN));
+        // enemy sliders which would attack the King on an empty board
+        long snipers = (MoveTables.rookAttacks(kingSquare, 0L)
+                & (bitBoard.getPieces(BitBoard.pieceCode(enemy, ROOK)) | enemyQueens))
+                | (MoveTables.bishopAttacks(kingSquare, 0L)
+                & (bitBoard.getPieces(BitBoard.pieceCode(enemy, BISHOP)) | enemyQueens));
+        final long occupancy = bitBoard.getOccupancy();
+        long pinned = 0L;
+        while (snipers != 0) {
+            final int sniper = BitBoard.lowestSquare(snipers);
+            snipers &= snipers - 1;
+            final long blockers = MoveTables.between(kingSquare, sniper) & occupancy;
+            if (BitBoard.popCount(blockers) == 1) {
+                pinned |= blockers & bitBoard.getOccupancy(side);
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * @param bitBoard piece placement
+     * @param code piece code of the attacking piece
+     * @param square Tile the piece stands on
+     * @return bitmap of Tiles attacked by the piece
+     */
+    public static long attacksOf(final BitBoard bitBoard, final int code, final int square) {
+        final int type = BitBoard.typeOf(code);
+        if (type == PAWN) {
+            return MoveTables.pawnAttacks(BitBoard.sideOf(code), square);
+        } else if (type == KNIGHT) {
+            return MoveTables.knightAttacks(square);
+        } else if (type == KING) {
+            return MoveTables.kingAttacks(square);
+        } else if (type == ROOK) {
+            return MoveTables.rookAttacks(square, bitBoard.getOccupancy());
+        } else if (type == BISHOP) {
+            return MoveTables.bishopAttacks(square, bitBoard.getOccupancy());
+        }
+        return MoveTables.queenAttacks(square, bitBoard.getOccupancy());
+    }
+}
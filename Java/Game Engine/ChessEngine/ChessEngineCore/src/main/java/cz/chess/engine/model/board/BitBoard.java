@@ -0,0 +1,265 @@
+package cz.chess.engine.model.board;
+
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * Bitboard representation of the piece placement on a chess board.
+ * Every piece type of every side has its own 64-bit long where bit N is set
+ * when such a piece stands on the Tile with index N (0 = 'a1', 63 = 'h8').
+ * Occupancy masks of both sides and a small mailbox of piece codes are kept in sync
+ * so that "what stands on this Tile" is answered in O(1) as well.
+ *
+ * Piece codes are ints computed as side * 6 + PieceType.ordinal(), EMPTY (-1) means no piece.
+ * The sums of PieceSquareTables values, the game phase and the Zobrist pawn key are updated together with the pieces,
+ * so the Evaluation does not have to look at every piece again.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class BitBoard {
+
+    public static final int EMPTY = -1;
+    public static final int NUM_PIECE_TYPES = 6;
+    public static final int NUM_PIECE_CODES = 2 * NUM_PIECE_TYPES;
+
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_1 = 0xFFL;
+    public static final long RANK_8 = RANK_1 << 56;
+
+    private static final PlayingSide[] SIDES = PlayingSide.values();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private final long[] pieces;
+    private final long[] occupancy;
+    private final int[] mailbox;
+
+    /* sums of PieceSquareTables values of all pieces, from the point of view of white */
+    private int midgameScore;
+    private int endgameScore;
+    private int phase;
+    private long pawnKey;
+
+    public BitBoard() {
+        this.pieces = new long[NUM_PIECE_CODES];
+        this.occupancy = new long[2];
+        this.mailbox = new int[Utils.NUM_TILES];
+        Arrays.fill(this.mailbox, EMPTY);
+    }
+
+    /**
+     * Creates an independent copy of the @param other BitBoard
+     *
+     * @param other
+     */
+    public BitBoard(final BitBoard other) {
+        this.pieces = other.pieces.clone();
+        this.occupancy = other.occupancy.clone();
+        this.mailbox = other.mailbox.clone();
+        this.midgameScore = other.midgameScore;
+        this.endgameScore = other.endgameScore;
+        this.phase = other.phase;
+        this.pawnKey = other.pawnKey;
+    }
+
+    /**
+     * Places the piece with @param code on the empty Tile @param square
+     *
+     * @param code piece code
+     * @param square Tile index
+     */
+    public void putPiece(final int code, final int square) {
+        final long mask = squareMask(square);
+        this.pieces[code] |= mask;
+        this.occupancy[sideOf(code)] |= mask;
+        this.mailbox[square] = code;
+        this.midgameScore += PieceSquareTables.midgame(code, square);
+        this.endgameScore += PieceSquareTables.endgame(code, square);
+        this.phase += PieceSquareTables.phase(code);
+        this.pawnKey ^= Zobrist.pawnSquare(code, square);
+    }
+
+    /**
+     * Removes whatever piece stands on @param square
+     *
+     * @param square Tile index
+     * @return code of the removed piece, EMPTY if the Tile was empty
+     */
+    public int removePiece(final int square) {
+        final int code = this.mailbox[square];
+        if (code != EMPTY) {
+            final long mask = ~squareMask(square);
+            this.pieces[code] &= mask;
+            this.occupancy[sideOf(code)] &= mask;
+            this.mailbox[square] = EMPTY;
+            this.midgameScore -= PieceSquareTables.midgame(code, square);
+            this.endgameScore -= PieceSquareTables.endgame(code, square);
+            this.phase -= PieceSquareTables.phase(code);
+            this.pawnKey ^= Zobrist.pawnSquare(code, square);
+        }
+        return code;
+    }
+
+    /**
+     * Moves a piece from @param from to the empty Tile @param to
+     *
+     * @param from Tile index
+     * @param to Tile index
+     */
+    public void movePiece(final int from, final int to) {
+        final int code = this.mailbox[from];
+        final long fromTo = squareMask(from) | squareMask(to);
+        this.pieces[code] ^= fromTo;
+        this.occupancy[sideOf(code)] ^= fromTo;
+        this.mailbox[from] = EMPTY;
+        this.mailbox[to] = code;
+        this.midgameScore += PieceSquareTables.midgame(code, to) - PieceSquareTables.midgame(code, from);
+        this.endgameScore += PieceSquareTables.endgame(code, to) - PieceSquareTables.endgame(code, from);
+        this.pawnKey ^= Zobrist.pawnSquare(code, from) ^ Zobrist.pawnSquare(code, to);
+    }
+
+    /**
+     * @param square Tile index
+     * @return piece code standing on the Tile, EMPTY if there is none
+     */
+    public int getPieceCode(final int square) {
+        return this.mailbox[square];
+    }
+
+    public long getPieces(final int code) {
+        return this.pieces[code];
+    }
+
+    public long getPieces(final PlayingSide playingSide, final PieceType pieceType) {
+        return this.pieces[pieceCode(playingSide, pieceType)];
+    }
+
+    public long getOccupancy(final PlayingSide playingSide) {
+        return this.occupancy[playingSide.ordinal()];
+    }
+
+    public long getOccupancy(final int side) {
+        return this.occupancy[side];
+    }
+
+    /**
+     * @return mask of all Tiles with a piece on them
+     */
+    public long getOccupancy() {
+        return this.occupancy[0] | this.occupancy[1];
+    }
+
+    public boolean isOccupied(final int square) {
+        return this.mailbox[square] != EMPTY;
+    }
+
+    /**
+     * @param side 0 for WHITE, 1 for BLACK
+     * @return Tile index of the side's king, -1 if the side has no king
+     */
+    public int getKingSquare(final int side) {
+        final long kings = this.pieces[side * NUM_PIECE_TYPES + PieceType.KING.ordinal()];
+        return kings == 0 ? -1 : Long.numberOfTrailingZeros(kings);
+    }
+
+    /**
+     * @return sum of the midgame PieceSquareTables values of all pieces, from the point of view of white
+     */
+    public int getMidgameScore() {
+        return this.midgameScore;
+    }
+
+    /**
+     * @return sum of the endgame PieceSquareTables values of all pieces, from the point of view of white
+     */
+    public int getEndgameScore() {
+        return this.endgameScore;
+    }
+
+    /**
+     * @return sum of the PieceSquareTables phase weights of all pieces
+     */
+    public int getPhase() {
+        return this.phase;
+    }
+
+    /**
+     * @return Zobrist key of the Pawns of both sides, equal Pawn skeletons have equal keys
+     */
+    public long getPawnKey() {
+        return this.pawnKey;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final BitBoard that = (BitBoard) o;
+        return Arrays.equals(this.pieces, that.pieces);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.pieces);
+    }
+
+    // -------- STATIC HELPERS --------
+
+    public static long squareMask(final int square) {
+        return 1L << square;
+    }
+
+    public static int pieceCode(final PlayingSide playingSide, final PieceType pieceType) {
+        return pieceCode(playingSide.ordinal(), pieceType.ordinal());
+    }
+
+    public static int pieceCode(final int side, final int type) {
+        return side * NUM_PIECE_TYPES + type;
+    }
+
+    public static int sideOf(final int code) {
+        return code < NUM_PIECE_TYPES ? 0 : 1;
+    }
+
+    public static int typeOf(final int code) {
+        return code < NUM_PIECE_TYPES ? code : code - NUM_PIECE_TYPES;
+    }
+
+    public static PlayingSide playingSideOf(final int code) {
+        return SIDES[sideOf(code)];
+    }
+
+    public static PieceType pieceTypeOf(final int code) {
+        return PIECE_TYPES[typeOf(code)];
+    }
+
+    public static PlayingSide playingSide(final int side) {
+        return SIDES[side];
+    }
+
+    public static PieceType pieceType(final int type) {
+        return PIECE_TYPES[type];
+    }
+
+    /**
+     * @param bits
+     * @return index of the least significant set bit, 64 if @param bits is 0
+     */
+    public static int lowestSquare(final long bits) {
+        return Long.numberOfTrailingZeros(bits);
+    }
+
+    public static int popCount(final long bits) {
+        return Long.bitCount(bits);
+    }
+
+    public static int fileOf(final int square) {
+        return square & 7;
+    }
+
+    public static int rankOf(final int square) {
+        return square >>> 3;
+    }
+}
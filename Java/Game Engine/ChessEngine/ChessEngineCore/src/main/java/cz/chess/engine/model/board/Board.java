@@ -0,0 +1,620 @@
+package cz.chess.engine.model.board;
+
+import com.google.common.collect.Iterables;
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.pieces.*;
+import cz.chess.engine.model.player.BlackPlayer;
+import cz.chess.engine.model.player.Player;
+import cz.chess.engine.model.player.WhitePlayer;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+import static cz.chess.engine.model.board.Move.MoveCreator.createMove;
+
+
+/**
+ * Is a representation of a chessboard with tiles and pieces and players.
+ * Tiles are indexed from 0 to 63 starting on the 'a1' bottom left corner Tile.
+ * The position is stored in a BitBoard, Tile and Piece objects are only views created on demand.
+ * For constructing is used a Builder class.
+ *
+ * @author Vojtěch Sýkora
+ */
+public class Board {
+
+    private final static Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final Position position;
+    private final Tile[] tileViews;
+    private final Piece[] pieceViews;
+    private final long[] attackedSquares;
+    private Player currentPlayer;
+    private final WhitePlayer whitePlayer;
+    private final BlackPlayer blackPlayer;
+
+
+    private Board(final Builder builder) {
+        this(new Position(createBitBoard(builder),
+                builder.whoPlaysNext,
+                calculateCastlingRights(builder),
+                calculateEnPassantSquare(builder.enPassantPawn),
+                builder.halfmoveClock,
+                builder.fullmoveNumber));
+    }
+
+    /**
+     * Creates a Board as a view of the @param position.
+     * The position must not be changed afterwards.
+     *
+     * @param position
+     */
+    Board(final Position position) {
+        this.position = position;
+        this.tileViews = new Tile[Utils.NUM_TILES];
+        this.pieceViews = new Piece[Utils.NUM_TILES];
+        this.attackedSquares = new long[] {-1L, -1L};
+
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
+        this.currentPlayer = position.getPlayingSideToMove().playerVersion(this.whitePlayer, this.blackPlayer);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for(int i = (Utils.NUM_TILES_PER_ROW - 1); i >= 0; i--) {
+            for (int j = 0; j < Utils.NUM_TILES_PER_ROW; j++) {
+                final int index = (i * 8) + j;
+                final String tileAsString = getTile(index).toString();
+                stringBuilder.append(String.format("%3s", tileAsString));
+            }
+            stringBuilder.append("\n");
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Calculates all legal chess moves of the @param Collection of pieces.
+     * The legal moves are calculated based on the Board instance which calls this method.
+     *
+     * @param pieces Collection of object of class Piece or its superior classes
+     * @return Collection of the pieces legal moves
+     */
+    public Collection<Move> calculateAllLegalMoves(Collection<Piece> pieces) {
+        final List<Move> allLegalMoves = new ArrayList<>();
+        for (Piece piece : pieces) {
+            allLegalMoves.addAll(piece.getLegalMoves(this));
+        }
+        return allLegalMoves;
+    }
+
+    private static BitBoard createBitBoard(final Builder builder) {
+        final BitBoard bitBoard = new BitBoard();
+        for (final Piece piece : builder.gamePieces.values()) {
+            bitBoard.putPiece(BitBoard.pieceCode(piece.getPlayingSide(), piece.getPieceType()), piece.getPiecePosition());
+        }
+        return bitBoard;
+    }
+
+    /**
+     * Creates a Board from a copy of the @param position.
+     *
+     * @param position
+     * @return Board with the same layout as the position
+     */
+    public static Board createBoardFromPosition(final Position position) {
+        return new Board(new Position(position));
+    }
+
+    /**
+     * Creates a copy of the Position this Board is a view of.
+     * Moves can be made and taken back on the copy without creating new Boards.
+     *
+     * @return mutable copy of the position
+     */
+    public Position toPosition() {
+        return new Position(this.position);
+    }
+
+    /**
+     * Castling is only possible when the King and the chosen Rook stand on their starting Tiles,
+     * the Rook hasn't moved and the King still allows castling to that side.
+     */
+    private static int calculateCastlingRights(final Builder builder) {
+        int rights = 0;
+        if (canCastle(builder, 4, 7, PlayingSide.WHITE, true)) rights |= Position.WHITE_KING_SIDE_CASTLING;
+        if (canCastle(builder, 4, 0, PlayingSide.WHITE, false)) rights |= Position.WHITE_QUEEN_SIDE_CASTLING;
+        if (canCastle(builder, 60, 63, PlayingSide.BLACK, true)) rights |= Position.BLACK_KING_SIDE_CASTLING;
+        if (canCastle(builder, 60, 56, PlayingSide.BLACK, false)) rights |= Position.BLACK_QUEEN_SIDE_CASTLING;
+        return rights;
+    }
+
+    private static boolean canCastle(final Builder builder,
+                                     final int kingPosition,
+                                     final int rookPosition,
+                                     final PlayingSide playingSide,
+                                     final boolean kingSide) {
+        final Piece king = builder.gamePieces.get(kingPosition);
+        final Piece rook = builder.gamePieces.get(rookPosition);
+        if (king == null || !king.isKing() || king.getPlayingSide() != playingSide || !king.isFirstMove()
+                || rook == null || !rook.isRook() || rook.getPlayingSide() != playingSide || !rook.isFirstMove()) {
+            return false;
+        }
+        return kingSide ? ((King) king).canCastleKingSide() : ((King) king).canCastleQueenSide();
+    }
+
+    /**
+     * @param enPassantPawn Pawn which has just jumped, can be null
+     * @return index of the Tile the Pawn jumped over, -1 if there is none
+     */
+    private static int calculateEnPassantSquare(final Pawn enPassantPawn) {
+        if (enPassantPawn == null) {
+            return Position.NO_SQUARE;
+        }
+        final int pawnPosition = enPassantPawn.getPiecePosition();
+        if (!(enPassantPawn.getPlayingSide().isWhite() ? Utils.isNthRow(pawnPosition, 3) : Utils.isNthRow(pawnPosition, 4))) {
+            LOGGER.warning("EnPassantPawn on " + Utils.getAlphaNotationFromCoordinate(pawnPosition) + " is ignored");
+            return Position.NO_SQUARE;
+        }
+        return pawnPosition - 8 * enPassantPawn.getPlayingSide().getDirection();
+    }
+
+    /**
+     * Creates the Piece object standing on the Tile at @param coordinate from the bitboards.
+     * Flags of the Piece which are not stored in the bitboards are derived from the castling rights
+     * and the en passant Tile.
+     */
+    private Piece createPieceView(final int coordinate) {
+        final int code = this.position.getBitBoard().getPieceCode(coordinate);
+        if (code == BitBoard.EMPTY) {
+            return null;
+        }
+        final PlayingSide playingSide = BitBoard.playingSideOf(code);
+        final boolean white = playingSide.isWhite();
+        final int castlingRights = this.position.getCastlingRights();
+        switch (BitBoard.pieceTypeOf(code)) {
+            case KING:
+                final boolean kingSide = (castlingRights & (white ?
+                        Position.WHITE_KING_SIDE_CASTLING : Position.BLACK_KING_SIDE_CASTLING)) != 0;
+                final boolean queenSide = (castlingRights & (white ?
+                        Position.WHITE_QUEEN_SIDE_CASTLING : Position.BLACK_QUEEN_SIDE_CASTLING)) != 0;
+                return new King(coordinate, playingSide, kingSide || queenSide, kingSide, queenSide, false);
+            case QUEEN:
+                return new Queen(coordinate, playingSide);
+            case ROOK:
+                return new Rook(coordinate, playingSide, (castlingRights & rookCastlingRight(coordinate)) != 0);
+            case BISHOP:
+                return new Bishop(coordinate, playingSide);
+            case KNIGHT:
+                return new Knight(coordinate, playingSide);
+            default:
+                return new Pawn(coordinate, playingSide, true, coordinate == getEnPassantPawnPosition());
+        }
+    }
+
+    private static int rookCastlingRight(final int coordinate) {
+        switch (coordinate) {
+            case 7: return Position.WHITE_KING_SIDE_CASTLING;
+            case 0: return Position.WHITE_QUEEN_SIDE_CASTLING;
+            case 63: return Position.BLACK_KING_SIDE_CASTLING;
+            case 56: return Position.BLACK_QUEEN_SIDE_CASTLING;
+            default: return 0;
+        }
+    }
+
+    private int getEnPassantPawnPosition() {
+        final int enPassantSquare = this.position.getEnPassantSquare();
+        if (enPassantSquare < 0) {
+            return Position.NO_SQUARE;
+        }
+        return Utils.isNthRow(enPassantSquare, 2) ? enPassantSquare + 8 : enPassantSquare - 8;
+    }
+
+    /**
+     * Creates an instance of Board which corresponds to the worldwide standard of a starting chess board.
+     * Uses the Builder class to achieve it.
+     *
+     * @return Board instance of the standard chess starting board
+     */
+    public static Board createStartingBoard() {
+        final Builder builder = new Builder();
+        // WHITE starting layout (at the bottom)
+        builder.setPiece(new Rook(0, PlayingSide.WHITE));
+        builder.setPiece(new Knight(1, PlayingSide.WHITE));
+        builder.setPiece(new Bishop(2, PlayingSide.WHITE));
+        builder.setPiece(new Queen(3, PlayingSide.WHITE));
+        builder.setPiece(new King(
+                                4,
+                                PlayingSide.WHITE,
+                                true,
+                                true,
+                                true,
+                                false));
+        builder.setPiece(new Bishop(5, PlayingSide.WHITE));
+        builder.setPiece(new Knight(6, PlayingSide.WHITE));
+        builder.setPiece(new Rook(7, PlayingSide.WHITE));
+        builder.setPiece(new Pawn(8, PlayingSide.WHITE));
+        builder.setPiece(new Pawn(9, PlayingSide.WHITE));
+        builder.setPiece(new Pawn(10, PlayingSide.WHITE));
+        builder.setPiece(new Pawn(11, PlayingSide.WHITE));
+        builder.setPiece(new Pawn(12, PlayingSide.WHITE));
+        builder.setPiece(new Pawn(13, PlayingSide.WHITE));
+        builder.setPiece(new Pawn(14, PlayingSide.WHITE));
+        builder.setPiece(new Pawn(15, PlayingSide.WHITE));
+
+        // BLACK starting layout (at the top)
+        builder.setPiece(new Pawn(48, PlayingSide.BLACK));
+        builder.setPiece(new Pawn(49, PlayingSide.BLACK));
+        builder.setPiece(new Pawn(50, PlayingSide.BLACK));
+        builder.setPiece(new Pawn(51, PlayingSide.BLACK));
+        builder.setPiece(new Pawn(52, PlayingSide.BLACK));
+        builder.setPiece(new Pawn(53, PlayingSide.BLACK));
+        builder.setPiece(new Pawn(54, PlayingSide.BLACK));
+        builder.setPiece(new Pawn(55, PlayingSide.BLACK));
+        builder.setPiece(new Rook(56, PlayingSide.BLACK));
+        builder.setPiece(new Knight(57, PlayingSide.BLACK));
+        builder.setPiece(new Bishop(58, PlayingSide.BLACK));
+        builder.setPiece(new Queen(59, PlayingSide.BLACK));
+        builder.setPiece(new King(
+                                60,
+                                PlayingSide.BLACK,
+                                true,
+                                true,
+                                true,
+                                false));
+        builder.setPiece(new Bishop(61, PlayingSide.BLACK));
+        builder.setPiece(new Knight(62, PlayingSide.BLACK));
+        builder.setPiece(new Rook(63, PlayingSide.BLACK));
+
+        builder.setWhoPlaysNext(PlayingSide.WHITE);
+        return builder.build();
+    }
+
+    /**
+     * Returns a Tile object with the corresponding coordinate.
+     * Tiles are views of the bitboards created on first access, repeated calls return the same instance.
+     * 
+     * @param coordinate of the Tile wanted
+     * @return Tile object at the coordinate
+     */
+    public Tile getTile(final int coordinate) {
+        Tile tile = this.tileViews[coordinate];
+        if (tile == null) {
+            tile = Tile.createTile(coordinate, getPiece(coordinate));
+            this.tileViews[coordinate] = tile;
+        }
+        return tile;
+    }
+
+    public BitBoard getBitBoard() {
+        return this.position.getBitBoard();
+    }
+
+    /**
+     * The key covers the pieces, the player to move, the castling rights and the en passant file,
+     * Boards reached by different move orders have the same key.
+     *
+     * @return 64-bit Zobrist key of this Board
+     */
+    public long getZobristKey() {
+        return this.position.getZobristKey();
+    }
+
+    /**
+     * @param coordinate
+     * @return true if there is a Piece on the Tile at @param coordinate
+     */
+    public boolean isTileOccupied(final int coordinate) {
+        return this.position.getBitBoard().isOccupied(coordinate);
+    }
+
+    /**
+     * Checks if any piece of @param playingSide attacks the Tile at @param coordinate.
+     *
+     * @param coordinate
+     * @param playingSide the attacking side
+     * @return true if the Tile is attacked, else false
+     */
+    public boolean isSquareAttacked(final int coordinate, final PlayingSide playingSide) {
+        final long attacked = this.attackedSquares[playingSide.ordinal()];
+        if (attacked != -1L) {
+            return (attacked & BitBoard.squareMask(coordinate)) != 0;
+        }
+        return this.position.isSquareAttacked(coordinate, playingSide.ordinal());
+    }
+
+    /**
+     * Calculates the bitmap of all Tiles attacked by @param playingSide.
+     * It is calculated once per Board and side and remembered afterwards.
+     *
+     * @param playingSide the attacking side
+     * @return bitmap where bit N is set if the Tile with index N is attacked
+     */
+    public long getAttackedSquares(final PlayingSide playingSide) {
+        final int side = playingSide.ordinal();
+        if (this.attackedSquares[side] == -1L) {
+            this.attackedSquares[side] = this.position.getAttackedSquares(side);
+        }
+        return this.attackedSquares[side];
+    }
+
+    /**
+     * @param playingSide
+     * @return bitmap of pieces of @param playingSide which are pinned to their King
+     */
+    public long getPinnedPieces(final PlayingSide playingSide) {
+        return this.position.getPinnedPieces(playingSide.ordinal());
+    }
+
+    public int getCastlingRights() {
+        return this.position.getCastlingRights();
+    }
+
+    /**
+     * @return halfmoves since the last capture or pawn move
+     */
+    public int getHalfmoveClock() {
+        return this.position.getHalfmoveClock();
+    }
+
+    /**
+     * @return number of the move to be played, it grows after every move of black
+     */
+    public int getFullmoveNumber() {
+        return this.position.getFullmoveNumber();
+    }
+
+    /**
+     * The Boards of a game made by Move.execute share the keys of all previous positions of the game.
+     *
+     * @return true if this position has occurred for the third time with the same player to move
+     */
+    public boolean isThreefoldRepetition() {
+        return this.position.isThreefoldRepetition();
+    }
+
+    /**
+     * @return true if there was no capture and no pawn move in the last fifty moves of both players
+     */
+    public boolean isFiftyMoveRule() {
+        return this.position.isFiftyMoveRule();
+    }
+
+    /**
+     * @return index of the Tile behind the Pawn which has just jumped, -1 if there is none
+     */
+    public int getEnPassantSquare() {
+        return this.position.getEnPassantSquare();
+    }
+
+    public Pawn getEnPassantPawn() {
+        final int position = getEnPassantPawnPosition();
+        return position < 0 ? null : (Pawn) getPiece(position);
+    }
+
+    public void setEnPassantPawn(Pawn enPassantPawn) {
+        final int oldPosition = getEnPassantPawnPosition();
+        this.position.setEnPassantSquare(calculateEnPassantSquare(enPassantPawn));
+        resetViews(oldPosition);
+        resetViews(getEnPassantPawnPosition());
+    }
+
+    private void resetViews(final int coordinate) {
+        if (coordinate >= 0) {
+            this.pieceViews[coordinate] = null;
+            this.tileViews[coordinate] = null;
+        }
+    }
+
+    public List<Tile> getGameTiles() {
+        final Tile[] tiles = new Tile[Utils.NUM_TILES];
+        for (int i = 0; i < Utils.NUM_TILES; i++) {
+            tiles[i] = getTile(i);
+        }
+        return Collections.unmodifiableList(Arrays.asList(tiles));
+    }
+
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public Collection<Piece> getBlackPieces() {
+        return calculateLivePieces(PlayingSide.BLACK);
+    }
+
+    public Collection<Piece> getWhitePieces() {
+        return calculateLivePieces(PlayingSide.WHITE);
+    }
+
+    private Collection<Piece> calculateLivePieces(final PlayingSide playingSide) {
+        long occupancy = this.position.getBitBoard().getOccupancy(playingSide);
+        final List<Piece> livePieces = new ArrayList<>(BitBoard.popCount(occupancy));
+        while (occupancy != 0) {
+            livePieces.add(getPiece(BitBoard.lowestSquare(occupancy)));
+            occupancy &= occupancy - 1;
+        }
+        return livePieces;
+    }
+
+    public Player getWhitePlayer() {
+        return this.whitePlayer;
+    }
+
+    public Player getBlackPlayer() {
+        return this.blackPlayer;
+    }
+
+    public void setCurrentPlayer(String color) {
+        this.currentPlayer = color.equals("WHITE") ? this.whitePlayer : this.blackPlayer;
+        this.position.setSideToMove(this.currentPlayer.getPlayingSide());
+    }
+
+    /**
+     * Returns a Piece object from the Tile with the corresponding coordinate.
+     *
+     * @param coordinate
+     * @return Piece object, null if the Tile is empty
+     */
+    public Piece getPiece(final int coordinate) {
+        Piece piece = this.pieceViews[coordinate];
+        if (piece == null && this.position.getBitBoard().isOccupied(coordinate)) {
+            piece = createPieceView(coordinate);
+            this.pieceViews[coordinate] = piece;
+        }
+        return piece;
+    }
+
+    /**
+     * Returns the concatenated Iterable of all current legal moves of both players.
+     *
+     * @return Iterable containing all current legal moves
+     */
+    public Iterable<Move> getAllLegalMoves() {
+        return Iterables.unmodifiableIterable(Iterables.concat(
+                this.whitePlayer.getLegalMoves(),
+                this.blackPlayer.getLegalMoves()
+        ));
+    }
+
+    /**
+     * Used to recalculate legal moves when the board layout  is changed.
+     * The moves are calculated lazily the next time they are needed.
+     */
+    public void recalculateLegalMoves() {
+        this.whitePlayer.resetLegalMoves();
+        this.blackPlayer.resetLegalMoves();
+    }
+
+    private Collection<Move> filterLegalMoves(Collection<Move> legalMoves, final Board board) {
+        final List<Move> toRemove = new ArrayList<>();
+        for (final Move move : legalMoves) {
+            final MoveExecution me = board.getCurrentPlayer().makeMove(createMove(board,
+                    move.getCurrentCoordinate(),
+                    move.getFinalCoordinate()));
+            if(me.getAfterBoard().getCurrentPlayer().isInCheck() ||
+                    me.getAfterBoard().getCurrentPlayer().isInCheckMate() ||
+                    me.getAfterBoard().getCurrentPlayer().isInStaleMate()
+            ) {
+                toRemove.add(move);
+            }
+        }
+        legalMoves.removeAll(toRemove);
+        return legalMoves;
+    }
+
+    /**
+     * Used to build a chess board representation as an instance of the Board class
+     */
+    //    --- SUBCLASS ---
+    public static class Builder {
+
+        private final Map<Integer, Piece> gamePieces;
+        private PlayingSide whoPlaysNext;
+        private Pawn enPassantPawn;
+        private int halfmoveClock = 0;
+        private int fullmoveNumber = 1;
+
+        public Builder() {
+            this.gamePieces = new HashMap<>();
+        }
+
+        /**
+         * Places the @param piece on the board where the piece belongs.
+         * The index at which the piece is to be placed is stored in the Piece class.
+         *
+         * @param piece
+         * @return Builder with the new piece added
+         */
+        public Builder setPiece(final Piece piece) {
+            this.gamePieces.put(piece.getPiecePosition(), piece);
+            return this;
+        }
+
+        public Builder removePiece(final int position) {
+            this.gamePieces.remove(position);
+            return this;
+        }
+
+        public Builder setWhoPlaysNext(PlayingSide whoPlaysNext) {
+            this.whoPlaysNext = whoPlaysNext;
+            return this;
+        }
+
+        /**
+         * Sets the castling booleans to the king on @param position
+         *
+         * @param position
+         * @param kingSide
+         * @param queenSide
+         */
+        public void setCastling(final int position, final boolean kingSide, final boolean queenSide) {
+            King kingPiece = (King) this.gamePieces.remove(position);
+            kingPiece.setCastling(kingSide, queenSide);
+            setPiece(kingPiece);
+        }
+
+        /**
+         * When the Builder is ready to be built into a Board, this method takes care of it.
+         *
+         * @return Board
+         */
+        public Board build() {
+            return new Board(this);
+        }
+
+        public void setEnPassantPawn(Pawn movedPawn) {
+            this.enPassantPawn = movedPawn;
+        }
+
+        /**
+         * Sets the counters of a game which does not start from the first move, e.g. loaded from FEN.
+         *
+         * @param halfmoveClock halfmoves since the last capture or pawn move
+         * @param fullmoveNumber number of the move to be played, starting from 1
+         * @return Builder with the counters set
+         */
+        public Builder setMoveCounters(final int halfmoveClock, final int fullmoveNumber) {
+            this.halfmoveClock = Math.max(0, halfmoveClock);
+            this.fullmoveNumber = Math.max(1, fullmoveNumber);
+            return this;
+        }
+
+        /**
+         * Finds the kings position.
+         * The king to be found is of @param playingSide
+         * 
+         * @param playingSide 
+         * @return
+         */
+        public int getKingPosition(PlayingSide playingSide) {
+            for(Map.Entry<Integer, Piece> entry : this.gamePieces.entrySet()) {
+                final Piece piece = entry.getValue();
+                if (piece.isKing() && piece.getPlayingSide().equals(playingSide)) {
+                    return piece.getPiecePosition();
+                }
+            }
+            LOGGER.warning(playingSide.toString() + " KingPosition not found");
+            return -1;
+        }
+
+        /**
+         * Finds on which Tile lays the enPassantPawn
+         * 
+         * @param index 
+         * @return the enPassantPawn Piece
+         */
+        public Pawn findEnPassantPawn(final int index) {
+            return (Pawn) this.gamePieces.get(index);
+        }
+
+        /**
+         * @param index
+         * @return Piece placed on the Tile at @param index, null if there is none
+         */
+        public Piece findPiece(final int index) {
+            return this.gamePieces.get(index);
+        }
+    }
+
+}
@@ -28,7 +28,8 @@ public class FEN {
                 getCurrentPlayer(board) + " " +
                 getCastling(board) + " " +
                 getEnPassantPawn(board) + " " +
-                "0 1";
+                board.getHalfmoveClock() + " " +
+                board.getFullmoveNumber();
     }
 
     /**
@@ -114,6 +115,21 @@ public class FEN {
             }
         }
         builder.setWhoPlaysNext(FENsplitted[1].equals("w") ? PlayingSide.WHITE : PlayingSide.BLACK);
+        if (FENsplitted.length > 3 && !FENsplitted[3].equals("-")) {
+            // the Pawn which has just jumped stands in front of the en passant Tile
+            final int enPassantSquare = Utils.getCoordinateFromAlphaNotation(FENsplitted[3]);
+            final Piece enPassantPawn = builder.findPiece(FENsplitted[1].equals("w") ? enPassantSquare - 8 : enPassantSquare + 8);
+            if (enPassantPawn instanceof Pawn) {
+                builder.setEnPassantPawn((Pawn) enPassantPawn);
+            }
+        }
+        if (FENsplitted.length > 5) {
+            try {
+                builder.setMoveCounters(Integer.parseInt(FENsplitted[4]), Integer.parseInt(FENsplitted[5]));
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid FEN move counters " + FENsplitted[4] + " " + FENsplitted[5]);
+            }
+        }
         return builder.build();
     }
 
@@ -169,10 +185,9 @@ public class FEN {
     }
 
     private static String getEnPassantPawn(final Board board) {
-        final Pawn enPassantPawn = board.getEnPassantPawn();
-        if(enPassantPawn != null) {
-            return Utils.getAlphaNotationFromCoordinate(enPassantPawn.getPiecePosition() -
-                    (8) * enPassantPawn.getPlayingSide().getDirection());
+        final int enPassantSquare = board.getEnPassantSquare();
+        if(enPassantSquare >= 0) {
+            return Utils.getAlphaNotationFromCoordinate(enPassantSquare);
         }
         return "-";
     }
@@ -1,10 +1,9 @@
 package cz.chess.engine.model.board;
 
-import cz.chess.engine.model.board.Board.Builder;
 import cz.chess.engine.model.pieces.Pawn;
 import cz.chess.engine.model.pieces.Piece;
+import cz.chess.engine.model.pieces.Piece.PieceType;
 import cz.chess.engine.model.pieces.Rook;
-import cz.chess.engine.view_controller.boxes.PawnPromotionChoiceBox;
 
 import java.util.Objects;
 
@@ -42,12 +41,14 @@ public abstract class Move {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Move move = (Move) o;
-        return Objects.equals(board, move.board);
+        return this.board == move.board
+                && this.finalCoordinate == move.finalCoordinate
+                && Objects.equals(this.movedPiece, move.movedPiece);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(board);
+        return Objects.hash(System.identityHashCode(this.board), this.movedPiece, this.finalCoordinate);
     }
 
     public int getFinalCoordinate() {
@@ -80,28 +81,46 @@ public abstract class Move {
 
     /**
      * Executes the move which calls this method.
-     * A new Board is built with all the pieces in their place except for the ones affected by the move.
-     * The ones affected are moved accordingly.
+     * The move is made on a copy of the board's Position which is then wrapped into a new Board,
+     * so the Board calling this method stays unchanged.
      *
      * @return Board of how it should look after the Move is executed
      */
     public Board execute() {
-        final Builder builder = new Builder();
-
-        for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getLivePieces()) {
-            builder.setPiece(piece);
-        }
+        final Position position = this.board.toPosition();
+        position.makeMove(this);
+        return new Board(position);
+    }
 
-        for (final Piece piece : this.board.getCurrentPlayer().getLivePieces()) {
-            if (!this.movedPiece.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
+    /**
+     * @return PieceType a Pawn is promoted to by this move, null if the move is not a promotion
+     */
+    public PieceType getPromotionPieceType() {
+        return null;
+    }
 
-        builder.setPiece(this.movedPiece.moveThisPiece(this));
-        builder.setWhoPlaysNext(this.board.getCurrentPlayer().getOpponent().getPlayingSide());
+    /**
+     * @return flags of PackedMove describing this special move, 0 for ordinary moves
+     */
+    protected int getPackedMoveFlags() {
+        return 0;
+    }
 
-        return builder.build();
+    /**
+     * Encodes this move into an int, see PackedMove.
+     *
+     * @return the encoded move
+     */
+    public int toPackedMove() {
+        final Piece attackedPiece = getAttackedPiece();
+        final PieceType promotion = getPromotionPieceType();
+        return PackedMove.encode(getCurrentCoordinate(),
+                this.finalCoordinate,
+                BitBoard.pieceCode(this.movedPiece.getPlayingSide(), this.movedPiece.getPieceType()),
+                attackedPiece == null ? BitBoard.EMPTY
+                        : BitBoard.pieceCode(attackedPiece.getPlayingSide(), attackedPiece.getPieceType()),
+                promotion == null ? 0 : promotion.ordinal(),
+                getPackedMoveFlags());
     }
 
     /**
@@ -162,35 +181,6 @@ public abstract class Move {
             this.attackedPiece = attackedPiece;
         }
 
-        /**
-         * The attacking piece moves as if it was a normal move, however the attacked piece is removed from the game.
-         *
-         * @return Board of how it should look after the Move is executed
-         */
-        @Override
-        public Board execute() {
-            final Builder builder = new Builder();
-
-            for (final Piece piece : this.board.getCurrentPlayer().getLivePieces()) {
-                if (!this.movedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getLivePieces()) {
-                if (!this.attackedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                    // this.board.getPiece(this.finalCoordinate) / this.attackedPiece
-                    // TODO this is the piece which will get out and we want to mark it down somewhere
-                }
-            }
-
-            builder.setPiece(this.movedPiece.moveThisPiece(this));
-            builder.setWhoPlaysNext(this.board.getCurrentPlayer().getOpponent().getPlayingSide());
-
-            return builder.build();
-        }
-
         @Override
         public boolean isOffense() {
             return true;
@@ -248,6 +238,11 @@ public abstract class Move {
             return -1;
         }
 
+        @Override
+        public int toPackedMove() {
+            return PackedMove.NONE;
+        }
+
         /**
          * @return String corresponding to the PGN notation format
          */
@@ -324,32 +319,9 @@ public abstract class Move {
             super(board, movedPiece, finalCoordinate);
         }
 
-        /**
-         * A normal move with the addition of noting the Pawn which jumped as EnPassantable for the next round.
-         *
-         * @return Board of how it should look after the Move is executed
-         */
         @Override
-        public Board execute() {
-            final Builder builder = new Builder();
-            for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getLivePieces()) {
-                builder.setPiece(piece);
-            }
-
-            for (final Piece piece : this.board.getCurrentPlayer().getLivePieces()) {
-                if (!this.movedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            final Pawn movedPawn = (Pawn) this.movedPiece.moveThisPiece(this);
-            movedPawn.isEnPassantable = true;
-            builder.setPiece(movedPawn);
-            builder.setEnPassantPawn(movedPawn);
-
-            builder.setWhoPlaysNext(this.board.getCurrentPlayer().getOpponent().getPlayingSide());
-
-            return builder.build();
+        protected int getPackedMoveFlags() {
+            return PackedMove.FLAG_PAWN_JUMP;
         }
 
         @Override
@@ -379,6 +351,11 @@ public abstract class Move {
             super(board, movedPiece, finalCoordinate, attackedPiece);
         }
 
+        @Override
+        protected int getPackedMoveFlags() {
+            return PackedMove.FLAG_EN_PASSANT;
+        }
+
         @Override
         public boolean equals(final Object o) {
             return super.equals(o);
@@ -395,7 +372,7 @@ public abstract class Move {
 
         protected final Move wrappedMove;
         protected final Pawn promotionPawn;
-        protected String promotionPieceStr;
+        protected final String promotionPieceStr;
 
         public PawnPromotionMove(final Move wrappedMove, final String promotionPieceStr) {
             super(wrappedMove.getBoard(), wrappedMove.getMovedPiece(), wrappedMove.getFinalCoordinate());
@@ -416,32 +393,6 @@ public abstract class Move {
                     this.promotionPieceStr;
         }
 
-        /**
-         * It executes the move and then sets on the Board the chosen new Piece instead of the Pawn
-         *
-         * @return Board of how it should look after the Move is executed
-         */
-        @Override
-        public Board execute() {
-            final Board boardOfPawnMove = this.wrappedMove.execute();
-            final Builder builder = new Builder();
-
-            for (final Piece piece : boardOfPawnMove.getCurrentPlayer().getOpponent().getLivePieces()) {
-                builder.setPiece(piece);
-            }
-
-            for (final Piece piece : boardOfPawnMove.getCurrentPlayer().getLivePieces()) {
-                if (!piece.equals(this.promotionPawn)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            builder.setPiece(this.promotionPawn.getPromotionPiece(this.promotionPieceStr).moveThisPiece(this));
-            builder.setWhoPlaysNext(boardOfPawnMove.getCurrentPlayer().getPlayingSide()); // TODO opponent??
-
-            return builder.build();
-        }
-
         @Override
         public Piece getAttackedPiece() {
             return this.wrappedMove.getAttackedPiece();
@@ -458,7 +409,9 @@ public abstract class Move {
             if (o == null || getClass() != o.getClass()) return false;
             if (!super.equals(o)) return false;
             PawnPromotionMove that = (PawnPromotionMove) o;
-            return Objects.equals(wrappedMove, that.wrappedMove) && Objects.equals(promotionPawn, that.promotionPawn);
+            return Objects.equals(wrappedMove, that.wrappedMove)
+                    && Objects.equals(promotionPawn, that.promotionPawn)
+                    && getPromotionPieceType() == that.getPromotionPieceType();
         }
 
         @Override
@@ -466,8 +419,18 @@ public abstract class Move {
             return Objects.hash(super.hashCode(), wrappedMove, promotionPawn);
         }
 
-        public void setPromotionPieceStr(final String promotionPieceStr) {
-            this.promotionPieceStr = promotionPieceStr;
+        @Override
+        public PieceType getPromotionPieceType() {
+            switch (this.promotionPieceStr) {
+                case "N":
+                    return PieceType.KNIGHT;
+                case "R":
+                    return PieceType.ROOK;
+                case "B":
+                    return PieceType.BISHOP;
+                default:
+                    return PieceType.QUEEN;
+            }
         }
     }
 
@@ -490,35 +453,14 @@ public abstract class Move {
             this.rookTo = rookTo;
         }
 
-        /**
-         * Executes the castling move following chess rules.
-         *
-         * @return Board of how it should look after the Move is executed
-         */
         @Override
-        public Board execute() {
-            final Builder builder = new Builder();
-
-            for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getLivePieces()) {
-                builder.setPiece(piece);
-            }
-
-            for (final Piece piece : this.board.getCurrentPlayer().getLivePieces()) {
-                if (!this.movedPiece.equals(piece) && !this.rook.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-
-            builder.setPiece(this.movedPiece.moveThisPiece(this));
-            builder.setPiece(new Rook(this.rookTo, this.rook.getPlayingSide()));
-            builder.setWhoPlaysNext(this.board.getCurrentPlayer().getOpponent().getPlayingSide());
-
-            return builder.build();
+        public boolean isCastlingMove() {
+            return true;
         }
 
         @Override
-        public boolean isCastlingMove() {
-            return true;
+        protected int getPackedMoveFlags() {
+            return PackedMove.FLAG_CASTLING;
         }
 
         @Override
@@ -603,10 +545,20 @@ public abstract class Move {
 
         private static final Move INVALID_MOVE = new InvalidMove();
 
+        /* asks the human player for the promotion piece, without a GUI every Pawn becomes a Queen */
+        private static PromotionChooser promotionChooser = () -> PieceType.QUEEN;
+
         private MoveCreator() {
             throw new RuntimeException("MoveCreator class is not instantiable!");
         }
 
+        /**
+         * @param chooser called by createMove whenever a Pawn of a human player is promoted
+         */
+        public static void setPromotionChooser(final PromotionChooser chooser) {
+            promotionChooser = chooser;
+        }
+
         /**
          * There only needs to be one instance of an Invalid move in the whole program.
          *
@@ -618,7 +570,8 @@ public abstract class Move {
 
         /**
          * Creates an instance of a valid Move if it is a legal move in the @param board.
-         * If the move is not legal, it returns an InvalidMove
+         * If the move is not legal, it returns an InvalidMove.
+         * The piece of a promotion is chosen by the PromotionChooser.
          *
          * @param board
          * @param currentCoordinate
@@ -629,17 +582,74 @@ public abstract class Move {
                                       final int currentCoordinate,
                                       final int finalCoordinate) {
 
+            PieceType promotion = null;
             for (final Move move : board.getAllLegalMoves()) {
                 if (move.getCurrentCoordinate() == currentCoordinate
                         && move.getFinalCoordinate() == finalCoordinate) {
-                    if (move instanceof PawnPromotionMove) {
-                        ((PawnPromotionMove) move).setPromotionPieceStr(PawnPromotionChoiceBox.display());
+                    if (!(move instanceof PawnPromotionMove)) {
+                        return move;
+                    }
+                    // the legal moves are shared by the board, so the chosen promotion is looked up, not set
+                    if (promotion == null) {
+                        promotion = promotionChooser.choosePromotion();
+                    }
+                    if (move.getPromotionPieceType() == promotion) {
+                        return move;
                     }
-                    return move;
                 }
             }
             System.out.println("move creator: returning invalid move");
             return INVALID_MOVE;
         }
+
+        /**
+         * Decodes the @param packedMove into the Move object of the @param board
+         * which moves between the same Tiles and promotes to the same piece.
+         *
+         * @param board
+         * @param packedMove move encoded by PackedMove
+         * @return Move instance, InvalidMove if the board has no such move
+         */
+        public static Move createMove(final Board board, final int packedMove) {
+            final int currentCoordinate = PackedMove.getFrom(packedMove);
+            final int finalCoordinate = PackedMove.getTo(packedMove);
+            final PieceType promotion = PackedMove.getPromotionPieceType(packedMove);
+            for (final Move move : board.getAllLegalMoves()) {
+                if (move.getCurrentCoordinate() == currentCoordinate
+                        && move.getFinalCoordinate() == finalCoordinate
+                        && (!(move instanceof PawnPromotionMove)
+                            || move.getPromotionPieceType() == (promotion == null ? PieceType.QUEEN : promotion))) {
+                    return move;
+                }
+            }
+            return INVALID_MOVE;
+        }
+
+        /**
+         * Finds the Move of the @param board written in the long algebraic notation used by UCI,
+         * e.g. "e2e4", "e1g1" for castling or "e7e8n" for a promotion to a Knight.
+         *
+         * @param board
+         * @param notation from and to Tiles followed by the promotion piece letter, if any
+         * @return Move instance, InvalidMove if the board has no such move
+         */
+        public static Move createMove(final Board board, final String notation) {
+            if (notation.length() < 4 || notation.length() > 5) {
+                return INVALID_MOVE;
+            }
+            final int currentCoordinate = Utils.getCoordinateFromAlphaNotation(notation.substring(0, 2));
+            final int finalCoordinate = Utils.getCoordinateFromAlphaNotation(notation.substring(2, 4));
+            final String promotion = notation.length() == 5 ? notation.substring(4).toUpperCase() : null;
+            for (final Move move : board.getAllLegalMoves()) {
+                if (move.getCurrentCoordinate() == currentCoordinate
+                        && move.getFinalCoordinate() == finalCoordinate
+                        && (move instanceof PawnPromotionMove
+                            ? move.getPromotionPieceType().toString().equals(promotion)
+                            : promotion == null)) {
+                    return move;
+                }
+            }
+            return INVALID_MOVE;
+        }
     }
 }
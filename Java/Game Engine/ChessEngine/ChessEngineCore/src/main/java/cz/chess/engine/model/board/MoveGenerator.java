@@ -0,0 +1,350 @@
+package cz.chess.engine.model.board;
+
+import cz.chess.engine.model.pieces.Piece.PieceType;
+
+/**
+ * Generates moves of the side to move in a Position into a MoveList as ints encoded by PackedMove.
+ * Pseudo-legal moves follow the piece rules, legal moves also never leave the own King in check.
+ * Most moves are proved legal from the pinned pieces alone,
+ * only King moves, en passant and moves made in check are tried on the Position.
+ * This class is only used for its methods, it cannot be instantiated.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class MoveGenerator {
+
+    private static final int KING = PieceType.KING.ordinal();
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+    private static final int ROOK = PieceType.ROOK.ordinal();
+    private static final int BISHOP = PieceType.BISHOP.ordinal();
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final int PAWN = PieceType.PAWN.ordinal();
+
+    private static final int[] PROMOTION_TYPES = {QUEEN, KNIGHT, ROOK, BISHOP};
+    private static final int[] QUEEN_PROMOTION = {QUEEN};
+    private static final int[] UNDER_PROMOTION_TYPES = {KNIGHT, ROOK, BISHOP};
+
+    /* which moves generate() adds */
+    private static final int ALL = 0;
+    private static final int CAPTURES = 1;
+    private static final int QUIETS = 2;
+
+    private MoveGenerator() {
+        throw new RuntimeException("MoveGenerator class is not instantiable!");
+    }
+
+    /**
+     * Clears the @param moves and fills them with the legal moves of the side to move.
+     *
+     * @param position
+     * @param moves reused list for the result
+     */
+    public static void generateLegalMoves(final Position position, final MoveList moves) {
+        generatePseudoLegalMoves(position, moves);
+        final int side = position.getSideToMove();
+        final long pinned = Attacks.pinnedPieces(position.getBitBoard(), side);
+        final boolean inCheck = position.isInCheck();
+        for (int i = moves.size() - 1; i >= 0; i--) {
+            if (!isLegal(position, moves.get(i), pinned, inCheck)) {
+                moves.removeAt(i);
+            }
+        }
+    }
+
+    /**
+     * @param position
+     * @param move pseudo-legal move of the side to move
+     * @return true if the move does not leave the own King in check
+     */
+    public static boolean isLegal(final Position position, final int move) {
+        return isLegal(position,
+                move,
+                Attacks.pinnedPieces(position.getBitBoard(), position.getSideToMove()),
+                position.isInCheck());
+    }
+
+    /**
+     * Faster version of isLegal(Position, int) for checking many moves of one Position.
+     *
+     * @param position
+     * @param move pseudo-legal move of the side to move
+     * @param pinned pieces of the side to move pinned to their King, see Position.getPinnedPieces
+     * @param inCheck true if the side to move is in check
+     * @return true if the move does not leave the own King in check
+     */
+    public static boolean isLegal(final Position position, final int move, final long pinned, final boolean inCheck) {
+        final int from = PackedMove.getFrom(move);
+        final int kingSquare = position.getBitBoard().getKingSquare(position.getSideToMove());
+        if (!inCheck && from != kingSquare && !PackedMove.isEnPassant(move)) {
+            // a pinned piece can only move along the line through its King and the pinning piece
+            return (pinned & BitBoard.squareMask(from)) == 0
+                    || (MoveTables.line(kingSquare, from) & BitBoard.squareMask(PackedMove.getTo(move))) != 0;
+        }
+        position.makeMove(move);
+        final int side = position.getSideToMove();
+        final int movedKingSquare = position.getBitBoard().getKingSquare(side ^ 1);
+        final boolean legal = movedKingSquare < 0 || !position.isSquareAttacked(movedKingSquare, side);
+        position.unmakeMove();
+        return legal;
+    }
+
+    /**
+     * Clears the @param moves and fills them with the pseudo-legal moves of the side to move.
+     * Castling is only generated when the King does not pass or stand on an attacked Tile.
+     *
+     * @param position
+     * @param moves reused list for the result
+     */
+    public static void generatePseudoLegalMoves(final Position position, final MoveList moves) {
+        generate(position, moves, ALL);
+    }
+
+    /**
+     * Clears the @param moves and fills them with the pseudo-legal captures and Queen promotions
+     * of the side to move, used by the quiescence search.
+     *
+     * @param position
+     * @param moves reused list for the result
+     */
+    public static void generateCaptures(final Position position, final MoveList moves) {
+        generate(position, moves, CAPTURES);
+    }
+
+    /**
+     * Clears the @param moves and fills them with the pseudo-legal moves missing from generateCaptures:
+     * moves to empty Tiles, castling and promotions to other pieces than the Queen.
+     *
+     * @param position
+     * @param moves reused list for the result
+     */
+    public static void generateQuiets(final Position position, final MoveList moves) {
+        generate(position, moves, QUIETS);
+    }
+
+    /**
+     * Checks a move which does not come from the generator of this Position, e.g. from a hash table.
+     *
+     * @param position
+     * @param move encoded by PackedMove
+     * @return true if the generator would generate the @param move in the @param position
+     */
+    public static boolean isPseudoLegal(final Position position, final int move) {
+        if (move == PackedMove.NONE) {
+            return false;
+        }
+        final BitBoard bitBoard = position.getBitBoard();
+        final int side = position.getSideToMove();
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+        final int movedPiece = PackedMove.getMovedPiece(move);
+        if (bitBoard.getPieceCode(from) != movedPiece || BitBoard.sideOf(movedPiece) != side) {
+            return false;
+        }
+        final int type = BitBoard.typeOf(movedPiece);
+        if (PackedMove.isCastling(move)) {
+            final MoveList castlingMoves = new MoveList(2);
+            if (type == KING) {
+                generateCastlingMoves(position, castlingMoves, from);
+            }
+            return castlingMoves.contains(move);
+        }
+        if (type == PAWN) {
+            return isPseudoLegalPawnMove(position, move);
+        }
+        if (PackedMove.isPawnJump(move) || PackedMove.isEnPassant(move) || PackedMove.isPromotion(move)
+                || bitBoard.getPieceCode(to) != PackedMove.getCapturedPiece(move)
+                || (bitBoard.getOccupancy(side) & BitBoard.squareMask(to)) != 0) {
+            return false;
+        }
+        final long occupancy = bitBoard.getOccupancy();
+        final long attacks;
+        if (type == KNIGHT) {
+            attacks = MoveTables.knightAttacks(from);
+        } else if (type == BISHOP) {
+            attacks = MoveTables.bishopAttacks(from, occupancy);
+        } else if (type == ROOK) {
+            attacks = MoveTables.rookAttacks(from, occupancy);
+        } else if (type == QUEEN) {
+            attacks = MoveTables.queenAttacks(from, occupancy);
+        } else {
+            attacks = MoveTables.kingAttacks(from);
+        }
+        return (attacks & BitBoard.squareMask(to)) != 0;
+    }
+
+    private static boolean isPseudoLegalPawnMove(final Position position, final int move) {
+        final BitBoard bitBoard = position.getBitBoard();
+        final int side = position.getSideToMove();
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+        final int forward = side == Position.WHITE ? 8 : -8;
+        final int lastRank = side == Position.WHITE ? 7 : 0;
+        final int captured = PackedMove.getCapturedPiece(move);
+        final boolean attacksTo = (MoveTables.pawnAttacks(side, from) & BitBoard.squareMask(to)) != 0;
+
+        if (PackedMove.isEnPassant(move)) {
+            return attacksTo && to == position.getEnPassantSquare() && captured == BitBoard.pieceCode(side ^ 1, PAWN);
+        }
+        if (PackedMove.isPromotion(move) != (BitBoard.rankOf(to) == lastRank) || bitBoard.getPieceCode(to) != captured) {
+            return false;
+        }
+        if (captured != BitBoard.EMPTY) {
+            return attacksTo && BitBoard.sideOf(captured) != side && !PackedMove.isPawnJump(move);
+        }
+        if (PackedMove.isPawnJump(move)) {
+            final int startRank = side == Position.WHITE ? 1 : 6;
+            return BitBoard.rankOf(from) == startRank && to == from + 2 * forward && !bitBoard.isOccupied(from + forward);
+        }
+        return to == from + forward;
+    }
+
+    private static void generate(final Position position, final MoveList moves, final int mode) {
+        moves.clear();
+        final BitBoard bitBoard = position.getBitBoard();
+        final int side = position.getSideToMove();
+        final long occupancy = bitBoard.getOccupancy();
+        final long targets = mode == CAPTURES ? bitBoard.getOccupancy(side ^ 1)
+                : mode == QUIETS ? ~occupancy : ~bitBoard.getOccupancy(side);
+
+        generatePawnMoves(position, moves, mode);
+
+        long knights = bitBoard.getPieces(BitBoard.pieceCode(side, KNIGHT));
+        while (knights != 0) {
+            final int from = BitBoard.lowestSquare(knights);
+            knights &= knights - 1;
+            addMoves(bitBoard, moves, from, MoveTables.knightAttacks(from) & targets);
+        }
+        long bishops = bitBoard.getPieces(BitBoard.pieceCode(side, BISHOP));
+        while (bishops != 0) {
+            final int from = BitBoard.lowestSquare(bishops);
+            bishops &= bishops - 1;
+            addMoves(bitBoard, moves, from, MoveTables.bishopAttacks(from, occupancy) & targets);
+        }
+        long rooks = bitBoard.getPieces(BitBoard.pieceCode(side, ROOK));
+        while (rooks != 0) {
+            final int from = BitBoard.lowestSquare(rooks);
+            rooks &= rooks - 1;
+            addMoves(bitBoard, moves, from, MoveTables.rookAttacks(from, occupancy) & targets);
+        }
+        long queens = bitBoard.getPieces(BitBoard.pieceCode(side, QUEEN));
+        while (queens != 0) {
+            final int from = BitBoard.lowestSquare(queens);
+            queens &= queens - 1;
+            addMoves(bitBoard, moves, from, MoveTables.queenAttacks(from, occupancy) & targets);
+        }
+        final int kingSquare = bitBoard.getKingSquare(side);
+        if (kingSquare >= 0) {
+            addMoves(bitBoard, moves, kingSquare, MoveTables.kingAttacks(kingSquare) & targets);
+            if (mode != CAPTURES) {
+                generateCastlingMoves(position, moves, kingSquare);
+            }
+        }
+    }
+
+    private static void generatePawnMoves(final Position position, final MoveList moves, final int mode) {
+        final BitBoard bitBoard = position.getBitBoard();
+        final int side = position.getSideToMove();
+        final int pawn = BitBoard.pieceCode(side, PAWN);
+        final int forward = side == Position.WHITE ? 8 : -8;
+        final int startRank = side == Position.WHITE ? 1 : 6;
+        final int lastRank = side == Position.WHITE ? 7 : 0;
+        final long enemies = bitBoard.getOccupancy(side ^ 1);
+        final int enPassantSquare = position.getEnPassantSquare();
+
+        long pawns = bitBoard.getPieces(pawn);
+        while (pawns != 0) {
+            final int from = BitBoard.lowestSquare(pawns);
+            pawns &= pawns - 1;
+
+            final int push = from + forward;
+            if (!bitBoard.isOccupied(push)) {
+                if (BitBoard.rankOf(push) == lastRank) {
+                    addPromotions(moves, from, push, pawn, BitBoard.EMPTY, mode);
+                } else if (mode != CAPTURES) {
+                    moves.add(PackedMove.encode(from, push, pawn, BitBoard.EMPTY, 0, 0));
+                    final int jump = push + forward;
+                    if (BitBoard.rankOf(from) == startRank && !bitBoard.isOccupied(jump)) {
+                        moves.add(PackedMove.encode(from, jump, pawn, BitBoard.EMPTY, 0, PackedMove.FLAG_PAWN_JUMP));
+                    }
+                }
+            }
+
+            final long attacks = MoveTables.pawnAttacks(side, from);
+            long captures = attacks & enemies;
+            while (captures != 0) {
+                final int to = BitBoard.lowestSquare(captures);
+                captures &= captures - 1;
+                if (BitBoard.rankOf(to) == lastRank) {
+                    addPromotions(moves, from, to, pawn, bitBoard.getPieceCode(to), mode);
+                } else if (mode != QUIETS) {
+                    moves.add(PackedMove.encode(from, to, pawn, bitBoard.getPieceCode(to), 0, 0));
+                }
+            }
+            if (mode != QUIETS && enPassantSquare >= 0 && (attacks & BitBoard.squareMask(enPassantSquare)) != 0) {
+                moves.add(PackedMove.encode(from,
+                        enPassantSquare,
+                        pawn,
+                        BitBoard.pieceCode(side ^ 1, PAWN),
+                        0,
+                        PackedMove.FLAG_EN_PASSANT));
+            }
+        }
+    }
+
+    /**
+     * Queen promotions belong to the captures, the other promotions to the quiet moves.
+     */
+    private static void addPromotions(final MoveList moves,
+                                      final int from,
+                                      final int to,
+                                      final int pawn,
+                                      final int captured,
+                                      final int mode) {
+        final int[] promotionTypes = mode == CAPTURES ? QUEEN_PROMOTION
+                : mode == QUIETS ? UNDER_PROMOTION_TYPES : PROMOTION_TYPES;
+        for (final int promotionType : promotionTypes) {
+            moves.add(PackedMove.encode(from, to, pawn, captured, promotionType, 0));
+        }
+    }
+
+    private static void generateCastlingMoves(final Position position, final MoveList moves, final int kingSquare) {
+        final int side = position.getSideToMove();
+        final int rights = position.getCastlingRights();
+        final int homeSquare = side == Position.WHITE ? 4 : 60;
+        final int kingSide = side == Position.WHITE ? Position.WHITE_KING_SIDE_CASTLING : Position.BLACK_KING_SIDE_CASTLING;
+        final int queenSide = side == Position.WHITE ? Position.WHITE_QUEEN_SIDE_CASTLING : Position.BLACK_QUEEN_SIDE_CASTLING;
+        if (kingSquare != homeSquare || (rights & (kingSide | queenSide)) == 0
+                || position.isSquareAttacked(kingSquare, side ^ 1)) {
+            return;
+        }
+        final BitBoard bitBoard = position.getBitBoard();
+        final int king = BitBoard.pieceCode(side, KING);
+        final int rook = BitBoard.pieceCode(side, ROOK);
+        if ((rights & kingSide) != 0
+                && bitBoard.getPieceCode(kingSquare + 3) == rook
+                && !bitBoard.isOccupied(kingSquare + 1)
+                && !bitBoard.isOccupied(kingSquare + 2)
+                && !position.isSquareAttacked(kingSquare + 1, side ^ 1)
+                && !position.isSquareAttacked(kingSquare + 2, side ^ 1)) {
+            moves.add(PackedMove.encode(kingSquare, kingSquare + 2, king, BitBoard.EMPTY, 0, PackedMove.FLAG_CASTLING));
+        }
+        if ((rights & queenSide) != 0
+                && bitBoard.getPieceCode(kingSquare - 4) == rook
+                && !bitBoard.isOccupied(kingSquare - 1)
+                && !bitBoard.isOccupied(kingSquare - 2)
+                && !bitBoard.isOccupied(kingSquare - 3)
+                && !position.isSquareAttacked(kingSquare - 1, side ^ 1)
+                && !position.isSquareAttacked(kingSquare - 2, side ^ 1)) {
+            moves.add(PackedMove.encode(kingSquare, kingSquare - 2, king, BitBoard.EMPTY, 0, PackedMove.FLAG_CASTLING));
+        }
+    }
+
+    private static void addMoves(final BitBoard bitBoard, final MoveList moves, final int from, long targets) {
+        final int movedPiece = bitBoard.getPieceCode(from);
+        while (targets != 0) {
+            final int to = BitBoard.lowestSquare(targets);
+            targets &= targets - 1;
+            moves.add(PackedMove.encode(from, to, movedPiece, bitBoard.getPieceCode(to), 0, 0));
+        }
+    }
+}
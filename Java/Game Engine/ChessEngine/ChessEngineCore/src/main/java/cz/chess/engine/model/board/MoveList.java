@@ -0,0 +1,98 @@
+package cz.chess.engine.model.board;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of moves encoded by PackedMove backed by an int array.
+ * One instance is meant to be reused, clear() only resets the size so no garbage is created.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class MoveList {
+
+    /* no chess position has more than 218 legal moves */
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveList(final int capacity) {
+        this.moves = new int[capacity];
+        this.size = 0;
+    }
+
+    public void add(final int move) {
+        if (this.size == this.moves.length) {
+            this.moves = Arrays.copyOf(this.moves, this.size * 2);
+        }
+        this.moves[this.size++] = move;
+    }
+
+    public int get(final int index) {
+        return this.moves[index];
+    }
+
+    public void set(final int index, final int move) {
+        this.moves[index] = move;
+    }
+
+    /**
+     * Removes the move at @param index by moving the last move in its place, the order is not kept.
+     *
+     * @param index
+     */
+    public void removeAt(final int index) {
+        this.moves[index] = this.moves[--this.size];
+    }
+
+    public void swap(final int first, final int second) {
+        final int move = this.moves[first];
+        this.moves[first] = this.moves[second];
+        this.moves[second] = move;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * @param move encoded move
+     * @return true if the list contains a move with the same Tiles, piece and promotion
+     */
+    public boolean contains(final int move) {
+        for (int i = 0; i < this.size; i++) {
+            if (PackedMove.isSameMove(this.moves[i], move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(this.moves, this.size);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(PackedMove.toString(this.moves[i]));
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,259 @@
+package cz.chess.engine.model.board;
+
+/**
+ * Lookup tables for move generation built once when the class is loaded.
+ * Knight, King and Pawn targets are stored per Tile, sliding pieces use magic bitboards:
+ * the blockers on the relevant rays are multiplied by a magic number and the top bits of the
+ * product index a per-Tile table with the attacked Tiles for exactly that set of blockers.
+ * This class is only used for its methods, it cannot be instantiated.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class MoveTables {
+
+    /* {file step, rank step}, the first four are orthogonal, the last four diagonal */
+    private static final int[][] DIRECTIONS = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] KNIGHT_JUMPS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+
+    private static final long[] KNIGHT_ATTACKS = new long[Utils.NUM_TILES];
+    private static final long[] KING_ATTACKS = new long[Utils.NUM_TILES];
+    private static final long[][] PAWN_ATTACKS = new long[2][Utils.NUM_TILES];
+    private static final long[][] BETWEEN = new long[Utils.NUM_TILES][Utils.NUM_TILES];
+    private static final long[][] LINE = new long[Utils.NUM_TILES][Utils.NUM_TILES];
+
+    private static final long[] ROOK_MASKS = new long[Utils.NUM_TILES];
+    private static final int[] ROOK_SHIFTS = new int[Utils.NUM_TILES];
+    private static final long[][] ROOK_TABLES = new long[Utils.NUM_TILES][];
+
+    private static final long[] BISHOP_MASKS = new long[Utils.NUM_TILES];
+    private static final int[] BISHOP_SHIFTS = new int[Utils.NUM_TILES];
+    private static final long[][] BISHOP_TABLES = new long[Utils.NUM_TILES][];
+
+    /* magic numbers found by a trial-and-error search over sparse random numbers,
+     * every one maps all blocker sets of its Tile to table indices without a harmful collision */
+    private static final long[] ROOK_MAGICS = {
+            0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+            0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+            0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+            0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+            0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+            0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+            0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+            0x0050500500080100L, 0x0000020080040080L, 0x0C10010400420810L, 0x1040008200005104L,
+            0x01808240088004A0L, 0x0882804004802000L, 0x0880402001001100L, 0x2000210409001000L,
+            0x2000480131001500L, 0x0000800400800200L, 0x000002380C001003L, 0x4600084882000431L,
+            0x0080002000504000L, 0x0300500020004002L, 0x0040408200220011L, 0x0010040008004040L,
+            0x0000080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+            0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+            0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+            0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+            0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x20C0090901061081L, 0x0024040094030104L, 0x8210810200290200L, 0x0011040484620000L,
+            0x0081104002221000L, 0x0009012011001350L, 0x0081010802400380L, 0x0000420210010408L,
+            0x0008105002280050L, 0x0001028484040044L, 0x2A00880810408804L, 0x7020022282000100L,
+            0x0084040420100A50L, 0x000401010840E000L, 0x2020020210420888L, 0x0008084202012010L,
+            0x2010400810018800L, 0x0445122008020840L, 0x0804100808002008L, 0x0008002104110100L,
+            0x0061005820080800L, 0x2001000200820100L, 0x480C210084010800L, 0x3004442500480420L,
+            0x1010102240048100L, 0x00182009084220A3L, 0x8803090A10004205L, 0x0208080040202020L,
+            0x000C044084010040L, 0x00A1010002004106L, 0x6008210020640202L, 0x1600902112860801L,
+            0x00042008C1220200L, 0x010C042002440140L, 0x5022080200040820L, 0x0402004042940100L,
+            0x0860108400008020L, 0x000C080022021000L, 0x0264080652822100L, 0x4005031221010401L,
+            0x0004502410008400L, 0x000500B010A20400L, 0x0415094050080800L, 0x080000201800A104L,
+            0x4022A80304000110L, 0x4012140802028020L, 0x40200104010100A0L, 0x12810806008B0C41L,
+            0x0020441008080000L, 0x2002120084045420L, 0x0704020062080002L, 0x0000001084040001L,
+            0x0322200891240200L, 0xF040200210024800L, 0x0140824832008042L, 0x000210020A004602L,
+            0x0083042805141020L, 0x002C12009A011000L, 0x0041A00044140400L, 0x00004004020A0202L,
+            0x0000140010020210L, 0x2864160811012200L, 0x2060080841082A17L, 0xA010041108003100L
+    };
+
+    static {
+        for (int square = 0; square < Utils.NUM_TILES; square++) {
+            final int file = BitBoard.fileOf(square);
+            final int rank = BitBoard.rankOf(square);
+            for (final int[] jump : KNIGHT_JUMPS) {
+                KNIGHT_ATTACKS[square] |= maskOf(file + jump[0], rank + jump[1]);
+            }
+            for (final int[] direction : DIRECTIONS) {
+                KING_ATTACKS[square] |= maskOf(file + direction[0], rank + direction[1]);
+            }
+            PAWN_ATTACKS[Position.WHITE][square] = maskOf(file - 1, rank + 1) | maskOf(file + 1, rank + 1);
+            PAWN_ATTACKS[Position.BLACK][square] = maskOf(file - 1, rank - 1) | maskOf(file + 1, rank - 1);
+        }
+        for (int square = 0; square < Utils.NUM_TILES; square++) {
+            initSlider(square, true);
+            initSlider(square, false);
+        }
+        for (int from = 0; from < Utils.NUM_TILES; from++) {
+            for (final int[] direction : DIRECTIONS) {
+                long between = 0L;
+                int f = BitBoard.fileOf(from) + direction[0];
+                int r = BitBoard.rankOf(from) + direction[1];
+                while (isOnBoard(f, r)) {
+                    final int to = r * 8 + f;
+                    BETWEEN[from][to] = between;
+                    between |= BitBoard.squareMask(to);
+                    f += direction[0];
+                    r += direction[1];
+                }
+            }
+            for (int to = 0; to < Utils.NUM_TILES; to++) {
+                if (from == to) {
+                    continue;
+                }
+                final long fromMask = BitBoard.squareMask(from);
+                final long toMask = BitBoard.squareMask(to);
+                if ((rookAttacks(from, 0L) & toMask) != 0) {
+                    LINE[from][to] = (rookAttacks(from, 0L) & rookAttacks(to, 0L)) | fromMask | toMask;
+                } else if ((bishopAttacks(from, 0L) & toMask) != 0) {
+                    LINE[from][to] = (bishopAttacks(from, 0L) & bishopAttacks(to, 0L)) | fromMask | toMask;
+                }
+            }
+        }
+    }
+
+    private MoveTables() {
+        throw new RuntimeException("MoveTables class is not instantiable!");
+    }
+
+    public static long knightAttacks(final int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(final int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * @param side 0 for a WHITE Pawn, 1 for a BLACK Pawn
+     * @param square Tile the Pawn stands on
+     * @return bitmap of the two (or one) Tiles the Pawn attacks
+     */
+    public static long pawnAttacks(final int side, final int square) {
+        return PAWN_ATTACKS[side][square];
+    }
+
+    /**
+     * @param square Tile the Rook stands on
+     * @param occupancy bitmap of all pieces on the board
+     * @return bitmap of Tiles attacked by a Rook, including the first blocker on every ray
+     */
+    public static long rookAttacks(final int square, final long occupancy) {
+        final int index = (int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square]);
+        return ROOK_TABLES[square][index];
+    }
+
+    /**
+     * @param square Tile the Bishop stands on
+     * @param occupancy bitmap of all pieces on the board
+     * @return bitmap of Tiles attacked by a Bishop, including the first blocker on every ray
+     */
+    public static long bishopAttacks(final int square, final long occupancy) {
+        final int index = (int) (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square]);
+        return BISHOP_TABLES[square][index];
+    }
+
+    public static long queenAttacks(final int square, final long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    /**
+     * @return bitmap of Tiles strictly between @param from and @param to if they share a line, else 0
+     */
+    public static long between(final int from, final int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * @return bitmap of the whole line going through @param from and @param to, 0 if they share none
+     */
+    public static long line(final int from, final int to) {
+        return LINE[from][to];
+    }
+
+    private static void initSlider(final int square, final boolean rook) {
+        final long mask = relevantOccupancy(square, rook);
+        final int bits = BitBoard.popCount(mask);
+        final int size = 1 << bits;
+        final long[] occupancies = new long[size];
+        final long[] attacks = new long[size];
+
+        // enumerates all subsets of the mask
+        long subset = 0L;
+        int count = 0;
+        do {
+            occupancies[count] = subset;
+            attacks[count] = slidingAttacks(square, subset, rook);
+            count++;
+            subset = (subset - mask) & mask;
+        } while (subset != 0);
+
+        final long magic = rook ? ROOK_MAGICS[square] : BISHOP_MAGICS[square];
+        final int shift = 64 - bits;
+        final long[] table = new long[size];
+        final boolean[] used = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            final int index = (int) ((occupancies[i] * magic) >>> shift);
+            if (used[index] && table[index] != attacks[i]) {
+                throw new IllegalStateException("Magic number of Tile " + square + " is not valid");
+            }
+            used[index] = true;
+            table[index] = attacks[i];
+        }
+
+        if (rook) {
+            ROOK_MASKS[square] = mask;
+            ROOK_SHIFTS[square] = shift;
+            ROOK_TABLES[square] = table;
+        } else {
+            BISHOP_MASKS[square] = mask;
+            BISHOP_SHIFTS[square] = shift;
+            BISHOP_TABLES[square] = table;
+        }
+    }
+
+    /**
+     * Tiles whose occupancy can change the attacks of a slider, the last Tile of every ray never can.
+     */
+    private static long relevantOccupancy(final int square, final boolean rook) {
+        long mask = 0L;
+        for (int d = rook ? 0 : 4; d < (rook ? 4 : 8); d++) {
+            int f = BitBoard.fileOf(square) + DIRECTIONS[d][0];
+            int r = BitBoard.rankOf(square) + DIRECTIONS[d][1];
+            while (isOnBoard(f + DIRECTIONS[d][0], r + DIRECTIONS[d][1])) {
+                mask |= BitBoard.squareMask(r * 8 + f);
+                f += DIRECTIONS[d][0];
+                r += DIRECTIONS[d][1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slidingAttacks(final int square, final long occupancy, final boolean rook) {
+        long attacks = 0L;
+        for (int d = rook ? 0 : 4; d < (rook ? 4 : 8); d++) {
+            int f = BitBoard.fileOf(square) + DIRECTIONS[d][0];
+            int r = BitBoard.rankOf(square) + DIRECTIONS[d][1];
+            while (isOnBoard(f, r)) {
+                final long target = BitBoard.squareMask(r * 8 + f);
+                attacks |= target;
+                if ((occupancy & target) != 0) {
+                    break;
+                }
+                f += DIRECTIONS[d][0];
+                r += DIRECTIONS[d][1];
+            }
+        }
+        return attacks;
+    }
+
+    private static long maskOf(final int file, final int rank) {
+        return isOnBoard(file, rank) ? BitBoard.squareMask(rank * 8 + file) : 0L;
+    }
+
+    private static boolean isOnBoard(final int file, final int rank) {
+        return file >= 0 && file < 8 && rank >= 0 && rank < 8;
+    }
+}
@@ -0,0 +1,139 @@
+package cz.chess.engine.model.board;
+
+import cz.chess.engine.model.pieces.Piece.PieceType;
+
+/**
+ * Encoding of a move into a single int, used by the move generator and the search
+ * where creating a Move object for every candidate would be too expensive.
+ *
+ * Bits:
+ *  0 -  5 Tile the piece moves from
+ *  6 - 11 Tile the piece moves to
+ * 12 - 15 piece code of the moved piece
+ * 16 - 19 piece code of the captured piece, 15 if nothing is captured
+ * 20 - 22 PieceType ordinal of the promotion piece, 0 if the move is not a promotion
+ * 23 - 25 flags for a Pawn jump, en passant and castling
+ *
+ * Move objects stay as the view used by the GUI, PGN and MoveLog,
+ * see Move.toPackedMove() and MoveCreator.createMove(Board, int).
+ * This class is only used for its methods, it cannot be instantiated.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class PackedMove {
+
+    public static final int NONE = 0;
+
+    public static final int FLAG_PAWN_JUMP = 1 << 23;
+    public static final int FLAG_EN_PASSANT = 1 << 24;
+    public static final int FLAG_CASTLING = 1 << 25;
+
+    private static final int TO_SHIFT = 6;
+    private static final int MOVED_SHIFT = 12;
+    private static final int CAPTURED_SHIFT = 16;
+    private static final int PROMOTION_SHIFT = 20;
+    private static final int NO_CAPTURE = 15;
+
+    private static final String PROMOTION_LETTERS = " qrbn";
+
+    private PackedMove() {
+        throw new RuntimeException("PackedMove class is not instantiable!");
+    }
+
+    /**
+     * @param from Tile index
+     * @param to Tile index
+     * @param movedPiece piece code of the moved piece
+     * @param capturedPiece piece code of the captured piece, BitBoard.EMPTY if there is none
+     * @param promotionType PieceType ordinal of the promotion piece, 0 if there is none
+     * @param flags combination of the FLAG_ constants
+     * @return the encoded move
+     */
+    public static int encode(final int from,
+                             final int to,
+                             final int movedPiece,
+                             final int capturedPiece,
+                             final int promotionType,
+                             final int flags) {
+        return from
+                | (to << TO_SHIFT)
+                | (movedPiece << MOVED_SHIFT)
+                | ((capturedPiece == BitBoard.EMPTY ? NO_CAPTURE : capturedPiece) << CAPTURED_SHIFT)
+                | (promotionType << PROMOTION_SHIFT)
+                | flags;
+    }
+
+    public static int getFrom(final int move) {
+        return move & 63;
+    }
+
+    public static int getTo(final int move) {
+        return (move >>> TO_SHIFT) & 63;
+    }
+
+    public static int getMovedPiece(final int move) {
+        return (move >>> MOVED_SHIFT) & 15;
+    }
+
+    /**
+     * @return piece code of the captured piece, BitBoard.EMPTY if nothing is captured
+     */
+    public static int getCapturedPiece(final int move) {
+        final int captured = (move >>> CAPTURED_SHIFT) & 15;
+        return captured == NO_CAPTURE ? BitBoard.EMPTY : captured;
+    }
+
+    /**
+     * @return PieceType ordinal of the promotion piece, 0 if the move is not a promotion
+     */
+    public static int getPromotionType(final int move) {
+        return (move >>> PROMOTION_SHIFT) & 7;
+    }
+
+    public static boolean isCapture(final int move) {
+        return ((move >>> CAPTURED_SHIFT) & 15) != NO_CAPTURE;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return getPromotionType(move) != 0;
+    }
+
+    public static boolean isPawnJump(final int move) {
+        return (move & FLAG_PAWN_JUMP) != 0;
+    }
+
+    public static boolean isEnPassant(final int move) {
+        return (move & FLAG_EN_PASSANT) != 0;
+    }
+
+    public static boolean isCastling(final int move) {
+        return (move & FLAG_CASTLING) != 0;
+    }
+
+    /**
+     * @return true if two encoded moves move the same piece between the same Tiles
+     * with the same promotion, ignoring the captured piece and flags
+     */
+    public static boolean isSameMove(final int move, final int other) {
+        return (move & 0x70FFFF) == (other & 0x70FFFF);
+    }
+
+    /**
+     * @return the move in the coordinate notation, e.g. "e2e4" or "e7e8q"
+     */
+    public static String toString(final int move) {
+        if (move == NONE) {
+            return "0000";
+        }
+        final String coordinates = Utils.getAlphaNotationFromCoordinate(getFrom(move))
+                + Utils.getAlphaNotationFromCoordinate(getTo(move));
+        return isPromotion(move) ? coordinates + PROMOTION_LETTERS.charAt(getPromotionType(move)) : coordinates;
+    }
+
+    /**
+     * @return PieceType of the promotion piece, null if the move is not a promotion
+     */
+    public static PieceType getPromotionPieceType(final int move) {
+        return isPromotion(move) ? BitBoard.pieceType(getPromotionType(move)) : null;
+    }
+}
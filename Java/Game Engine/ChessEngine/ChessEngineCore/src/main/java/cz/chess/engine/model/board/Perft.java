@@ -0,0 +1,142 @@
+package cz.chess.engine.model.board;
+
+import cz.chess.engine.model.player.Player;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Perft (performance test) counts the leaf nodes of the legal move tree up to a fixed depth.
+ * The counts of well known positions are published, so any difference points to a bug
+ * in the move generation, and the time it takes measures the move generation speed.
+ *
+ * Boards are walked with Player.makeMove like in a game, Positions with MoveGenerator and make/unmake.
+ * divide() splits the count by the first move, which helps to find the move with a wrong subtree.
+ * This class is only used for its methods, it cannot be instantiated.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class Perft {
+
+    private final static Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private Perft() {
+        throw new RuntimeException("Perft class is not instantiable!");
+    }
+
+    /**
+     * @param board
+     * @param depth number of half moves
+     * @return number of legal move sequences of length @param depth
+     */
+    public static long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        final Player player = board.getCurrentPlayer();
+        long nodes = 0;
+        for (final Move move : player.getLegalMoves()) {
+            final MoveExecution moveExecution = player.makeMove(move);
+            if (moveExecution.getMoveState().isFinished()) {
+                nodes += depth == 1 ? 1 : perft(moveExecution.getAfterBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * @param board
+     * @param depth number of half moves, at least 1
+     * @return perft of every legal first move keyed by the move in coordinate notation, e.g. "e2e4"
+     */
+    public static Map<String, Long> divide(final Board board, final int depth) {
+        final Map<String, Long> result = new LinkedHashMap<>();
+        final Player player = board.getCurrentPlayer();
+        for (final Move move : player.getLegalMoves()) {
+            final MoveExecution moveExecution = player.makeMove(move);
+            if (moveExecution.getMoveState().isFinished()) {
+                result.put(PackedMove.toString(move.toPackedMove()), perft(moveExecution.getAfterBoard(), depth - 1));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param position walked in place, it is unchanged when the method returns
+     * @param depth number of half moves
+     * @return number of legal move sequences of length @param depth
+     */
+    public static long perft(final Position position, final int depth) {
+        final MoveList[] moveLists = new MoveList[Math.max(1, depth) + 1];
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+        return perft(position, depth, moveLists);
+    }
+
+    /**
+     * @param position walked in place, it is unchanged when the method returns
+     * @param depth number of half moves, at least 1
+     * @return perft of every legal first move keyed by the move in coordinate notation, e.g. "e2e4"
+     */
+    public static Map<String, Long> divide(final Position position, final int depth) {
+        final Map<String, Long> result = new LinkedHashMap<>();
+        final MoveList[] moveLists = new MoveList[depth + 1];
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+        final MoveList moves = moveLists[depth];
+        MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            result.put(PackedMove.toString(moves.get(i)), perft(position, depth - 1, moveLists));
+            position.unmakeMove();
+        }
+        return result;
+    }
+
+    /**
+     * Runs perft on the @param position and logs the node count and the speed.
+     *
+     * @param name name of the position used in the log
+     * @param position walked in place, it is unchanged when the method returns
+     * @param depth number of half moves
+     * @return number of legal move sequences of length @param depth
+     */
+    public static long measure(final String name, final Position position, final int depth) {
+        final long start = System.nanoTime();
+        final long nodes = perft(position, depth);
+        final long time = System.nanoTime() - start;
+        LOGGER.info(name + " perft(" + depth + ") = " + nodes + " in " + time / 1_000_000 + " ms, "
+                + nodesPerSecond(nodes, time) + " nps");
+        return nodes;
+    }
+
+    /**
+     * @param nodes
+     * @param timeNanos
+     * @return nodes per second, 0 if no time has passed
+     */
+    public static long nodesPerSecond(final long nodes, final long timeNanos) {
+        return timeNanos <= 0 ? 0 : nodes * 1_000_000_000L / timeNanos;
+    }
+
+    private static long perft(final Position position, final int depth, final MoveList[] moveLists) {
+        if (depth == 0) {
+            return 1;
+        }
+        final MoveList moves = moveLists[depth];
+        MoveGenerator.generateLegalMoves(position, moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            nodes += perft(position, depth - 1, moveLists);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+}
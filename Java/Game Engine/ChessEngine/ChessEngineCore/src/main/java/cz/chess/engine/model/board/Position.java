@@ -0,0 +1,458 @@
+package cz.chess.engine.model.board;
+
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * Mutable chess position used for walking the game tree without creating a new Board for every node.
+ * Moves are applied in place by makeMove and taken back by unmakeMove,
+ * everything needed for taking a move back is kept on an undo stack of primitive arrays.
+ *
+ * The Zobrist key of the position is updated together with every change and saved on the undo stack.
+ * Boards of a game share their history this way, so the keys on the stack since the last capture or pawn move
+ * tell whether the position repeats and the halfmove clock tells when the fifty-move rule applies.
+ *
+ * Board is an immutable view of a Position, Move.execute() copies the Position of its Board,
+ * makes the move on the copy and wraps the result into a new Board.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class Position {
+
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int WHITE_KING_SIDE_CASTLING = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLING = 2;
+    public static final int BLACK_KING_SIDE_CASTLING = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLING = 8;
+    public static final int ALL_CASTLING = 15;
+
+    public static final int NO_SQUARE = -1;
+
+    /* halfmoves without a capture or a pawn move after which the game is drawn */
+    public static final int FIFTY_MOVE_RULE_PLIES = 100;
+
+    private static final int KING = PieceType.KING.ordinal();
+    private static final int ROOK = PieceType.ROOK.ordinal();
+    private static final int PAWN = PieceType.PAWN.ordinal();
+    private static final PieceType[] NON_PAWN_PIECE_TYPES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
+    /* marks a null move on the undo stack */
+    private static final int NULL_MOVE = 1 << 14;
+
+    /* Castling rights which stay after a piece moves from or to the Tile */
+    private static final int[] CASTLING_MASK = createCastlingMask();
+
+    private static final int INITIAL_UNDO_CAPACITY = 128;
+
+    private final BitBoard bitBoard;
+    private int sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private int halfmoveClock;
+    private int fullmoveNumber;
+    private long zobristKey;
+
+    // undo stack
+    private int undoSize;
+    private int[] undoMoves;
+    private int[] undoCapturedPieces;
+    private int[] undoCastlingRights;
+    private int[] undoEnPassantSquares;
+    private int[] undoHalfmoveClocks;
+    private long[] undoZobristKeys;
+
+    public Position(final BitBoard bitBoard,
+                    final PlayingSide sideToMove,
+                    final int castlingRights,
+                    final int enPassantSquare,
+                    final int halfmoveClock,
+                    final int fullmoveNumber) {
+        this.bitBoard = bitBoard;
+        this.sideToMove = sideToMove.ordinal();
+        this.castlingRights = castlingRights;
+        this.enPassantSquare = enPassantSquare;
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
+        this.undoSize = 0;
+        this.undoMoves = new int[INITIAL_UNDO_CAPACITY];
+        this.undoCapturedPieces = new int[INITIAL_UNDO_CAPACITY];
+        this.undoCastlingRights = new int[INITIAL_UNDO_CAPACITY];
+        this.undoEnPassantSquares = new int[INITIAL_UNDO_CAPACITY];
+        this.undoHalfmoveClocks = new int[INITIAL_UNDO_CAPACITY];
+        this.undoZobristKeys = new long[INITIAL_UNDO_CAPACITY];
+        this.zobristKey = Zobrist.computeKey(bitBoard, this.sideToMove, castlingRights, enPassantSquare);
+    }
+
+    /**
+     * Creates an independent copy of the @param other Position including its undo stack.
+     *
+     * @param other
+     */
+    public Position(final Position other) {
+        this.bitBoard = new BitBoard(other.bitBoard);
+        this.sideToMove = other.sideToMove;
+        this.castlingRights = other.castlingRights;
+        this.enPassantSquare = other.enPassantSquare;
+        this.halfmoveClock = other.halfmoveClock;
+        this.fullmoveNumber = other.fullmoveNumber;
+        this.zobristKey = other.zobristKey;
+        this.undoSize = other.undoSize;
+        final int capacity = Math.max(INITIAL_UNDO_CAPACITY, other.undoSize + INITIAL_UNDO_CAPACITY);
+        this.undoMoves = Arrays.copyOf(other.undoMoves, capacity);
+        this.undoCapturedPieces = Arrays.copyOf(other.undoCapturedPieces, capacity);
+        this.undoCastlingRights = Arrays.copyOf(other.undoCastlingRights, capacity);
+        this.undoEnPassantSquares = Arrays.copyOf(other.undoEnPassantSquares, capacity);
+        this.undoHalfmoveClocks = Arrays.copyOf(other.undoHalfmoveClocks, capacity);
+        this.undoZobristKeys = Arrays.copyOf(other.undoZobristKeys, capacity);
+    }
+
+    /**
+     * Executes the @param move in place.
+     * The move has to be at least pseudo-legal in this Position.
+     *
+     * @param move
+     */
+    public void makeMove(final Move move) {
+        final PieceType promotion = move.getPromotionPieceType();
+        makeMove(move.getCurrentCoordinate(),
+                move.getFinalCoordinate(),
+                promotion == null ? PieceType.QUEEN.ordinal() : promotion.ordinal());
+    }
+
+    /**
+     * Executes the @param move encoded by PackedMove in place.
+     * The move has to be at least pseudo-legal in this Position.
+     *
+     * @param move
+     */
+    public void makeMove(final int move) {
+        final int promotionType = PackedMove.getPromotionType(move);
+        makeMove(PackedMove.getFrom(move),
+                PackedMove.getTo(move),
+                promotionType == 0 ? PieceType.QUEEN.ordinal() : promotionType);
+    }
+
+    /**
+     * Executes the move from Tile @param from to Tile @param to in place.
+     * Castling, en passant and promotion are recognised from the moved piece.
+     *
+     * @param from Tile index
+     * @param to Tile index
+     * @param promotionType PieceType ordinal used when a Pawn reaches the last rank
+     */
+    public void makeMove(final int from, final int to, final int promotionType) {
+        final int movedPiece = this.bitBoard.getPieceCode(from);
+        final int movedType = BitBoard.typeOf(movedPiece);
+        int capturedPiece = this.bitBoard.getPieceCode(to);
+
+        pushUndo(from | (to << 6), capturedPiece);
+        long key = this.zobristKey ^ Zobrist.castling(this.castlingRights) ^ Zobrist.enPassant(this.enPassantSquare);
+
+        if (movedType == PAWN && to == this.enPassantSquare) {
+            final int capturedSquare = to + (this.sideToMove == WHITE ? -8 : 8);
+            capturedPiece = this.bitBoard.removePiece(capturedSquare);
+            key ^= Zobrist.pieceSquare(capturedPiece, capturedSquare);
+            this.undoCapturedPieces[this.undoSize - 1] = capturedPiece;
+            this.undoMoves[this.undoSize - 1] |= 1 << 12;
+        } else if (capturedPiece != BitBoard.EMPTY) {
+            this.bitBoard.removePiece(to);
+            key ^= Zobrist.pieceSquare(capturedPiece, to);
+        }
+
+        this.bitBoard.movePiece(from, to);
+        key ^= Zobrist.pieceSquare(movedPiece, from) ^ Zobrist.pieceSquare(movedPiece, to);
+
+        if (movedType == KING && Math.abs(to - from) == 2) {
+            final int rookFrom = to > from ? from + 3 : from - 4;
+            final int rookTo = to > from ? from + 1 : from - 1;
+            final int rook = this.bitBoard.getPieceCode(rookFrom);
+            this.bitBoard.movePiece(rookFrom, rookTo);
+            key ^= Zobrist.pieceSquare(rook, rookFrom) ^ Zobrist.pieceSquare(rook, rookTo);
+        } else if (movedType == PAWN && (BitBoard.rankOf(to) == 0 || BitBoard.rankOf(to) == 7)) {
+            final int promotedPiece = BitBoard.pieceCode(this.sideToMove, promotionType);
+            this.bitBoard.removePiece(to);
+            this.bitBoard.putPiece(promotedPiece, to);
+            key ^= Zobrist.pieceSquare(movedPiece, to) ^ Zobrist.pieceSquare(promotedPiece, to);
+            this.undoMoves[this.undoSize - 1] |= 1 << 13;
+        }
+
+        this.castlingRights &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        this.enPassantSquare = movedType == PAWN && Math.abs(to - from) == 16
+                && canBeCapturedEnPassant(to) ? (from + to) >>> 1 : NO_SQUARE;
+        this.halfmoveClock = (movedType == PAWN || capturedPiece != BitBoard.EMPTY) ? 0 : this.halfmoveClock + 1;
+        if (this.sideToMove == BLACK) {
+            this.fullmoveNumber++;
+        }
+        this.sideToMove ^= 1;
+        this.zobristKey = key ^ Zobrist.castling(this.castlingRights) ^ Zobrist.enPassant(this.enPassantSquare)
+                ^ Zobrist.blackToMove();
+    }
+
+    /**
+     * Passes the turn to the opponent without moving a piece, used by the null move pruning of the Search.
+     * Must not be called when the side to move is in check. Taken back by unmakeMove.
+     */
+    public void makeNullMove() {
+        pushUndo(NULL_MOVE, BitBoard.EMPTY);
+        this.zobristKey ^= Zobrist.enPassant(this.enPassantSquare) ^ Zobrist.blackToMove();
+        this.enPassantSquare = NO_SQUARE;
+        this.halfmoveClock++;
+        if (this.sideToMove == BLACK) {
+            this.fullmoveNumber++;
+        }
+        this.sideToMove ^= 1;
+    }
+
+    /**
+     * Takes back the last move made by makeMove or makeNullMove.
+     */
+    public void unmakeMove() {
+        if (this.undoSize == 0) {
+            throw new IllegalStateException("There is no move to take back");
+        }
+        this.undoSize--;
+        final int undoMove = this.undoMoves[this.undoSize];
+        final int from = undoMove & 63;
+        final int to = (undoMove >>> 6) & 63;
+        final boolean enPassant = (undoMove & (1 << 12)) != 0;
+        final boolean promotion = (undoMove & (1 << 13)) != 0;
+        final int capturedPiece = this.undoCapturedPieces[this.undoSize];
+
+        this.sideToMove ^= 1;
+        if (this.sideToMove == BLACK) {
+            this.fullmoveNumber--;
+        }
+        this.castlingRights = this.undoCastlingRights[this.undoSize];
+        this.enPassantSquare = this.undoEnPassantSquares[this.undoSize];
+        this.halfmoveClock = this.undoHalfmoveClocks[this.undoSize];
+        this.zobristKey = this.undoZobristKeys[this.undoSize];
+        if (undoMove == NULL_MOVE) {
+            return;
+        }
+
+        if (promotion) {
+            this.bitBoard.removePiece(to);
+            this.bitBoard.putPiece(BitBoard.pieceCode(this.sideToMove, PAWN), to);
+        }
+        this.bitBoard.movePiece(to, from);
+
+        if (BitBoard.typeOf(this.bitBoard.getPieceCode(from)) == KING && Math.abs(to - from) == 2) {
+            if (to > from) {
+                this.bitBoard.movePiece(from + 1, from + 3);
+            } else {
+                this.bitBoard.movePiece(from - 1, from - 4);
+            }
+        }
+
+        if (capturedPiece != BitBoard.EMPTY) {
+            this.bitBoard.putPiece(capturedPiece, enPassant ? to + (this.sideToMove == WHITE ? -8 : 8) : to);
+        }
+    }
+
+    private void pushUndo(final int undoMove, final int capturedPiece) {
+        if (this.undoSize == this.undoMoves.length) {
+            final int capacity = this.undoSize * 2;
+            this.undoMoves = Arrays.copyOf(this.undoMoves, capacity);
+            this.undoCapturedPieces = Arrays.copyOf(this.undoCapturedPieces, capacity);
+            this.undoCastlingRights = Arrays.copyOf(this.undoCastlingRights, capacity);
+            this.undoEnPassantSquares = Arrays.copyOf(this.undoEnPassantSquares, capacity);
+            this.undoHalfmoveClocks = Arrays.copyOf(this.undoHalfmoveClocks, capacity);
+            this.undoZobristKeys = Arrays.copyOf(this.undoZobristKeys, capacity);
+        }
+        this.undoMoves[this.undoSize] = undoMove;
+        this.undoCapturedPieces[this.undoSize] = capturedPiece;
+        this.undoCastlingRights[this.undoSize] = this.castlingRights;
+        this.undoEnPassantSquares[this.undoSize] = this.enPassantSquare;
+        this.undoHalfmoveClocks[this.undoSize] = this.halfmoveClock;
+        this.undoZobristKeys[this.undoSize] = this.zobristKey;
+        this.undoSize++;
+    }
+
+    /**
+     * The en passant Tile is only remembered when an enemy Pawn stands next to the jumped Pawn,
+     * so that positions which only differ by an unusable en passant Tile are equal.
+     */
+    private boolean canBeCapturedEnPassant(final int to) {
+        final long mask = BitBoard.squareMask(to);
+        final long neighbours = ((mask << 1) & ~BitBoard.FILE_A) | ((mask >>> 1) & ~BitBoard.FILE_H);
+        return (neighbours & this.bitBoard.getPieces(BitBoard.pieceCode(this.sideToMove ^ 1, PAWN))) != 0;
+    }
+
+    /**
+     * Without pieces other than the King and Pawns, zugzwang is common,
+     * so the Search must not assume that passing the turn is the worst move.
+     *
+     * @param side 0 for WHITE, 1 for BLACK
+     * @return true if the @param side has a Queen, Rook, Bishop or Knight
+     */
+    public boolean hasNonPawnMaterial(final int side) {
+        for (final PieceType pieceType : NON_PAWN_PIECE_TYPES) {
+            if (this.bitBoard.getPieces(BitBoard.pieceCode(side, pieceType.ordinal())) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param square Tile index
+     * @param side 0 for WHITE, 1 for BLACK
+     * @return true if a piece of @param side attacks the Tile
+     */
+    public boolean isSquareAttacked(final int square, final int side) {
+        return Attacks.isSquareAttacked(this.bitBoard, square, side);
+    }
+
+    /**
+     * @return true if the King of the side to move is attacked
+     */
+    public boolean isInCheck() {
+        final int kingSquare = this.bitBoard.getKingSquare(this.sideToMove);
+        return kingSquare >= 0 && isSquareAttacked(kingSquare, this.sideToMove ^ 1);
+    }
+
+    /**
+     * @param side 0 for WHITE, 1 for BLACK
+     * @return bitmap of all Tiles attacked by @param side
+     */
+    public long getAttackedSquares(final int side) {
+        return Attacks.attackedSquares(this.bitBoard, side);
+    }
+
+    /**
+     * @param side 0 for WHITE, 1 for BLACK
+     * @return bitmap of pieces of @param side pinned to their King
+     */
+    public long getPinnedPieces(final int side) {
+        return Attacks.pinnedPieces(this.bitBoard, side);
+    }
+
+    private static int[] createCastlingMask() {
+        final int[] mask = new int[Utils.NUM_TILES];
+        Arrays.fill(mask, ALL_CASTLING);
+        mask[0] &= ~WHITE_QUEEN_SIDE_CASTLING;
+        mask[7] &= ~WHITE_KING_SIDE_CASTLING;
+        mask[4] &= ~(WHITE_KING_SIDE_CASTLING | WHITE_QUEEN_SIDE_CASTLING);
+        mask[56] &= ~BLACK_QUEEN_SIDE_CASTLING;
+        mask[63] &= ~BLACK_KING_SIDE_CASTLING;
+        mask[60] &= ~(BLACK_KING_SIDE_CASTLING | BLACK_QUEEN_SIDE_CASTLING);
+        return mask;
+    }
+
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
+
+    /**
+     * @return 0 if WHITE is to move, 1 if BLACK is to move
+     */
+    public int getSideToMove() {
+        return this.sideToMove;
+    }
+
+    public PlayingSide getPlayingSideToMove() {
+        return BitBoard.playingSide(this.sideToMove);
+    }
+
+    public void setSideToMove(final PlayingSide playingSide) {
+        if (this.sideToMove != playingSide.ordinal()) {
+            this.zobristKey ^= Zobrist.blackToMove();
+        }
+        this.sideToMove = playingSide.ordinal();
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public void setEnPassantSquare(final int enPassantSquare) {
+        this.zobristKey ^= Zobrist.enPassant(this.enPassantSquare) ^ Zobrist.enPassant(enPassantSquare);
+        this.enPassantSquare = enPassantSquare;
+    }
+
+    public int getHalfmoveClock() {
+        return this.halfmoveClock;
+    }
+
+    public int getFullmoveNumber() {
+        return this.fullmoveNumber;
+    }
+
+    /**
+     * @return true if there was no capture and no pawn move in the last fifty moves of both sides
+     */
+    public boolean isFiftyMoveRule() {
+        return this.halfmoveClock >= FIFTY_MOVE_RULE_PLIES;
+    }
+
+    /**
+     * Only the positions since the last capture or pawn move can be equal to this one,
+     * so at most FIFTY_MOVE_RULE_PLIES keys are compared however long the game is.
+     *
+     * @return how many times this position has occurred before with the same side to move
+     */
+    public int countRepetitions() {
+        return countRepetitions(0);
+    }
+
+    /**
+     * @return true if this position is the third occurrence, the game is drawn by threefold repetition
+     */
+    public boolean isThreefoldRepetition() {
+        return countRepetitions() >= 2;
+    }
+
+    /**
+     * Repetition test of the search. A position repeating once after the root of the search
+     * is scored as a draw, because the side which could avoid the repetition would have done so,
+     * a position from before the root has to occur twice.
+     *
+     * @param plyFromRoot how many moves have been made since the root of the search
+     * @return true if the search can score the position as a draw by repetition
+     */
+    public boolean isRepetition(final int plyFromRoot) {
+        return countRepetitions(plyFromRoot) >= 2;
+    }
+
+    /**
+     * Compares the key with the keys of the positions with the same side to move
+     * back to the last irreversible move or null move.
+     * An occurrence less than @param plyFromRoot moves ago counts twice.
+     */
+    private int countRepetitions(final int plyFromRoot) {
+        final int limit = Math.min(this.halfmoveClock, this.undoSize);
+        int count = 0;
+        for (int distance = 1; distance <= limit; distance++) {
+            final int index = this.undoSize - distance;
+            if (this.undoMoves[index] == NULL_MOVE) {
+                break;
+            }
+            if ((distance & 1) == 0 && this.undoZobristKeys[index] == this.zobristKey) {
+                count += distance < plyFromRoot ? 2 : 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Zobrist key of the position, equal positions have equal keys
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * @return how many moves can be taken back with unmakeMove
+     */
+    public int getPly() {
+        return this.undoSize;
+    }
+}
@@ -0,0 +1,18 @@
+package cz.chess.engine.model.board;
+
+import cz.chess.engine.model.pieces.Piece.PieceType;
+
+/**
+ * Decides which piece a Pawn is promoted to when a human player makes a PawnPromotionMove.
+ * The GUI plugs in a dialog, without one every Pawn becomes a Queen.
+ *
+ * @author Vojtěch Sýkora
+ */
+@FunctionalInterface
+public interface PromotionChooser {
+
+    /**
+     * @return QUEEN, ROOK, BISHOP or KNIGHT
+     */
+    PieceType choosePromotion();
+}
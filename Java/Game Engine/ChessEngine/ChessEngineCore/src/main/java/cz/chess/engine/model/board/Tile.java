@@ -12,6 +12,8 @@ import java.util.Arrays;
  */
 public abstract class Tile {
 
+    private static final EmptyTile[] EMPTY_TILES = createAllEmptyTiles();
+
     private int tileCoordinate;
 
     private Tile(int tileCoordinate) {
@@ -49,14 +51,22 @@ public abstract class Tile {
     }
 
     /**
-     * Returns a new instance of either FullTile or EmptyTile depending on the @param piece
+     * Returns a new instance of FullTile or a shared instance of EmptyTile depending on the @param piece
      *
      * @param coordinate
      * @param piece
-     * @return new instance of one of the Tile subclasses
+     * @return instance of one of the Tile subclasses
      */
     public static Tile createTile(final int coordinate, final Piece piece) {
-        return piece == null ? new EmptyTile(coordinate) : new FullTile(coordinate, piece);
+        return piece == null ? EMPTY_TILES[coordinate] : new FullTile(coordinate, piece);
+    }
+
+    private static EmptyTile[] createAllEmptyTiles() {
+        final EmptyTile[] emptyTiles = new EmptyTile[Utils.NUM_TILES];
+        for (int i = 0; i < Utils.NUM_TILES; i++) {
+            emptyTiles[i] = new EmptyTile(i);
+        }
+        return emptyTiles;
     }
 
 
@@ -99,14 +99,16 @@ public class Utils {
 
     /**
      * Checks if the game ended.
-     * Checks for checkmate and stalemate
+     * Checks for checkmate, stalemate, threefold repetition and the fifty-move rule
      *
      * @param board
      * @return true if game ended, else false
      */
     public static boolean gameEnded(final Board board) {
         return board.getCurrentPlayer().isInCheckMate() ||
-                board.getCurrentPlayer().isInStaleMate();
+                board.getCurrentPlayer().isInStaleMate() ||
+                board.isThreefoldRepetition() ||
+                board.isFiftyMoveRule();
     }
 
     /**
@@ -120,22 +122,26 @@ public class Utils {
     }
 
     /**
-     * Tries to find any type of offensive move in the @param moves
+     * Tries to find the best offensive move in the @param moves,
+     * the one taking the most valuable piece with the least valuable one (MVV-LVA)
      *
      * @param moves
      * @return move if it finds one, else null
      */
     public static Move getOffensiveMove(final Collection<Move> moves) {
+        Move bestMove = null;
+        int bestScore = Integer.MIN_VALUE;
         for (final Move move : moves) {
             if (move instanceof OffensiveMove) {
-                return (OffensiveMove) move;
-            } else if (move instanceof PawnOffensiveMove) {
-                return (PawnOffensiveMove) move;
-            } else if (move instanceof PawnEnPassantOffensiveMove) {
-                return (PawnEnPassantOffensiveMove) move;
+                final int score = 10 * move.getAttackedPiece().getPieceType().getValue()
+                        - move.getMovedPiece().getPieceType().getValue();
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = move;
+                }
             }
         }
-        return null;
+        return bestMove;
     }
 
     /**
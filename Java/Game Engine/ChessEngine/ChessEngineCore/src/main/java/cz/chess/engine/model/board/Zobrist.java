@@ -0,0 +1,133 @@
+package cz.chess.engine.model.board;
+
+import cz.chess.engine.model.pieces.Piece.PieceType;
+
+/**
+ * Random 64-bit keys for Zobrist hashing of chess positions.
+ * The key of a position is the XOR of the keys of every piece on its Tile,
+ * the side to move, the castling rights and the file of the en passant Tile,
+ * so a move only has to XOR in and out the few keys it changes.
+ * The pawn key is the XOR of the keys of Pawns only, positions with the same Pawn skeleton share it.
+ * The keys are generated from a fixed seed, a position has the same key in every run.
+ * This class is only used for its methods, it cannot be instantiated.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class Zobrist {
+
+    private static final long[][] PIECE_SQUARE_KEYS = new long[BitBoard.NUM_PIECE_CODES][Utils.NUM_TILES];
+    /* the same keys for Pawns, 0 for the other pieces, so the pawn key needs no branch */
+    private static final long[][] PAWN_SQUARE_KEYS = new long[BitBoard.NUM_PIECE_CODES][Utils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[Position.ALL_CASTLING + 1];
+    private static final long[] EN_PASSANT_KEYS = new long[Utils.NUM_TILES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    private static long randomState = 0x2A9F3C5D7E1B4867L;
+
+    static {
+        for (final long[] keys : PIECE_SQUARE_KEYS) {
+            for (int square = 0; square < Utils.NUM_TILES; square++) {
+                keys[square] = nextRandom();
+            }
+        }
+        for (int code = 0; code < BitBoard.NUM_PIECE_CODES; code++) {
+            if (BitBoard.typeOf(code) == PieceType.PAWN.ordinal()) {
+                PAWN_SQUARE_KEYS[code] = PIECE_SQUARE_KEYS[code].clone();
+            }
+        }
+        for (int rights = 0; rights < CASTLING_KEYS.length; rights++) {
+            CASTLING_KEYS[rights] = nextRandom();
+        }
+        for (int file = 0; file < EN_PASSANT_KEYS.length; file++) {
+            EN_PASSANT_KEYS[file] = nextRandom();
+        }
+        BLACK_TO_MOVE_KEY = nextRandom();
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("Zobrist class is not instantiable!");
+    }
+
+    /**
+     * @param code piece code
+     * @param square Tile index
+     * @return key of the piece standing on the Tile
+     */
+    public static long pieceSquare(final int code, final int square) {
+        return PIECE_SQUARE_KEYS[code][square];
+    }
+
+    /**
+     * @param code piece code
+     * @param square Tile index
+     * @return key of the piece standing on the Tile if it is a Pawn, 0 for the other pieces
+     */
+    public static long pawnSquare(final int code, final int square) {
+        return PAWN_SQUARE_KEYS[code][square];
+    }
+
+    /**
+     * @param castlingRights combination of the Position castling constants
+     * @return key of the castling rights
+     */
+    public static long castling(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    /**
+     * @param enPassantSquare Tile index or Position.NO_SQUARE
+     * @return key of the en passant file, 0 if there is no en passant Tile
+     */
+    public static long enPassant(final int enPassantSquare) {
+        return enPassantSquare < 0 ? 0L : EN_PASSANT_KEYS[BitBoard.fileOf(enPassantSquare)];
+    }
+
+    public static long blackToMove() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+    /**
+     * Computes the key from scratch, Position keeps its key up to date incrementally instead.
+     *
+     * @return Zobrist key of the position
+     */
+    public static long computeKey(final BitBoard bitBoard,
+                                  final int sideToMove,
+                                  final int castlingRights,
+                                  final int enPassantSquare) {
+        long key = 0L;
+        long pieces = bitBoard.getOccupancy();
+        while (pieces != 0) {
+            final int square = BitBoard.lowestSquare(pieces);
+            pieces &= pieces - 1;
+            key ^= PIECE_SQUARE_KEYS[bitBoard.getPieceCode(square)][square];
+        }
+        if (sideToMove == Position.BLACK) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+        return key ^ castling(castlingRights) ^ enPassant(enPassantSquare);
+    }
+
+    /**
+     * Computes the pawn key from scratch, BitBoard keeps it up to date incrementally instead.
+     *
+     * @return key of the Pawns of both sides
+     */
+    public static long computePawnKey(final BitBoard bitBoard) {
+        long key = 0L;
+        long pieces = bitBoard.getOccupancy();
+        while (pieces != 0) {
+            final int square = BitBoard.lowestSquare(pieces);
+            pieces &= pieces - 1;
+            key ^= PAWN_SQUARE_KEYS[bitBoard.getPieceCode(square)][square];
+        }
+        return key;
+    }
+
+    private static long nextRandom() {
+        randomState ^= randomState >>> 12;
+        randomState ^= randomState << 25;
+        randomState ^= randomState >>> 27;
+        return randomState * 0x2545F4914F6CDD1DL;
+    }
+}
@@ -0,0 +1,66 @@
+package cz.chess.engine.model.pieces;
+
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.MoveTables;
+
+import java.util.List;
+
+/**
+ * Representation of the Bishop chess piece
+ *
+ * @author Vojtěch Sýkora
+ */
+public class Bishop extends Piece {
+
+    public Bishop(int piecePosition, PlayingSide playingSide) {
+        super(piecePosition, playingSide, PieceType.BISHOP);
+    }
+
+    public Bishop(int piecePosition, PlayingSide playingSide, boolean isFirstMove) {
+        super(piecePosition, playingSide, PieceType.BISHOP, isFirstMove);
+    }
+
+    /**
+     * Finds all legal moves of this Bishop which can be found on the @param board
+     *
+     * @param board
+     * @return List of the possible legal moves
+     */
+    @Override
+    public List<Move> getLegalMoves(final Board board) {
+        return createMoves(board, MoveTables.bishopAttacks(this.piecePosition, board.getBitBoard().getOccupancy()));
+    }
+
+    @Override
+    public String toString() {
+        return PieceType.BISHOP.toString();
+    }
+
+    @Override
+    public boolean isKing() {
+        return false;
+    }
+
+    @Override
+    public boolean isRook() {
+        return false;
+    }
+
+    @Override
+    public String asWord() {
+        return "bishop";
+    }
+
+    /**
+     * Returns a new Bishop which represents the Bishop after the @param move
+     *
+     * @param move
+     * @return new moved Bishop instance
+     */
+    @Override
+    public Bishop moveThisPiece(final Move move) {
+        return new Bishop(move.getFinalCoordinate(), move.getMovedPiece().playingSide);
+    }
+}
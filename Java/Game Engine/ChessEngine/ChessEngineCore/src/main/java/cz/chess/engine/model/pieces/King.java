@@ -0,0 +1,102 @@
+package cz.chess.engine.model.pieces;
+
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.MoveTables;
+
+import java.util.List;
+
+/**
+ * Representation of the King chess piece
+ *
+ * @author Vojtěch Sýkora
+ */
+public class King extends Piece {
+
+    private final boolean hasCastled;
+    private boolean canCastleKingSide;
+    private boolean canCastleQueenSide;
+
+    public King(final int piecePosition,
+                final PlayingSide playingSide,
+                final boolean canCastleKingSide,
+                final boolean canCastleQueenSide
+                ) {
+        super(piecePosition, playingSide, PieceType.KING);
+        this.canCastleKingSide = canCastleKingSide;
+        this.canCastleQueenSide = canCastleQueenSide;
+        this.hasCastled = false;
+    }
+
+    public King(int piecePosition,
+                PlayingSide playingSide,
+                boolean isFirstMove,
+                final boolean canCastleKingSide,
+                final boolean canCastleQueenSide,
+                final boolean hasCastled
+            ) {
+        super(piecePosition, playingSide, PieceType.KING, isFirstMove);
+        this.canCastleKingSide = canCastleKingSide;
+        this.canCastleQueenSide = canCastleQueenSide;
+        this.hasCastled = hasCastled;
+    }
+
+    /**
+     * Finds all legal moves of this King which can be found on the @param board
+     *
+     * @param board
+     * @return List of the possible legal moves
+     */
+    @Override
+    public List<Move> getLegalMoves(final Board board) {
+        return createMoves(board, MoveTables.kingAttacks(this.piecePosition));
+    }
+
+    @Override
+    public String toString() {
+        return PieceType.KING.toString();
+    }
+
+    @Override
+    public String asWord() {
+        return "king";
+    }
+
+    @Override
+    public boolean isKing() {
+        return true;
+    }
+
+    @Override
+    public boolean isRook() {
+        return false;
+    }
+
+    /**
+     * Returns a new King which represents the King after the @param move
+     *
+     * @param move
+     * @return new moved King instance
+     */
+    @Override
+    public King moveThisPiece(final Move move) {
+        return new King(move.getFinalCoordinate(),
+                move.getMovedPiece().playingSide,
+                false,
+                false);
+    }
+
+    public boolean canCastleKingSide() {
+        return canCastleKingSide;
+    }
+
+    public boolean canCastleQueenSide() {
+        return canCastleQueenSide;
+    }
+
+    public void setCastling(final boolean canCastleKingSide, final boolean canCastleQueenSide) {
+        this.canCastleKingSide = canCastleKingSide;
+        this.canCastleQueenSide = canCastleQueenSide;
+    }
+}
@@ -0,0 +1,66 @@
+package cz.chess.engine.model.pieces;
+
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.MoveTables;
+
+import java.util.List;
+
+/**
+ * Representation of the Knight chess piece
+ *
+ * @author Vojtěch Sýkora
+ */
+public class Knight extends Piece {
+
+    public Knight(final int piecePosition, final PlayingSide playingSide) {
+        super(piecePosition, playingSide, PieceType.KNIGHT);
+    }
+
+    public Knight(int piecePosition, PlayingSide playingSide, boolean isFirstMove) {
+        super(piecePosition, playingSide, PieceType.KNIGHT, isFirstMove);
+    }
+
+    /**
+     * Finds all legal moves of this Knight which can be found on the @param board
+     *
+     * @param board
+     * @return List of the possible legal moves
+     */
+    @Override
+    public List<Move> getLegalMoves(final Board board) {
+        return createMoves(board, MoveTables.knightAttacks(this.piecePosition));
+    }
+
+    @Override
+    public String toString() {
+        return PieceType.KNIGHT.toString();
+    }
+
+    @Override
+    public boolean isKing() {
+        return false;
+    }
+
+    @Override
+    public boolean isRook() {
+        return false;
+    }
+
+    @Override
+    public String asWord() {
+        return "knight";
+    }
+
+    /**
+     * Returns a new Knight which represents the Knight after the @param move
+     *
+     * @param move
+     * @return new moved Knight instance
+     */
+    @Override
+    public Knight moveThisPiece(final Move move) {
+        return new Knight(move.getFinalCoordinate(), move.getMovedPiece().playingSide);
+    }
+}
@@ -0,0 +1,164 @@
+package cz.chess.engine.model.pieces;
+
+import com.google.common.collect.ImmutableList;
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.board.BitBoard;
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.Move.*;
+import cz.chess.engine.model.board.MoveTables;
+import cz.chess.engine.model.board.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/* TODO:
+*   EN PASSANT
+*   PAWN PROMOTION
+*/
+
+/**
+ * Representation of the Pawn chess piece
+ *
+ * @author Vojtěch Sýkora
+ */
+public class Pawn extends Piece {
+
+    private final static Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    /* If a Pawn jumps by 16, isEnPassantable becomes true
+     * only for the next round and then it is forever false.
+     */
+    public boolean isEnPassantable = false;
+
+    /* a promotion is a separate move for every piece the Pawn can become, the Queen first */
+    private static final String[] PROMOTION_PIECES = {"Q", "N", "R", "B"};
+
+    public Pawn(final int piecePosition, final PlayingSide playingSide) {
+        super(piecePosition, playingSide, PieceType.PAWN);
+    }
+
+    public Pawn(int piecePosition, PlayingSide playingSide, boolean isFirstMove, boolean isEnPassantable) {
+        super(piecePosition, playingSide, PieceType.PAWN, isFirstMove);
+        this.isEnPassantable = isEnPassantable;
+    }
+
+    /**
+     * @return true if it's this Pawn's first move, else false
+     */
+    @Override
+    public boolean isFirstMove() {
+        if (this.playingSide.isWhite() && this.piecePosition > 7 && this.piecePosition < 16) {
+            return true;
+        } else return playingSide.isBlack() && this.piecePosition > 47 && this.piecePosition < 56;
+    }
+
+    /**
+     * Finds all legal moves of this Pawn which can be found on the @param board
+     * Taking into consideration PawnMove, PawnJump, EnPassant and PawnPromotion
+     *
+     * @param board
+     * @return List of the possible legal moves
+     */
+    @Override
+    public List<Move> getLegalMoves(final Board board) {
+        final List<Move> legalMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
+        final int forward = this.playingSide.getDirection() * 8;
+
+        final int pushCoordinate = this.piecePosition + forward;
+        if (Utils.isValidCoordinate(pushCoordinate) && !bitBoard.isOccupied(pushCoordinate)) {
+            if (this.playingSide.isPawnPromotionTile(pushCoordinate)) { // pawn promotion
+                for (final String promotionPieceStr : PROMOTION_PIECES) {
+                    legalMoves.add(new PawnPromotionMove(new PawnMove(board, this, pushCoordinate), promotionPieceStr));
+                }
+            } else { // normal move
+                legalMoves.add(new PawnMove(board, this, pushCoordinate));
+            }
+            final int jumpCoordinate = pushCoordinate + forward;
+            if (this.isFirstMove() && !bitBoard.isOccupied(jumpCoordinate)) {
+                legalMoves.add(new PawnJumpMove(board, this, jumpCoordinate));
+            }
+        }
+
+        final long attacks = MoveTables.pawnAttacks(this.playingSide.ordinal(), this.piecePosition);
+        long captures = attacks & bitBoard.getOccupancy(this.playingSide.isWhite() ? PlayingSide.BLACK : PlayingSide.WHITE);
+        while (captures != 0) { // Offensive Move
+            final int destinationCoordinate = BitBoard.lowestSquare(captures);
+            captures &= captures - 1;
+            final Piece pieceAtDestination = board.getPiece(destinationCoordinate);
+            if (this.playingSide.isPawnPromotionTile(destinationCoordinate)) { // pawn promotion
+                for (final String promotionPieceStr : PROMOTION_PIECES) {
+                    legalMoves.add(new PawnPromotionMove(new PawnOffensiveMove(board,
+                            this,
+                            destinationCoordinate,
+                            pieceAtDestination),
+                            promotionPieceStr));
+                }
+            } else {
+                legalMoves.add(new PawnOffensiveMove(board, this, destinationCoordinate, pieceAtDestination));
+            }
+        }
+
+        final int enPassantSquare = board.getEnPassantSquare();
+        if (enPassantSquare >= 0 && (attacks & BitBoard.squareMask(enPassantSquare)) != 0) { // EN PASSANT
+            final Pawn possibleEnPassantPiece = board.getEnPassantPawn();
+            if (possibleEnPassantPiece != null && possibleEnPassantPiece.getPlayingSide() != this.playingSide) {
+                legalMoves.add(new PawnEnPassantOffensiveMove(board, this, enPassantSquare, possibleEnPassantPiece));
+            }
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
+
+    @Override
+    public String toString() {
+        return PieceType.PAWN.toString();
+    }
+
+    @Override
+    public boolean isKing() {
+        return false;
+    }
+
+    @Override
+    public boolean isRook() {
+        return false;
+    }
+
+    @Override
+    public String asWord() {
+        return "pawn";
+    }
+
+    /**
+     * Returns a new Pawn which represents the Pawn after the @param move
+     *
+     * @param move
+     * @return new moved Pawn instance
+     */
+    @Override
+    public Pawn moveThisPiece(final Move move) {
+        this.isEnPassantable = move instanceof PawnJumpMove;
+        return new Pawn(move.getFinalCoordinate(), move.getMovedPiece().playingSide);
+    }
+
+    /**
+     * Used for choosing to which piece will the Pawn promote.
+     *
+     * @param pieceStr PieceType.toString()
+     * @return new instance of the Piece which user wants to promote to with the same position and PlayingSide
+     */
+    public Piece getPromotionPiece(String pieceStr) {
+        switch (pieceStr) {
+            case "N":
+                return new Knight(this.piecePosition, this.playingSide, false);
+            case "R":
+                return new Rook(this.piecePosition, this.playingSide, false);
+            case "B":
+                return new Bishop(this.piecePosition, this.playingSide, false);
+            default:
+                return new Queen(this.piecePosition, this.playingSide, false);
+        }
+    }
+}
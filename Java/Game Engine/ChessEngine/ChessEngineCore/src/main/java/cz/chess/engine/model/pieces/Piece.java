@@ -1,8 +1,12 @@
 package cz.chess.engine.model.pieces;
 
 import cz.chess.engine.model.PlayingSide;
+import com.google.common.collect.ImmutableList;
+import cz.chess.engine.model.board.BitBoard;
 import cz.chess.engine.model.board.Board;
 import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.Move.NormalMove;
+import cz.chess.engine.model.board.Move.OffensiveMove;
 import cz.chess.engine.model.board.MoveExecution;
 
 import java.util.ArrayList;
@@ -61,6 +65,30 @@ public abstract class Piece {
      */
     public abstract List<Move> getLegalMoves(final Board board);
 
+    /**
+     * Creates a NormalMove for every empty Tile and an OffensiveMove for every Tile with an enemy Piece
+     * in the @param targets bitmap, Tiles with own Pieces are skipped.
+     *
+     * @param board
+     * @param targets bitmap of Tiles the Piece attacks, usually taken from MoveTables
+     * @return List of the possible legal moves
+     */
+    protected List<Move> createMoves(final Board board, final long targets) {
+        final BitBoard bitBoard = board.getBitBoard();
+        long remaining = targets & ~bitBoard.getOccupancy(this.playingSide);
+        final List<Move> legalMoves = new ArrayList<>(BitBoard.popCount(remaining));
+        while (remaining != 0) {
+            final int destinationCoordinate = BitBoard.lowestSquare(remaining);
+            remaining &= remaining - 1;
+            if (bitBoard.isOccupied(destinationCoordinate)) {
+                legalMoves.add(new OffensiveMove(board, this, destinationCoordinate, board.getPiece(destinationCoordinate)));
+            } else {
+                legalMoves.add(new NormalMove(board, this, destinationCoordinate));
+            }
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
+
     /**
      * Returns a new Piece which represents the Piece after the @param move
      *
@@ -129,17 +157,26 @@ public abstract class Piece {
      * Enum for working with piece types and their corresponding toString for a one letter Piece representation
      */
     public enum PieceType {
-        KING("K"),
-        QUEEN("Q"),
-        ROOK("R"),
-        BISHOP("B"),
-        KNIGHT("N"),
-        PAWN("P");
+        KING("K", 0),
+        QUEEN("Q", 900),
+        ROOK("R", 500),
+        BISHOP("B", 330),
+        KNIGHT("N", 320),
+        PAWN("P", 100);
 
         private final String pieceName;
+        private final int value;
 
-        PieceType(final String pieceName) {
+        PieceType(final String pieceName, final int value) {
             this.pieceName = pieceName;
+            this.value = value;
+        }
+
+        /**
+         * @return value of the piece in centipawns, the King is worth 0 as it is never captured
+         */
+        public int getValue() {
+            return this.value;
         }
 
         @Override
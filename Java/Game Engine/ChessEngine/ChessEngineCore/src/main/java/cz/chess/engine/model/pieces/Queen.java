@@ -0,0 +1,66 @@
+package cz.chess.engine.model.pieces;
+
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.MoveTables;
+
+import java.util.List;
+
+/**
+ * Representation of the Queen chess piece
+ *
+ * @author Vojtěch Sýkora
+ */
+public class Queen extends Piece {
+
+    public Queen(int piecePosition, PlayingSide playingSide) {
+        super(piecePosition, playingSide, PieceType.QUEEN);
+    }
+
+    public Queen(int piecePosition, PlayingSide playingSide, boolean isFirstMove) {
+        super(piecePosition, playingSide, PieceType.QUEEN, isFirstMove);
+    }
+
+    /**
+     * Finds all legal moves of this Queen which can be found on the @param board
+     *
+     * @param board
+     * @return List of the possible legal moves
+     */
+    @Override
+    public List<Move> getLegalMoves(final Board board) {
+        return createMoves(board, MoveTables.queenAttacks(this.piecePosition, board.getBitBoard().getOccupancy()));
+    }
+
+    @Override
+    public String toString() {
+        return PieceType.QUEEN.toString();
+    }
+
+    @Override
+    public boolean isKing() {
+        return false;
+    }
+
+    @Override
+    public boolean isRook() {
+        return false;
+    }
+
+    @Override
+    public String asWord() {
+        return "queen";
+    }
+
+    /**
+     * Returns a new Queen which represents the Queen after the @param move
+     *
+     * @param move
+     * @return new moved Queen instance
+     */
+    @Override
+    public Queen moveThisPiece(final Move move) {
+        return new Queen(move.getFinalCoordinate(), move.getMovedPiece().playingSide);
+    }
+}
@@ -0,0 +1,70 @@
+package cz.chess.engine.model.pieces;
+
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.MoveTables;
+
+import java.util.List;
+
+/* TODO:
+ *   CASTLING
+ */
+
+/**
+ * Representation of the Rook chess piece
+ *
+ * @author Vojtěch Sýkora
+ */
+public class Rook extends Piece {
+
+    public Rook(int piecePosition, PlayingSide playingSide) {
+        super(piecePosition, playingSide, PieceType.ROOK);
+    }
+
+    public Rook(int piecePosition, PlayingSide playingSide, boolean isFirstMove) {
+        super(piecePosition, playingSide, PieceType.ROOK, isFirstMove);
+    }
+
+    /**
+     * Finds all legal moves of this Rook which can be found on the @param board
+     *
+     * @param board
+     * @return List of the possible legal moves
+     */
+    @Override
+    public List<Move> getLegalMoves(final Board board) {
+        return createMoves(board, MoveTables.rookAttacks(this.piecePosition, board.getBitBoard().getOccupancy()));
+    }
+
+    @Override
+    public String toString() {
+        return PieceType.ROOK.toString();
+    }
+
+    @Override
+    public boolean isKing() {
+        return false;
+    }
+
+    @Override
+    public boolean isRook() {
+        return true;
+    }
+
+    @Override
+    public String asWord() {
+        return "rook";
+    }
+
+    /**
+     * Returns a new Rook which represents the Rook after the @param move
+     *
+     * @param move
+     * @return new moved Rook instance
+     */
+    @Override
+    public Rook moveThisPiece(final Move move) {
+        return new Rook(move.getFinalCoordinate(), move.getMovedPiece().playingSide);
+    }
+}
@@ -20,18 +20,17 @@ import java.util.List;
  */
 public class BlackPlayer extends Player {
 
-    public BlackPlayer(final Board board, final Collection<Move> blackLegalMoves, final Collection<Move> whiteLegalMoves) {
-        super(board, blackLegalMoves, whiteLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 
     /**
      * Finds if this player can castle and if yes adds the castling moves to the returned Collection
      *
-     * @param opponentsLegalMoves Collection of moves
      * @return Collection of castling moves, if none return an empty Collection
      */
     @Override
-    protected Collection<Move> getCastlingMoves(Collection<Move> opponentsLegalMoves) {
+    protected Collection<Move> getCastlingMoves() {
 
         final List<Move> castlingMoves = new ArrayList<>();
         Tile rookTile;
@@ -51,8 +50,8 @@ public class BlackPlayer extends Player {
                 ) {
                     //The king does not pass through a square that is attacked by an enemy piece.
                     //The king does not end up in check. (True of any legal move.)
-                    if (Player.findAttacksOnTile(61, opponentsLegalMoves).isEmpty()
-                            && Player.findAttacksOnTile(62, opponentsLegalMoves).isEmpty()
+                    if (!isTileAttacked(61)
+                            && !isTileAttacked(62)
                     ) {
                         castlingMoves.add(new KingSideCastlingMove(
                                 this.board,
@@ -79,8 +78,8 @@ public class BlackPlayer extends Player {
                 ) {
                     //The king does not pass through a square that is attacked by an enemy piece.
                     //The king does not end up in check. (True of any legal move.)
-                    if (Player.findAttacksOnTile(58, opponentsLegalMoves).isEmpty()
-                            && Player.findAttacksOnTile(59, opponentsLegalMoves).isEmpty()
+                    if (!isTileAttacked(58)
+                            && !isTileAttacked(59)
                     ) {
                         castlingMoves.add(new QueenSideCastlingMove(
                                 this.board,
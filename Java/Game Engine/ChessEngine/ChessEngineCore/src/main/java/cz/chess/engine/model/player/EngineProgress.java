@@ -0,0 +1,64 @@
+package cz.chess.engine.model.player;
+
+import cz.chess.engine.model.board.PackedMove;
+import cz.chess.engine.search.SearchResult;
+
+import java.util.Arrays;
+
+/**
+ * Progress of a computer Player's search after one completed iteration:
+ * the SearchResult and the principal variation the engine expects to be played.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class EngineProgress {
+
+    private final SearchResult result;
+    private final int[] principalVariation;
+
+    public EngineProgress(final SearchResult result) {
+        this.result = result;
+        this.principalVariation = result.getPrincipalVariation();
+    }
+
+    public SearchResult getResult() {
+        return this.result;
+    }
+
+    public int getDepth() {
+        return this.result.getDepth();
+    }
+
+    public long getNodesPerSecond() {
+        return this.result.getNodesPerSecond();
+    }
+
+    /**
+     * @return moves encoded by PackedMove starting with the best move, a copy
+     */
+    public int[] getPrincipalVariation() {
+        return Arrays.copyOf(this.principalVariation, this.principalVariation.length);
+    }
+
+    /**
+     * @return the expected reply to the best move encoded by PackedMove, PackedMove.NONE if it is not known
+     */
+    public int getPonderMove() {
+        return this.principalVariation.length >= 2 ? this.principalVariation[1] : PackedMove.NONE;
+    }
+
+    /**
+     * @return the principal variation in long algebraic notation separated by spaces, e.g. "e2e4 e7e5"
+     */
+    public String getPrincipalVariationString() {
+        return this.result.getPrincipalVariationString();
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + getDepth()
+                + " score " + (this.result.isMateScore() ? "mate " + this.result.getMateDistance() : "cp " + this.result.getScore())
+                + " nps " + getNodesPerSecond()
+                + " pv " + getPrincipalVariationString();
+    }
+}
@@ -0,0 +1,213 @@
+package cz.chess.engine.model.player;
+
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.Move.MoveCreator;
+import cz.chess.engine.model.board.MoveExecution;
+import cz.chess.engine.search.SearchLimits;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Chooses the moves of computer Players on its own thread, so that the caller,
+ * usually the JavaFX application thread, keeps running while the engine thinks.
+ *
+ * Every request returns a CompletableFuture of the chosen move. Its progress callbacks and its completion
+ * are delivered through the callback Executor given to the constructor, e.g. Platform::runLater,
+ * always in this order and never after the future has been cancelled.
+ * Cancelling the future stops its search as soon as possible, requests are served one after another.
+ *
+ * After a computer move the engine can ponder: search the position after the reply it expects
+ * while the opponent is thinking. If the opponent plays that reply, the ponder search becomes the real one
+ * and keeps what it has already searched, otherwise it is thrown away.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class EngineService {
+
+    private final static Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final Executor callbackExecutor;
+    private final ExecutorService engineThread = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "engine");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /* the request being searched, read by the threads cancelling it */
+    private volatile CompletableFuture<Move> runningRequest;
+
+    /**
+     * @param callbackExecutor runs the progress callbacks and completes the futures, e.g. Platform::runLater
+     */
+    public EngineService(final Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Chooses a move of the current Player of the @param board.
+     * The Board must not be changed by the caller until the future is done.
+     *
+     * @param board position to find a move in
+     * @param limits when the search has to stop
+     * @param progress told about every completed iteration through the callback Executor, null for none
+     * @return future of the chosen move, null if there are no legal moves
+     */
+    public CompletableFuture<Move> chooseMove(final Board board,
+                                              final SearchLimits limits,
+                                              final Consumer<EngineProgress> progress) {
+        return submit(board, limits, progress, null);
+    }
+
+    /**
+     * Starts searching the position after the @param expectedMove while the opponent is thinking.
+     * The search has no limits until it is converted by Ponder.hit.
+     *
+     * @param board position after the computer move, the opponent is to move
+     * @param expectedMove reply the computer expects encoded by PackedMove, see EngineProgress.getPonderMove
+     * @param progress told about every completed iteration through the callback Executor, null for none
+     * @return the running Ponder, null if the @param expectedMove is not legal
+     */
+    public Ponder ponder(final Board board, final int expectedMove, final Consumer<EngineProgress> progress) {
+        final Move move = MoveCreator.createMove(board, expectedMove);
+        if (move == MoveCreator.getInvalidMove()) {
+            return null;
+        }
+        final MoveExecution moveExecution = board.getCurrentPlayer().makeMove(move);
+        if (!moveExecution.getMoveState().isFinished()) {
+            return null;
+        }
+        final Ponder ponder = new Ponder(expectedMove);
+        ponder.request = submit(moveExecution.getAfterBoard(), SearchLimits.infinite(), progress, ponder);
+        return ponder;
+    }
+
+    private CompletableFuture<Move> submit(final Board board,
+                                           final SearchLimits limits,
+                                           final Consumer<EngineProgress> progress,
+                                           final Ponder ponder) {
+        final CompletableFuture<Move> request = new CompletableFuture<>();
+        this.engineThread.execute(() -> search(request, board, limits, progress, ponder));
+        request.whenComplete((move, throwable) -> {
+            if (request.isCancelled() && this.runningRequest == request) {
+                Player.stopSearch();
+            }
+        });
+        return request;
+    }
+
+    /**
+     * Stops the engine thread, requests which have not finished yet are never completed.
+     */
+    public void shutdown() {
+        final CompletableFuture<Move> request = this.runningRequest;
+        if (request != null) {
+            request.cancel(false);
+        }
+        this.engineThread.shutdownNow();
+    }
+
+    private void search(final CompletableFuture<Move> request,
+                        final Board board,
+                        final SearchLimits limits,
+                        final Consumer<EngineProgress> progress,
+                        final Ponder ponder) {
+        if (request.isDone()) { // cancelled while waiting for the previous request
+            return;
+        }
+        this.runningRequest = request;
+        try {
+            final Move move = board.getCurrentPlayer().chooseAMove(limits, iteration -> {
+                if (request.isDone()) { // cancelled before the search cleared its stop flag
+                    Player.stopSearch();
+                    return;
+                }
+                if (ponder != null && ponder.deadline != 0) { // hit before the search set its own limits
+                    Player.setSearchTimeLimit((ponder.deadline - System.nanoTime()) / 1_000_000);
+                }
+                if (progress != null) {
+                    this.callbackExecutor.execute(() -> {
+                        if (!request.isDone()) {
+                            progress.accept(iteration);
+                        }
+                    });
+                }
+            });
+            this.callbackExecutor.execute(() -> request.complete(move));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Engine failed to choose a move", e);
+            this.callbackExecutor.execute(() -> request.completeExceptionally(e));
+        } finally {
+            this.runningRequest = null;
+        }
+    }
+
+    /**
+     * Search of the position after the reply the computer expects, started by EngineService.ponder.
+     * Its methods are called by the thread which asked for it, usually the JavaFX application thread.
+     */
+    public final class Ponder {
+
+        private final int expectedMove;
+        private CompletableFuture<Move> request;
+        /* System.nanoTime() when the search has to stop after a hit, 0 while pondering */
+        private volatile long deadline;
+
+        private Ponder(final int expectedMove) {
+            this.expectedMove = expectedMove;
+        }
+
+        /**
+         * @return the reply the computer expects encoded by PackedMove
+         */
+        public int getExpectedMove() {
+            return this.expectedMove;
+        }
+
+        /**
+         * @param move the reply the opponent played
+         * @return true if it is the expected one, so hit can be called
+         */
+        public boolean isHit(final Move move) {
+            return move.toPackedMove() == this.expectedMove;
+        }
+
+        /**
+         * Turns the ponder search into the real one, its time limit starts now.
+         * If the ponder search has already finished, e.g. because it found a mate, its move is used.
+         *
+         * @param board position after the expected move, as played by the opponent
+         * @param timeMillis how long the search may still run from now on
+         * @return future of the chosen move of the @param board, completed through the callback Executor,
+         * cancelling it stops the ponder search
+         */
+        public CompletableFuture<Move> hit(final Board board, final long timeMillis) {
+            this.deadline = System.nanoTime() + timeMillis * 1_000_000;
+            if (runningRequest == this.request) {
+                Player.setSearchTimeLimit(timeMillis);
+            }
+            final CompletableFuture<Move> request = this.request;
+            final CompletableFuture<Move> chosenMove = request.thenApply(move ->
+                    move == null ? null : MoveCreator.createMove(board, move.toPackedMove()));
+            chosenMove.whenComplete((move, throwable) -> {
+                if (chosenMove.isCancelled()) {
+                    request.cancel(false);
+                }
+            });
+            return chosenMove;
+        }
+
+        /**
+         * The opponent played another move or the game is over, the ponder search is stopped and forgotten.
+         */
+        public void miss() {
+            this.request.cancel(false);
+        }
+    }
+}
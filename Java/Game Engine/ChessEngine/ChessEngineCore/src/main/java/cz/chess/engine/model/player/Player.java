@@ -0,0 +1,380 @@
+package cz.chess.engine.model.player;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.board.*;
+import cz.chess.engine.model.pieces.King;
+import cz.chess.engine.model.pieces.Piece;
+import cz.chess.engine.search.LazySmpSearch;
+import cz.chess.engine.search.SearchLimits;
+import cz.chess.engine.search.SearchResult;
+import cz.chess.engine.search.TranspositionTable;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import static cz.chess.engine.model.board.Move.*;
+
+/**
+ * Base class for both black and white players
+ *
+ * @author Vojtěch Sýkora
+ */
+public abstract class Player {
+
+    private final static Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    /* thinking time of a computer move when the caller does not give its own limits */
+    private static final SearchLimits COMPUTER_SEARCH_LIMITS = SearchLimits.timeMillis(1000);
+    /* guards the search of computer players and its settings, held for the whole search */
+    private static final Object SEARCH_LOCK = new Object();
+    /* shared by all computer moves, so positions searched for the previous move are not searched again,
+       both are created by the first computer move, so Boards used without a computer player allocate no search */
+    private static TranspositionTable transpositionTable;
+    private static volatile LazySmpSearch search;
+    private static int transpositionTableSizeMb = TranspositionTable.DEFAULT_SIZE_MB;
+    /* searches with every core of the machine unless setSearchThreads says otherwise */
+    private static int searchThreads = Runtime.getRuntime().availableProcessors();
+
+    protected final Board board;
+    protected final King theKing;
+    private Collection<Move> pieceMoves;
+    private Collection<Move> legalMoves;
+    protected boolean hasCastled, canCastleKingSide, canCastleQueenSide;
+
+    /**
+     * Legal moves are not calculated here, they are calculated the first time they are needed
+     * and then remembered for this Board.
+     *
+     * @param board
+     */
+    public Player(Board board) {
+        this(board, false);
+    }
+
+    public Player(Board board, boolean hasCastled) {
+        this.board = board;
+        this.theKing = checkForKing(board);
+        this.hasCastled = hasCastled;
+        this.canCastleKingSide = theKing.canCastleKingSide();
+        this.canCastleQueenSide = theKing.canCastleQueenSide();
+    }
+
+    /**
+     * Finds if this player can castle and if yes adds the castling moves to the returned Collection
+     *
+     * @return Collection of castling moves, if none return an empty Collection
+     */
+    protected abstract Collection<Move> getCastlingMoves();
+
+    /**
+     * @return Collection of live pieces of the player's PlayingSide
+     */
+    public abstract Collection<Piece> getLivePieces();
+    public abstract PlayingSide getPlayingSide();
+    public abstract Player getOpponent();
+
+    /**
+     * Check if the @param board includes a King of this players PlayingSide.
+     * Chess cannot be played without a King.
+     * The King is found by its bitboard, so no other Piece views are created.
+     *
+     * @param board
+     * @return King if there is one alive with the same PlayingSide, else RuntimeException
+     */
+    private King checkForKing(final Board board) {
+        final int side = getPlayingSide().isWhite() ? Position.WHITE : Position.BLACK;
+        final int kingSquare = board.getBitBoard().getKingSquare(side);
+        if (kingSquare < 0) {
+            throw new RuntimeException("A game without a King cannot be played!");
+        }
+        return (King) board.getPiece(kingSquare);
+    }
+
+    public boolean canCastleKingSide() {
+        return canCastleKingSide;
+    }
+
+    public boolean canCastleQueenSide() {
+        return canCastleQueenSide;
+    }
+
+    /**
+     * Returns the legal moves of this Player including castling moves.
+     * They are calculated on the first call and remembered afterwards.
+     *
+     * @return Collection of legal moves
+     */
+    public Collection<Move> getLegalMoves() {
+        if (this.legalMoves == null) {
+            this.legalMoves = ImmutableList.copyOf(Iterables.concat(getPieceMoves(), getCastlingMoves()));
+        }
+        return this.legalMoves;
+    }
+
+    /**
+     * @return moves of all live pieces of this Player without castling moves
+     */
+    protected Collection<Move> getPieceMoves() {
+        if (this.pieceMoves == null) {
+            this.pieceMoves = this.board.calculateAllLegalMoves(getLivePieces());
+        }
+        return this.pieceMoves;
+    }
+
+    /**
+     * Opponent's moves are only calculated when they are explicitly requested.
+     *
+     * @return moves of all live pieces of the opponent without castling moves
+     */
+    public Collection<Move> getOpponentsLegalMoves() {
+        return getOpponent().getPieceMoves();
+    }
+
+    /**
+     * Forgets the remembered legal moves, they are calculated again when they are needed.
+     * Used when the board layout is changed.
+     */
+    public void resetLegalMoves() {
+        this.pieceMoves = null;
+        this.legalMoves = null;
+    }
+
+    /**
+     * Checks if the @param move is a legal move for this Player
+     *
+     * @param move 
+     * @return true if the move is legal, else false
+     */
+    public boolean isLegalMove(final Move move) {
+        return getLegalMoves().contains(move);
+    }
+
+    /**
+     * Checks if this Player's King is in check
+     * 
+     * @return true if the King is in check, else false
+     */
+    public boolean isInCheck() {
+        return this.board.isSquareAttacked(this.theKing.getPiecePosition(), getOpponent().getPlayingSide());
+    }
+
+    /**
+     * Checks if this Player's King is in checkmate
+     *
+     * @return true if the King is in checkmate, else false
+     */
+    public boolean isInCheckMate() {
+        //TODO and another piece cannot save it
+        return isInCheck() && !hasEscapeMoves();
+    }
+
+    /**
+     * Checks if this Player's King is in stalemate
+     *
+     * @return true if the King is in stalemate, else false
+     */
+    public boolean isInStaleMate() {
+        return !isInCheck() && getLegalMoves().isEmpty();
+    }
+
+    /**
+     * Checks if this Player can escape from a check.
+     *
+     * @return true if this Player can escape, else false
+     */
+    protected boolean hasEscapeMoves() {
+        for (final Move move : getLegalMoves()) {
+            final MoveExecution moveExecution = makeMove(move);
+            if (moveExecution.getMoveState().isFinished()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the opponent attacks the Tile at index @param position.
+     *
+     * @param position
+     * @return true if the Tile is attacked, else false
+     */
+    protected boolean isTileAttacked(final int position) {
+        return this.board.isSquareAttacked(position, getOpponent().getPlayingSide());
+    }
+
+    public boolean hasCastled() {
+        return hasCastled;
+    }
+
+    /**
+     * Creates an instance of MoveExecution representing the execution of the @param move.
+     *
+     * @param move
+     * @return MoveExecution representing the @param move
+     */
+    public MoveExecution makeMove(final Move move) {
+
+        if (!isLegalMove(move)) {
+            return new MoveExecution(this.board, this.board, move, MoveState.ILLEGAL);
+        }
+
+        final Board afterBoard = move.execute();
+        if (afterBoard.getCurrentPlayer().getOpponent().isInCheck()) {
+            return new MoveExecution(this.board, afterBoard, move, MoveState.OPPONENT_IN_CHECK);
+        }
+
+        if (move instanceof KingSideCastlingMove || move instanceof QueenSideCastlingMove) {
+            LOGGER.fine("Castling move");
+            afterBoard.getCurrentPlayer().hasCastled = true;
+        }
+
+        afterBoard.getCurrentPlayer().canCastleKingSide= false;
+        afterBoard.getCurrentPlayer().canCastleQueenSide = false;
+        return new MoveExecution(this.board, afterBoard, move, MoveState.FINISHED);
+    }
+
+    /**
+     * If the Player is a computer, this method chooses a move by searching the game tree.
+     *
+     * @return chosen move
+     */
+    public Move chooseAMove() {
+        return chooseAMove(COMPUTER_SEARCH_LIMITS);
+    }
+
+    /**
+     * Chooses a move with a Search bounded by the @param limits.
+     * If the search does not find a move, the move is chosen by a simple heuristic.
+     *
+     * @param limits when the search has to stop
+     * @return chosen move, null if there are no legal moves
+     */
+    public Move chooseAMove(final SearchLimits limits) {
+        return chooseAMove(limits, null);
+    }
+
+    /**
+     * Chooses a move with a Search bounded by the @param limits and reports its progress.
+     * The @param progress is called on the searching thread after every completed iteration,
+     * so it has to return quickly.
+     *
+     * @param limits when the search has to stop
+     * @param progress told about every completed iteration, null for none
+     * @return chosen move, null if there are no legal moves
+     */
+    public Move chooseAMove(final SearchLimits limits, final Consumer<EngineProgress> progress) {
+        final Collection<Move> legalMoves = getLegalMoves();
+        if (legalMoves.isEmpty()) {
+            LOGGER.warning("Calling choseAMove on an empty Collection legalMoves");
+            return null;
+        }
+
+        final Position position = this.board.toPosition();
+        position.setSideToMove(getPlayingSide());
+        final SearchResult result;
+        synchronized (SEARCH_LOCK) {
+            final LazySmpSearch search = getSearch();
+            search.setListener(progress == null ? null : iteration -> progress.accept(new EngineProgress(iteration)));
+            try {
+                result = search.search(position, limits);
+            } finally {
+                search.setListener(null);
+            }
+        }
+        LOGGER.info("Search " + result);
+        final Move choice = MoveCreator.createMove(this.board, result.getBestMove());
+        if (choice.getMovedPiece() != null && choice.getMovedPiece().getPlayingSide() == getPlayingSide()) {
+            return choice;
+        }
+        return chooseAHeuristicMove(legalMoves);
+    }
+
+    /**
+     * Asks the running search of a computer Player to finish as soon as possible,
+     * its chooseAMove returns the best move found so far. Can be called from any thread.
+     */
+    public static void stopSearch() {
+        final LazySmpSearch search = Player.search;
+        if (search != null) {
+            search.stop();
+        }
+    }
+
+    /**
+     * Replaces the time limit of the running search of a computer Player, e.g. when a ponder search
+     * becomes the real one. Can be called from any thread.
+     *
+     * @param timeMillis how long the search may still run from now on
+     */
+    public static void setSearchTimeLimit(final long timeMillis) {
+        final LazySmpSearch search = Player.search;
+        if (search != null) {
+            search.setTimeLimit(timeMillis);
+        }
+    }
+
+    /**
+     * Sets the size of the transposition table used by computer players, its content is lost.
+     *
+     * @param sizeMb size in megabytes
+     */
+    public static void setTranspositionTableSize(final int sizeMb) {
+        synchronized (SEARCH_LOCK) {
+            transpositionTableSizeMb = sizeMb;
+            if (transpositionTable != null) {
+                transpositionTable.resize(sizeMb);
+            }
+        }
+    }
+
+    /**
+     * Sets how many threads computer players search with.
+     *
+     * @param threads number of threads, at least 1
+     */
+    public static void setSearchThreads(final int threads) {
+        synchronized (SEARCH_LOCK) {
+            searchThreads = threads;
+            if (search != null) {
+                search.setThreads(threads);
+            }
+        }
+    }
+
+    /**
+     * Must be called holding the SEARCH_LOCK.
+     *
+     * @return the search of computer players, created with the current settings on the first call
+     */
+    private static LazySmpSearch getSearch() {
+        if (search == null) {
+            transpositionTable = new TranspositionTable(transpositionTableSizeMb);
+            search = new LazySmpSearch(transpositionTable, searchThreads);
+        }
+        return search;
+    }
+
+    /**
+     * Picks a promotion, castling or offensive move in this order, otherwise the first legal move.
+     *
+     * @param legalMoves
+     * @return chosen move
+     */
+    private static Move chooseAHeuristicMove(final Collection<Move> legalMoves) {
+        Move choice = Utils.getPromotionMove(legalMoves);
+        if (choice == null) {
+            choice = Utils.getCastlingMove(legalMoves);
+        }
+        if (choice == null) {
+            choice = Utils.getOffensiveMove(legalMoves);
+        }
+        if (choice == null) {
+            choice = (Move) legalMoves.toArray()[0];
+        }
+        return choice;
+    }
+
+}
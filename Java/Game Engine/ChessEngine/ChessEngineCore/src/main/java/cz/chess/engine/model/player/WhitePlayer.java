@@ -20,18 +20,17 @@ import java.util.List;
  */
 public class WhitePlayer extends Player {
 
-    public WhitePlayer(final Board board, final Collection<Move> whiteLegalMoves, final Collection<Move> blackLegalMoves) {
-        super(board, whiteLegalMoves, blackLegalMoves);
+    public WhitePlayer(final Board board) {
+        super(board);
     }
 
     /**
      * Finds if this player can castle and if yes adds the castling moves to the returned Collection
      *
-     * @param opponentsLegalMoves Collection of moves
      * @return Collection of castling moves, if none return an empty Collection
      */
     @Override
-    protected Collection<Move> getCastlingMoves(Collection<Move> opponentsLegalMoves) {
+    protected Collection<Move> getCastlingMoves() {
 
         final List<Move> castlingMoves = new ArrayList<>();
         Tile rookTile;
@@ -52,8 +51,8 @@ public class WhitePlayer extends Player {
                 ) {
                     //The king does not pass through a square that is attacked by an enemy piece.
                     //The king does not end up in check. (True of any legal move.)
-                    if (Player.findAttacksOnTile(5, opponentsLegalMoves).isEmpty()
-                        && Player.findAttacksOnTile(6, opponentsLegalMoves).isEmpty()
+                    if (!isTileAttacked(5)
+                        && !isTileAttacked(6)
                     ) {
                         castlingMoves.add(new KingSideCastlingMove(
                                 this.board,
@@ -80,8 +79,8 @@ public class WhitePlayer extends Player {
                 ) {
                     //The king does not pass through a square that is attacked by an enemy piece.
                     //The king does not end up in check. (True of any legal move.)
-                    if (Player.findAttacksOnTile(2, opponentsLegalMoves).isEmpty()
-                        && Player.findAttacksOnTile(3, opponentsLegalMoves).isEmpty()
+                    if (!isTileAttacked(2)
+                        && !isTileAttacked(3)
                     ) {
                         castlingMoves.add(new QueenSideCastlingMove(
                                 this.board,
@@ -0,0 +1,182 @@
+package cz.chess.engine.search;
+
+import cz.chess.engine.model.board.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Parallel search of one position by several threads (Lazy SMP).
+ * The calling thread runs the main Search, helper threads search copies of the same position
+ * at staggered depths at the same time. The threads do not talk to each other,
+ * they only share the lock-free TranspositionTable, so the main Search finds
+ * the positions the helpers have already searched and reaches its depth sooner.
+ * The result is always the one of the main Search, the helpers are stopped when it is done.
+ *
+ * One instance can be reused for many searches, but only by one thread at a time.
+ * stop() and setTimeLimit() can be called from any thread.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class LazySmpSearch {
+
+    private final static Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private final TranspositionTable transpositionTable;
+    private final AtomicBoolean helpersStopped = new AtomicBoolean();
+    private final Search mainSearch;
+
+    private Search[] helpers = new Search[0];
+    private ExecutorService executor;
+    private SearchOptions options = SearchOptions.defaults();
+
+    /**
+     * @param transpositionTable table shared by all threads, it is kept between searches
+     * @param threads number of threads including the calling one
+     */
+    public LazySmpSearch(final TranspositionTable transpositionTable, final int threads) {
+        this.transpositionTable = transpositionTable;
+        this.mainSearch = new Search(transpositionTable);
+        setThreads(threads);
+    }
+
+    /**
+     * Changes the number of threads, must not be called while searching.
+     *
+     * @param threads number of threads including the calling one, at least 1
+     */
+    public void setThreads(final int threads) {
+        shutdown();
+        final int helperCount = Math.max(1, threads) - 1;
+        this.helpers = new Search[helperCount];
+        for (int i = 0; i < helperCount; i++) {
+            this.helpers[i] = new Search(this.transpositionTable, i + 1, this.helpersStopped);
+            this.helpers[i].setOptions(this.options);
+        }
+        if (helperCount > 0) {
+            this.executor = Executors.newFixedThreadPool(helperCount, runnable -> {
+                final Thread thread = new Thread(runnable, "search-helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public int getThreads() {
+        return this.helpers.length + 1;
+    }
+
+    /**
+     * Changes the selective parts of the search of all threads, must not be called while searching.
+     */
+    public void setOptions(final SearchOptions options) {
+        this.options = options;
+        this.mainSearch.setOptions(options);
+        for (final Search helper : this.helpers) {
+            helper.setOptions(options);
+        }
+    }
+
+    public SearchOptions getOptions() {
+        return this.options;
+    }
+
+    /**
+     * Searches the @param position with all threads until one of the @param limits is reached.
+     * The Position is used in place by the main Search and is left unchanged when the search returns.
+     *
+     * @param position position to search, its side to move is the one looking for a move
+     * @param limits when to stop
+     * @return result of the main Search with the nodes of all threads
+     */
+    public SearchResult search(final Position position, final SearchLimits limits) {
+        final long startTime = System.nanoTime();
+        this.helpersStopped.set(false);
+        final List<Future<SearchResult>> futures = new ArrayList<>();
+        for (final Search helper : this.helpers) {
+            helper.resetNodes();
+            final Position helperPosition = new Position(position);
+            futures.add(this.executor.submit(() -> helper.search(helperPosition, limits)));
+        }
+
+        final SearchResult result;
+        try {
+            result = this.mainSearch.search(position, limits);
+        } finally {
+            this.helpersStopped.set(true);
+            for (final Future<SearchResult> future : futures) {
+                waitFor(future);
+            }
+        }
+
+        final long nodes = this.mainSearch.getNodes() + helperNodes();
+        return new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(), nodes, System.nanoTime() - startTime,
+                result.getPrincipalVariation());
+    }
+
+    /**
+     * @param listener told about every iteration of the main Search, with the nodes of all threads; null for none
+     */
+    public void setListener(final SearchListener listener) {
+        this.mainSearch.setListener(listener == null ? null : result -> listener.iterationFinished(
+                new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(),
+                        result.getNodes() + helperNodes(), result.getTimeNanos(), result.getPrincipalVariation())));
+    }
+
+    /**
+     * Replaces the time limit of a running search, the helpers follow the main Search.
+     *
+     * @param timeMillis how long the search may still run from now on
+     */
+    public void setTimeLimit(final long timeMillis) {
+        this.mainSearch.setTimeLimit(timeMillis);
+    }
+
+    /**
+     * Asks a running search to finish as soon as possible, the helpers follow the main Search.
+     */
+    public void stop() {
+        this.mainSearch.stop();
+    }
+
+    /**
+     * Stops the helper threads, the instance can be used again after setThreads.
+     */
+    public void shutdown() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+        this.helpers = new Search[0];
+    }
+
+    /**
+     * While the helpers are running their counts are only approximate, which is enough for progress reports.
+     *
+     * @return nodes searched by all helpers
+     */
+    private long helperNodes() {
+        long nodes = 0;
+        for (final Search helper : this.helpers) {
+            nodes += helper.getNodes();
+        }
+        return nodes;
+    }
+
+    private static void waitFor(final Future<SearchResult> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.SEVERE, "Search helper failed", e.getCause());
+        }
+    }
+}
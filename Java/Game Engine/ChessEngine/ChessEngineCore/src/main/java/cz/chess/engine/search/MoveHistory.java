@@ -0,0 +1,97 @@
+package cz.chess.engine.search;
+
+import cz.chess.engine.model.board.PackedMove;
+
+import java.util.Arrays;
+
+/**
+ * What the Search has learned about quiet moves, used by the MovePicker to order them.
+ * Killer moves are the last two quiet moves which caused a beta cutoff at a ply,
+ * they often refute the sibling positions too. The history table scores every quiet move
+ * by its from and to Tiles: it rises when the move causes a cutoff and falls when another move does.
+ *
+ * Every Search thread has its own instance.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class MoveHistory {
+
+    /* history scores stay within -MAX_HISTORY and MAX_HISTORY */
+    static final int MAX_HISTORY = 16384;
+
+    private static final int KILLER_SLOTS = 2;
+
+    private final int[][] killers = new int[Search.MAX_PLY + 1][KILLER_SLOTS];
+    /* indexed by side, from Tile and to Tile */
+    private final int[] history = new int[2 * 64 * 64];
+
+    /**
+     * Forgets the killers, which belong to the plies of the previous search,
+     * and halves the history scores so that the new search can change them faster.
+     */
+    public void newSearch() {
+        for (final int[] killer : this.killers) {
+            Arrays.fill(killer, PackedMove.NONE);
+        }
+        for (int i = 0; i < this.history.length; i++) {
+            this.history[i] /= 2;
+        }
+    }
+
+    /**
+     * @param ply distance from the root
+     * @param slot 0 for the newer killer, 1 for the older one
+     * @return killer move encoded by PackedMove, PackedMove.NONE if the slot is empty
+     */
+    public int getKiller(final int ply, final int slot) {
+        return this.killers[ply][slot];
+    }
+
+    /**
+     * @param side 0 for WHITE, 1 for BLACK
+     * @param move encoded by PackedMove
+     * @return history score of the quiet @param move
+     */
+    public int getHistory(final int side, final int move) {
+        return this.history[index(side, move)];
+    }
+
+    /**
+     * Called when the quiet @param move caused a beta cutoff.
+     *
+     * @param side side which played the move
+     * @param ply distance from the root
+     * @param move encoded by PackedMove
+     * @param depth remaining depth of the node, deeper cutoffs count more
+     * @param triedQuiets quiet moves searched before the @param move without a cutoff
+     * @param triedCount number of the moves in @param triedQuiets
+     */
+    public void updateCutoff(final int side,
+                             final int ply,
+                             final int move,
+                             final int depth,
+                             final int[] triedQuiets,
+                             final int triedCount) {
+        final int[] killer = this.killers[ply];
+        if (killer[0] != move) {
+            killer[1] = killer[0];
+            killer[0] = move;
+        }
+        final int bonus = Math.min(depth * depth, MAX_HISTORY / 16);
+        addHistory(index(side, move), bonus);
+        for (int i = 0; i < triedCount; i++) {
+            addHistory(index(side, triedQuiets[i]), -bonus);
+        }
+    }
+
+    /**
+     * The closer the score is to the limit, the less it changes, so it never leaves the bounds.
+     */
+    private void addHistory(final int index, final int bonus) {
+        this.history[index] += bonus - this.history[index] * Math.abs(bonus) / MAX_HISTORY;
+    }
+
+    private static int index(final int side, final int move) {
+        return (side << 12) | (PackedMove.getFrom(move) << 6) | PackedMove.getTo(move);
+    }
+}
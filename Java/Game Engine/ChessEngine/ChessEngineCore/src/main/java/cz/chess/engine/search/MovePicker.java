@@ -0,0 +1,215 @@
+package cz.chess.engine.search;
+
+import cz.chess.engine.eval.Evaluation;
+import cz.chess.engine.model.board.MoveGenerator;
+import cz.chess.engine.model.board.MoveList;
+import cz.chess.engine.model.board.PackedMove;
+import cz.chess.engine.model.board.Position;
+
+/**
+ * Serves the pseudo-legal moves of one node of the Search in the order they are most likely to cause a cutoff.
+ * The moves are generated in stages only when the previous stage is used up:
+ * the hash move, captures and Queen promotions by MVV-LVA (most valuable victim, least valuable attacker),
+ * the killer moves, the quiet moves by their history score and finally the captures
+ * which lose material according to the StaticExchange.
+ * A node which is cut off by the hash move or a capture never generates its quiet moves.
+ * The quiescence search does not get the losing captures at all.
+ *
+ * One instance is reused by every node at the same ply.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class MovePicker {
+
+    private static final int HASH = 0;
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int CAPTURES = 2;
+    private static final int FIRST_KILLER = 3;
+    private static final int SECOND_KILLER = 4;
+    private static final int GENERATE_QUIETS = 5;
+    private static final int QUIETS = 6;
+    private static final int BAD_CAPTURES = 7;
+    private static final int DONE = 8;
+
+    private final MoveHistory moveHistory;
+    private final MoveList captures = new MoveList();
+    private final MoveList quiets = new MoveList();
+    private final MoveList badCaptures = new MoveList();
+    private int[] captureScores = new int[64];
+    private int[] quietScores = new int[256];
+
+    private Position position;
+    private int hashMove;
+    private int firstKiller;
+    private int secondKiller;
+    private boolean capturesOnly;
+    private int stage;
+    private int index;
+
+    /**
+     * @param moveHistory killers and history scores of the Search using this picker
+     */
+    public MovePicker(final MoveHistory moveHistory) {
+        this.moveHistory = moveHistory;
+    }
+
+    /**
+     * Prepares the picker for a node of the main search.
+     *
+     * @param position position of the node
+     * @param hashMove best move stored in the TranspositionTable, it is checked before it is served
+     * @param ply distance from the root, selects the killer moves
+     */
+    public void init(final Position position, final int hashMove, final int ply) {
+        this.position = position;
+        this.hashMove = MoveGenerator.isPseudoLegal(position, hashMove) ? hashMove : PackedMove.NONE;
+        this.firstKiller = this.moveHistory.getKiller(ply, 0);
+        this.secondKiller = this.moveHistory.getKiller(ply, 1);
+        this.capturesOnly = false;
+        this.stage = HASH;
+    }
+
+    /**
+     * Prepares the picker for a node of the quiescence search, only captures and Queen promotions are served.
+     *
+     * @param position position of the node
+     */
+    public void initQuiescence(final Position position) {
+        this.position = position;
+        this.hashMove = PackedMove.NONE;
+        this.capturesOnly = true;
+        this.stage = GENERATE_CAPTURES;
+    }
+
+    /**
+     * @return next pseudo-legal move encoded by PackedMove, PackedMove.NONE when there are no more moves
+     */
+    public int next() {
+        while (true) {
+            switch (this.stage) {
+                case HASH:
+                    this.stage = GENERATE_CAPTURES;
+                    if (this.hashMove != PackedMove.NONE) {
+                        return this.hashMove;
+                    }
+                    break;
+                case GENERATE_CAPTURES:
+                    MoveGenerator.generateCaptures(this.position, this.captures);
+                    this.captureScores = scoreCaptures(this.captures, this.captureScores);
+                    this.badCaptures.clear();
+                    this.index = 0;
+                    this.stage = CAPTURES;
+                    break;
+                case CAPTURES:
+                    while (this.index < this.captures.size()) {
+                        final int move = pickBest(this.captures, this.captureScores, this.index++);
+                        if (move == this.hashMove) {
+                            continue;
+                        }
+                        if (StaticExchange.isWinningOrEqual(this.position, move)) {
+                            return move;
+                        }
+                        this.badCaptures.add(move);
+                    }
+                    this.stage = this.capturesOnly ? DONE : FIRST_KILLER;
+                    break;
+                case FIRST_KILLER:
+                    this.stage = SECOND_KILLER;
+                    if (isUsableKiller(this.firstKiller)) {
+                        return this.firstKiller;
+                    }
+                    break;
+                case SECOND_KILLER:
+                    this.stage = GENERATE_QUIETS;
+                    if (isUsableKiller(this.secondKiller)) {
+                        return this.secondKiller;
+                    }
+                    break;
+                case GENERATE_QUIETS:
+                    MoveGenerator.generateQuiets(this.position, this.quiets);
+                    this.quietScores = scoreQuiets(this.quiets, this.quietScores);
+                    this.index = 0;
+                    this.stage = QUIETS;
+                    break;
+                case QUIETS:
+                    while (this.index < this.quiets.size()) {
+                        final int move = pickBest(this.quiets, this.quietScores, this.index++);
+                        if (move != this.hashMove && move != this.firstKiller && move != this.secondKiller) {
+                            return move;
+                        }
+                    }
+                    this.index = 0;
+                    this.stage = BAD_CAPTURES;
+                    break;
+                case BAD_CAPTURES:
+                    if (this.index < this.badCaptures.size()) {
+                        return this.badCaptures.get(this.index++);
+                    }
+                    this.stage = DONE;
+                    break;
+                default:
+                    return PackedMove.NONE;
+            }
+        }
+    }
+
+    /**
+     * @return MVV-LVA score of a capture or a promotion, higher is better
+     */
+    public static int mvvLva(final int move) {
+        int score = 10 * Evaluation.pieceValue(PackedMove.getCapturedPiece(move))
+                - Evaluation.pieceValue(PackedMove.getMovedPiece(move));
+        if (PackedMove.isPromotion(move)) {
+            score += 10 * Evaluation.typeValue(PackedMove.getPromotionType(move));
+        }
+        return score;
+    }
+
+    private boolean isUsableKiller(final int killer) {
+        return killer != PackedMove.NONE
+                && killer != this.hashMove
+                && !PackedMove.isCapture(killer)
+                && MoveGenerator.isPseudoLegal(this.position, killer);
+    }
+
+    private static int[] scoreCaptures(final MoveList moves, int[] scores) {
+        if (scores.length < moves.size()) {
+            scores = new int[moves.size() * 2];
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            scores[i] = mvvLva(moves.get(i));
+        }
+        return scores;
+    }
+
+    private int[] scoreQuiets(final MoveList moves, int[] scores) {
+        if (scores.length < moves.size()) {
+            scores = new int[moves.size() * 2];
+        }
+        final int side = this.position.getSideToMove();
+        for (int i = 0; i < moves.size(); i++) {
+            scores[i] = this.moveHistory.getHistory(side, moves.get(i));
+        }
+        return scores;
+    }
+
+    /**
+     * Selection sort step: moves the best scored move from @param index onwards to @param index.
+     * Only the moves which are really served get sorted.
+     */
+    static int pickBest(final MoveList moves, final int[] scores, final int index) {
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        if (best != index) {
+            moves.swap(index, best);
+            final int score = scores[index];
+            scores[index] = scores[best];
+            scores[best] = score;
+        }
+        return moves.get(index);
+    }
+}
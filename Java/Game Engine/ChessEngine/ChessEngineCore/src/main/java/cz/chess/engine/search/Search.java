@@ -0,0 +1,623 @@
+package cz.chess.engine.search;
+
+import cz.chess.engine.eval.Evaluation;
+import cz.chess.engine.eval.PawnHashTable;
+import cz.chess.engine.model.board.MoveGenerator;
+import cz.chess.engine.model.board.MoveList;
+import cz.chess.engine.model.board.PackedMove;
+import cz.chess.engine.model.board.Position;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Iterative deepening negamax alpha-beta search over a mutable Position.
+ * Every iteration searches the first move with the full window and the remaining moves
+ * with a null window first (principal variation search), leaves are resolved by
+ * a quiescence search over captures so that the evaluation is not taken in the middle of an exchange.
+ * From the fourth iteration on the root is searched with a narrow aspiration window around the previous score,
+ * which is widened only when the score falls outside of it. The principal variation is collected
+ * in a triangular table, reported with the result and followed first by the next iteration.
+ * Null move pruning, late move reductions and (reverse) futility pruning make the search selective,
+ * each of them can be switched off by SearchOptions.
+ * A position repeating inside the searched tree or for the third time in the game and positions
+ * after the fifty-move rule are scored as draws, the Position keeps the keys of the game before the root.
+ * Results are cached in a TranspositionTable which can outlive the Search and be shared with other searches.
+ *
+ * One instance can be reused for many searches, but only by one thread at a time.
+ * stop() and setTimeLimit() can be called from any thread.
+ * Several instances can search the same position at once as helpers of a LazySmpSearch.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class Search {
+
+    private final static Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    public static final int MAX_PLY = 128;
+    public static final int MATE = 32000;
+    public static final int MATE_BOUND = MATE - MAX_PLY;
+    public static final int INFINITY = MATE + 1;
+    public static final int DRAW = 0;
+
+    /* how often the clock and the node limit are checked, must be 2^n - 1 */
+    private static final int CHECK_INTERVAL = 1023;
+
+    private static final int CAPTURE_SCORE = 1_000_000;
+    private static final int BEST_MOVE_SCORE = 2_000_000;
+
+    /* helper threads skip some iterations so that they do not all search the same depth, indexed by helper */
+    private static final int[] SKIP_SIZE = {1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4};
+    private static final int[] SKIP_PHASE = {0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7};
+
+    /* aspiration windows are used from this depth on, starting this wide on each side of the previous score */
+    private static final int ASPIRATION_MIN_DEPTH = 4;
+    private static final int ASPIRATION_WINDOW = 60;
+
+    /* how many quiet moves of a node get their history lowered after a cutoff */
+    private static final int MAX_TRIED_QUIETS = 64;
+
+    /* null move pruning is tried from this depth on, the null move is searched this much shallower */
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_REDUCTION = 3;
+    /* late move reductions start with the move of this rank from this depth on */
+    private static final int LMR_MIN_RANK = 3;
+    private static final int LMR_MIN_DEPTH = 3;
+    /* reduction by depth and rank of the move, it grows with the logarithm of both */
+    private static final int[][] LMR_REDUCTIONS = createLmrReductions();
+    /* futility pruning margins by depth, quiet moves cannot raise the evaluation by more */
+    private static final int[] FUTILITY_MARGINS = {0, 150, 300};
+    /* reverse futility pruning works up to this depth with this margin per depth */
+    private static final int REVERSE_FUTILITY_MAX_DEPTH = 4;
+    private static final int REVERSE_FUTILITY_MARGIN = 120;
+
+    private final TranspositionTable transpositionTable;
+    private final int helperIndex;
+    private final AtomicBoolean helpersStopped;
+    private final MoveHistory moveHistory = new MoveHistory();
+    private final PawnHashTable pawnHashTable = new PawnHashTable();
+    private final MoveList rootMoves = new MoveList();
+    private final int[] rootScores = new int[256];
+    private final MovePicker[] movePickers = new MovePicker[MAX_PLY + 1];
+    private final int[][] triedQuiets = new int[MAX_PLY + 1][MAX_TRIED_QUIETS];
+    /* triangular principal variation table, the line of a ply is in its row from the column of the ply on */
+    private final int[][] pvTable = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+    /* principal variation of the previous iteration, followed first while the search stays on it */
+    private int[] previousPv = new int[0];
+    private boolean followingPv;
+
+    private Position position;
+    private long nodes;
+    private long nodeLimit;
+    private volatile long deadline;
+    private volatile boolean stopped;
+    private int rootScore;
+    private SearchListener listener;
+    private TimeManager timeManager;
+    private SearchOptions options = SearchOptions.defaults();
+
+    public Search() {
+        this(new TranspositionTable());
+    }
+
+    /**
+     * @param transpositionTable table the search reads and fills, it is kept between searches
+     */
+    public Search(final TranspositionTable transpositionTable) {
+        this(transpositionTable, 0, null);
+    }
+
+    /**
+     * Creates a helper of a LazySmpSearch.
+     * A helper does not start a new search in the table and stops as soon as @param helpersStopped is set.
+     *
+     * @param transpositionTable table shared by the whole LazySmpSearch
+     * @param helperIndex index of the helper starting from 1, 0 for a search on its own
+     * @param helpersStopped set by the LazySmpSearch when its main search is done
+     */
+    Search(final TranspositionTable transpositionTable, final int helperIndex, final AtomicBoolean helpersStopped) {
+        this.transpositionTable = transpositionTable;
+        this.helperIndex = helperIndex;
+        this.helpersStopped = helpersStopped;
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            this.movePickers[ply] = new MovePicker(this.moveHistory);
+        }
+    }
+
+    /**
+     * Searches the @param position until one of the @param limits is reached.
+     * The Position is used in place and is left unchanged when the search returns.
+     *
+     * @param position position to search, its side to move is the one looking for a move
+     * @param limits when to stop
+     * @return best move found in the deepest completed iteration
+     */
+    public SearchResult search(final Position position, final SearchLimits limits) {
+        final long startTime = System.nanoTime();
+        this.position = position;
+        this.nodes = 0;
+        this.nodeLimit = limits.getNodes();
+        this.timeManager = !isHelper() && limits.hasClock(position.getSideToMove())
+                ? new TimeManager(limits, position.getSideToMove())
+                : null;
+        long timeMillis = limits.getTimeMillis();
+        if (this.timeManager != null) {
+            timeMillis = timeMillis > 0 ? Math.min(timeMillis, this.timeManager.getHardMillis()) : this.timeManager.getHardMillis();
+        }
+        this.deadline = timeMillis > 0 ? startTime + timeMillis * 1_000_000 : Long.MAX_VALUE;
+        this.stopped = false;
+        if (!isHelper()) {
+            this.transpositionTable.newSearch();
+        }
+        this.moveHistory.newSearch();
+
+        final MoveList rootMoves = this.rootMoves;
+        MoveGenerator.generateLegalMoves(position, rootMoves);
+        if (rootMoves.isEmpty()) {
+            return new SearchResult(PackedMove.NONE, position.isInCheck() ? -MATE : DRAW, 0, 0, System.nanoTime() - startTime);
+        }
+
+        final int hashMove = TranspositionTable.getMove(this.transpositionTable.probe(position.getZobristKey()));
+        SearchResult result = new SearchResult(rootMoves.contains(hashMove) ? hashMove : rootMoves.get(0), 0, 0, 0, 0);
+        this.previousPv = new int[0];
+        for (int depth = 1; depth <= limits.getDepth(); depth++) {
+            if (isHelper() && skipsDepth(depth)) {
+                continue;
+            }
+            final int bestMove = searchWithAspiration(depth, result);
+            if (this.stopped && depth > 1) {
+                break;
+            }
+            this.previousPv = Arrays.copyOf(this.pvTable[0], this.pvLength[0]);
+            result = new SearchResult(bestMove, this.rootScore, depth, this.nodes, System.nanoTime() - startTime, this.previousPv);
+            LOGGER.fine(result.toString());
+            if (this.listener != null) {
+                this.listener.iterationFinished(result);
+            }
+            if (this.stopped || Math.abs(this.rootScore) >= MATE_BOUND || rootMoves.size() == 1) {
+                break;
+            }
+            if (this.timeManager != null
+                    && !this.timeManager.iterationFinished(bestMove, this.rootScore, System.nanoTime() - startTime)) {
+                break;
+            }
+        }
+        return new SearchResult(result.getBestMove(),
+                result.getScore(),
+                result.getDepth(),
+                this.nodes,
+                System.nanoTime() - startTime,
+                result.getPrincipalVariation());
+    }
+
+    /**
+     * Asks a running search to finish as soon as possible, it returns the last completed iteration.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * Replaces the time limit of a running search, e.g. when a ponder search becomes the real one.
+     *
+     * @param timeMillis how long the search may still run from now on
+     */
+    public void setTimeLimit(final long timeMillis) {
+        this.deadline = System.nanoTime() + timeMillis * 1_000_000;
+    }
+
+    /**
+     * @param listener told about every completed iteration, null for none
+     */
+    public void setListener(final SearchListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @param options selective parts of the search to use, must not be changed while searching
+     */
+    public void setOptions(final SearchOptions options) {
+        this.options = options;
+    }
+
+    public SearchOptions getOptions() {
+        return this.options;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Called by a LazySmpSearch before the helper starts, so that the progress reports
+     * do not count the nodes of the previous search.
+     */
+    void resetNodes() {
+        this.nodes = 0;
+    }
+
+    private boolean isHelper() {
+        return this.helperIndex > 0;
+    }
+
+    /**
+     * @return true if this helper leaves the iteration of @param depth to the other threads
+     */
+    private boolean skipsDepth(final int depth) {
+        final int index = (this.helperIndex - 1) % SKIP_SIZE.length;
+        return ((depth + SKIP_PHASE[index]) / SKIP_SIZE[index]) % 2 != 0;
+    }
+
+    /**
+     * Searches the root to the @param depth with a window around the score of the @param previous iteration.
+     * When the score falls outside of the window, the root is searched again with the window
+     * widened on that side, four times as much every time, until the score is exact.
+     *
+     * @return best move of the iteration
+     */
+    private int searchWithAspiration(final int depth, final SearchResult previous) {
+        if (depth < ASPIRATION_MIN_DEPTH || Math.abs(previous.getScore()) >= MATE_BOUND) {
+            return searchRoot(depth, -INFINITY, INFINITY, previous.getBestMove());
+        }
+        int delta = ASPIRATION_WINDOW;
+        int alpha = Math.max(previous.getScore() - delta, -INFINITY);
+        int beta = Math.min(previous.getScore() + delta, INFINITY);
+        int bestMove = previous.getBestMove();
+        while (true) {
+            bestMove = searchRoot(depth, alpha, beta, bestMove);
+            if (this.stopped) {
+                return bestMove;
+            }
+            delta *= 4;
+            if (this.rootScore <= alpha) {
+                alpha = Math.max(alpha - delta, -INFINITY);
+            } else if (this.rootScore >= beta) {
+                beta = Math.min(beta + delta, INFINITY);
+            } else {
+                return bestMove;
+            }
+        }
+    }
+
+    /**
+     * Searches every root move to the @param depth within the window from @param alpha to @param beta.
+     * If no move reaches alpha, the @param previousBestMove stays the best one, the score is then only an upper bound.
+     *
+     * @return best move of the iteration, the score is left in rootScore
+     */
+    private int searchRoot(final int depth, int alpha, final int beta, final int previousBestMove) {
+        final MoveList moves = this.rootMoves;
+        scoreRootMoves(moves, this.rootScores, previousBestMove);
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = previousBestMove;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = MovePicker.pickBest(moves, this.rootScores, i);
+            this.followingPv = i == 0 && this.previousPv.length > 0 && move == this.previousPv[0];
+            this.position.makeMove(move);
+            int score;
+            if (i == 0) {
+                score = -negamax(depth - 1, -beta, -alpha, 1, true);
+                this.followingPv = false;
+            } else {
+                score = -negamax(depth - 1, -alpha - 1, -alpha, 1, true);
+                if (score > alpha && score < beta) {
+                    score = -negamax(depth - 1, -beta, -alpha, 1, true);
+                }
+            }
+            this.position.unmakeMove();
+            if (this.stopped) {
+                break;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+                updatePrincipalVariation(0, move);
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        if (bestScore <= originalAlpha) { // the previous line is kept until a move proves to be better
+            this.pvTable[0][0] = previousBestMove;
+            this.pvLength[0] = 1;
+        }
+        this.rootScore = bestScore;
+        if (!this.stopped) {
+            final int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+                    : bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+            this.transpositionTable.store(this.position.getZobristKey(),
+                    bestMove,
+                    scoreToTable(bestScore, 0),
+                    depth,
+                    bound);
+        }
+        return bestMove;
+    }
+
+    /**
+     * The @param move at the @param ply raised alpha, so its line is the @param move followed by the line of the next ply.
+     */
+    private void updatePrincipalVariation(final int ply, final int move) {
+        this.pvTable[ply][ply] = move;
+        final int length = this.pvLength[ply + 1];
+        System.arraycopy(this.pvTable[ply + 1], ply + 1, this.pvTable[ply], ply + 1, length - ply - 1);
+        this.pvLength[ply] = length;
+    }
+
+    /**
+     * @param nullMoveAllowed false right after a null move, two null moves in a row would only waste nodes
+     */
+    private int negamax(int depth, int alpha, final int beta, final int ply, final boolean nullMoveAllowed) {
+        this.pvLength[ply] = ply;
+        // before the quiescence search, so that a draw reached by the last move of the tree is seen too
+        if (ply > 0 && isDraw(ply)) {
+            return DRAW;
+        }
+        if (depth <= 0) {
+            return quiescence(alpha, beta, ply);
+        }
+        if (countNode()) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluation.evaluate(this.position, this.pawnHashTable);
+        }
+
+        final long key = this.position.getZobristKey();
+        final long entry = this.transpositionTable.probe(key);
+        final boolean pvNode = beta - alpha > 1;
+        final boolean onPreviousPv = this.followingPv && ply < this.previousPv.length;
+        this.followingPv = onPreviousPv;
+        // the line of the previous iteration goes first even if the table has lost it
+        final int hashMove = onPreviousPv ? this.previousPv[ply] : TranspositionTable.getMove(entry);
+        if (entry != TranspositionTable.MISS && !pvNode && TranspositionTable.getDepth(entry) >= depth) {
+            final int hashScore = scoreFromTable(TranspositionTable.getScore(entry), ply);
+            final int bound = TranspositionTable.getBound(entry);
+            if (bound == TranspositionTable.BOUND_EXACT
+                    || (bound == TranspositionTable.BOUND_LOWER && hashScore >= beta)
+                    || (bound == TranspositionTable.BOUND_UPPER && hashScore <= alpha)) {
+                return hashScore;
+            }
+        }
+        final int originalAlpha = alpha;
+
+        final boolean inCheck = this.position.isInCheck();
+        if (inCheck) {
+            depth++;
+        }
+        final int side = this.position.getSideToMove();
+
+        final boolean frontier = !pvNode && !inCheck
+                && (this.options.isNullMovePruning() || this.options.isFutilityPruning() || this.options.isReverseFutilityPruning());
+        final int staticEval = frontier ? Evaluation.evaluate(this.position, this.pawnHashTable) : 0;
+
+        // reverse futility pruning: far above beta, a shallow search would not bring the score back
+        if (frontier
+                && this.options.isReverseFutilityPruning()
+                && depth <= REVERSE_FUTILITY_MAX_DEPTH
+                && Math.abs(beta) < MATE_BOUND
+                && staticEval - REVERSE_FUTILITY_MARGIN * depth >= beta) {
+            return staticEval;
+        }
+
+        // null move pruning: if even passing the turn fails high, a real move would too, except in zugzwang
+        if (frontier
+                && this.options.isNullMovePruning()
+                && nullMoveAllowed
+                && depth >= NULL_MOVE_MIN_DEPTH
+                && staticEval >= beta
+                && this.position.hasNonPawnMaterial(side)) {
+            this.position.makeNullMove();
+            final int score = -negamax(depth - 1 - NULL_MOVE_REDUCTION, -beta, -beta + 1, ply + 1, false);
+            this.position.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score >= beta) {
+                return score >= MATE_BOUND ? beta : score; // an unproven mate is not returned
+            }
+        }
+
+        // futility pruning: far below alpha, quiet moves which do not give check are skipped
+        final boolean futile = frontier
+                && this.options.isFutilityPruning()
+                && depth < FUTILITY_MARGINS.length
+                && Math.abs(alpha) < MATE_BOUND
+                && staticEval + FUTILITY_MARGINS[depth] <= alpha;
+
+        final MovePicker movePicker = this.movePickers[ply];
+        movePicker.init(this.position, hashMove, ply);
+        final long pinned = this.position.getPinnedPieces(side);
+        final int[] triedQuiets = this.triedQuiets[ply];
+        int triedQuietCount = 0;
+        int legalMoves = 0;
+        int bestScore = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        int move;
+        while ((move = movePicker.next()) != PackedMove.NONE) {
+            if (!MoveGenerator.isLegal(this.position, move, pinned, inCheck)) {
+                continue;
+            }
+            final boolean quiet = !PackedMove.isCapture(move) && !PackedMove.isPromotion(move);
+            this.position.makeMove(move);
+            final int rank = legalMoves++;
+            final boolean givesCheck = this.position.isInCheck();
+            if (futile && rank > 0 && quiet && !givesCheck) {
+                this.position.unmakeMove();
+                continue;
+            }
+            int score;
+            if (rank == 0) {
+                score = -negamax(depth - 1, -beta, -alpha, ply + 1, true);
+                this.followingPv = false;
+            } else {
+                int reduction = 0;
+                if (this.options.isLateMoveReductions()
+                        && quiet && !inCheck && !givesCheck
+                        && rank >= LMR_MIN_RANK && depth >= LMR_MIN_DEPTH) {
+                    reduction = LMR_REDUCTIONS[Math.min(depth, MAX_PLY)][Math.min(rank, 63)];
+                    if (pvNode) {
+                        reduction--;
+                    }
+                    reduction = Math.max(0, Math.min(reduction, depth - 2));
+                }
+                score = -negamax(depth - 1 - reduction, -alpha - 1, -alpha, ply + 1, true);
+                if (score > alpha && reduction > 0) { // the reduced search was too optimistic about the move
+                    score = -negamax(depth - 1, -alpha - 1, -alpha, ply + 1, true);
+                }
+                if (score > alpha && score < beta) {
+                    score = -negamax(depth - 1, -beta, -alpha, ply + 1, true);
+                }
+            }
+            this.position.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    bestMove = move;
+                    if (pvNode) {
+                        updatePrincipalVariation(ply, move);
+                    }
+                    if (alpha >= beta) {
+                        if (quiet) {
+                            this.moveHistory.updateCutoff(side, ply, move, depth, triedQuiets, triedQuietCount);
+                        }
+                        break;
+                    }
+                }
+            }
+            if (quiet && triedQuietCount < MAX_TRIED_QUIETS) {
+                triedQuiets[triedQuietCount++] = move;
+            }
+        }
+        if (legalMoves == 0) {
+            return inCheck ? -MATE + ply : DRAW;
+        }
+        if (inCheck && this.position.isFiftyMoveRule()) { // the check is not a mate, so the fifty-move rule applies
+            return DRAW;
+        }
+
+        final int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+                : bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+        this.transpositionTable.store(key, bestMove, scoreToTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    private int quiescence(int alpha, final int beta, final int ply) {
+        this.pvLength[ply] = ply;
+        if (countNode()) {
+            return 0;
+        }
+        final int standPat = Evaluation.evaluate(this.position, this.pawnHashTable);
+        if (standPat >= beta || ply >= MAX_PLY) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        final MovePicker movePicker = this.movePickers[ply];
+        movePicker.initQuiescence(this.position);
+        final long pinned = this.position.getPinnedPieces(this.position.getSideToMove());
+        final boolean inCheck = this.position.isInCheck();
+        int move;
+        while ((move = movePicker.next()) != PackedMove.NONE) {
+            if (!MoveGenerator.isLegal(this.position, move, pinned, inCheck)) {
+                continue;
+            }
+            this.position.makeMove(move);
+            final int score = -quiescence(-beta, -alpha, ply + 1);
+            this.position.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > alpha) {
+                alpha = score;
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * A mate given by the move reaching the fifty-move rule still counts, so in check the rule is applied
+     * only after negamax finds a legal move.
+     *
+     * @return true if the position at the @param ply is drawn by repetition or by the fifty-move rule
+     */
+    private boolean isDraw(final int ply) {
+        return this.position.isRepetition(ply)
+                || (this.position.isFiftyMoveRule() && !this.position.isInCheck());
+    }
+
+    private static int[][] createLmrReductions() {
+        final int[][] reductions = new int[MAX_PLY + 1][64];
+        for (int depth = 1; depth <= MAX_PLY; depth++) {
+            for (int rank = 1; rank < 64; rank++) {
+                reductions[depth][rank] = (int) (0.75 + Math.log(depth) * Math.log(rank) / 2.25);
+            }
+        }
+        return reductions;
+    }
+
+    /**
+     * Mate scores are stored relative to the position instead of the root,
+     * so that the same mate found at a different ply keeps its distance.
+     */
+    private static int scoreToTable(final int score, final int ply) {
+        if (score >= MATE_BOUND) {
+            return score + ply;
+        }
+        return score <= -MATE_BOUND ? score - ply : score;
+    }
+
+    private static int scoreFromTable(final int score, final int ply) {
+        if (score >= MATE_BOUND) {
+            return score - ply;
+        }
+        return score <= -MATE_BOUND ? score + ply : score;
+    }
+
+    /**
+     * Counts the node and every CHECK_INTERVAL nodes checks the limits.
+     *
+     * @return true if the search has to stop
+     */
+    private boolean countNode() {
+        this.nodes++;
+        if ((this.nodes & CHECK_INTERVAL) == 0
+                && (System.nanoTime() > this.deadline
+                || (this.nodeLimit > 0 && this.nodes >= this.nodeLimit)
+                || (this.helpersStopped != null && this.helpersStopped.get()))) {
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
+    /**
+     * Orders the @param bestMove first, then captures and promotions by MVV-LVA and finally the quiet moves.
+     */
+    private static void scoreRootMoves(final MoveList moves, final int[] scores, final int bestMove) {
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            if (move == bestMove) {
+                scores[i] = BEST_MOVE_SCORE;
+            } else if (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) {
+                scores[i] = CAPTURE_SCORE + MovePicker.mvvLva(move);
+            } else {
+                scores[i] = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package cz.chess.engine.search;
+
+/**
+ * Limits telling the Search when to stop deepening.
+ * The search stops at whichever limit is reached first, a limit of 0 means unlimited.
+ * With the time left on the clocks the Search decides itself how long to think, see TimeManager.
+ * Use the Builder class to create an instance.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class SearchLimits {
+
+    public static final int MAX_DEPTH = 64;
+
+    private final int depth;
+    private final long timeMillis;
+    private final long nodes;
+    private final long[] timeLeftMillis;
+    private final long[] incrementMillis;
+    private final int movesToGo;
+
+    private SearchLimits(final Builder builder) {
+        this.depth = builder.depth;
+        this.timeMillis = builder.timeMillis;
+        this.nodes = builder.nodes;
+        this.timeLeftMillis = builder.timeLeftMillis.clone();
+        this.incrementMillis = builder.incrementMillis.clone();
+        this.movesToGo = builder.movesToGo;
+    }
+
+    /**
+     * @return limits which only stop at MAX_DEPTH or when the Search is stopped from outside
+     */
+    public static SearchLimits infinite() {
+        return new Builder().build();
+    }
+
+    public static SearchLimits depth(final int depth) {
+        return new Builder().setDepth(depth).build();
+    }
+
+    public static SearchLimits timeMillis(final long timeMillis) {
+        return new Builder().setTimeMillis(timeMillis).build();
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public long getTimeMillis() {
+        return this.timeMillis;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @param side Position.WHITE or Position.BLACK
+     * @return time left on the clock of the @param side, 0 if it is not known
+     */
+    public long getTimeLeftMillis(final int side) {
+        return this.timeLeftMillis[side];
+    }
+
+    /**
+     * @param side Position.WHITE or Position.BLACK
+     * @return time added to the clock of the @param side after every move
+     */
+    public long getIncrementMillis(final int side) {
+        return this.incrementMillis[side];
+    }
+
+    /**
+     * @return moves until the next time control, 0 if the rest of the game is played with the time left
+     */
+    public int getMovesToGo() {
+        return this.movesToGo;
+    }
+
+    /**
+     * @param side side to move, Position.WHITE or Position.BLACK
+     * @return true if the Search has to manage the time left on the clock of the @param side
+     */
+    public boolean hasClock(final int side) {
+        return this.timeLeftMillis[side] > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + this.depth + " time " + this.timeMillis + "ms nodes " + this.nodes
+                + " clocks " + this.timeLeftMillis[0] + "+" + this.incrementMillis[0]
+                + "ms/" + this.timeLeftMillis[1] + "+" + this.incrementMillis[1] + "ms";
+    }
+
+    /**
+     * Builder for SearchLimits
+     */
+    public static class Builder {
+
+        private int depth = MAX_DEPTH;
+        private long timeMillis = 0;
+        private long nodes = 0;
+        private final long[] timeLeftMillis = new long[2];
+        private final long[] incrementMillis = new long[2];
+        private int movesToGo = 0;
+
+        public Builder setDepth(final int depth) {
+            this.depth = depth <= 0 ? MAX_DEPTH : Math.min(depth, MAX_DEPTH);
+            return this;
+        }
+
+        public Builder setTimeMillis(final long timeMillis) {
+            this.timeMillis = Math.max(0, timeMillis);
+            return this;
+        }
+
+        public Builder setNodes(final long nodes) {
+            this.nodes = Math.max(0, nodes);
+            return this;
+        }
+
+        public Builder setTimeLeft(final long whiteMillis, final long blackMillis) {
+            this.timeLeftMillis[0] = Math.max(0, whiteMillis);
+            this.timeLeftMillis[1] = Math.max(0, blackMillis);
+            return this;
+        }
+
+        public Builder setIncrement(final long whiteMillis, final long blackMillis) {
+            this.incrementMillis[0] = Math.max(0, whiteMillis);
+            this.incrementMillis[1] = Math.max(0, blackMillis);
+            return this;
+        }
+
+        public Builder setMovesToGo(final int movesToGo) {
+            this.movesToGo = Math.max(0, movesToGo);
+            return this;
+        }
+
+        public SearchLimits build() {
+            return new SearchLimits(this);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package cz.chess.engine.search;
+
+/**
+ * Receives the progress of a running Search, e.g. to print the UCI info lines.
+ * It is called on the searching thread, so it has to return quickly.
+ *
+ * @author Vojtěch Sýkora
+ */
+@FunctionalInterface
+public interface SearchListener {
+
+    /**
+     * Called after every completed iteration of the iterative deepening.
+     *
+     * @param result best move and score of the iteration, its nodes and time are counted from the start of the search
+     */
+    void iterationFinished(SearchResult result);
+}
@@ -0,0 +1,126 @@
+package cz.chess.engine.search;
+
+/**
+ * Switches for the selective parts of the Search, which skip or shorten the moves unlikely to matter.
+ * All of them are on by default, turning them off one by one shows the nodes each of them saves.
+ * Use the Builder class to create an instance.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class SearchOptions {
+
+    private final boolean nullMovePruning;
+    private final boolean lateMoveReductions;
+    private final boolean futilityPruning;
+    private final boolean reverseFutilityPruning;
+
+    private SearchOptions(final Builder builder) {
+        this.nullMovePruning = builder.nullMovePruning;
+        this.lateMoveReductions = builder.lateMoveReductions;
+        this.futilityPruning = builder.futilityPruning;
+        this.reverseFutilityPruning = builder.reverseFutilityPruning;
+    }
+
+    /**
+     * @return options with every selective part turned on
+     */
+    public static SearchOptions defaults() {
+        return new Builder().build();
+    }
+
+    /**
+     * @return options of a plain alpha-beta search without any selective part
+     */
+    public static SearchOptions none() {
+        return new Builder()
+                .setNullMovePruning(false)
+                .setLateMoveReductions(false)
+                .setFutilityPruning(false)
+                .setReverseFutilityPruning(false)
+                .build();
+    }
+
+    /**
+     * @return true if a node is cut off when passing the turn to the opponent still fails high
+     */
+    public boolean isNullMovePruning() {
+        return this.nullMovePruning;
+    }
+
+    /**
+     * @return true if quiet moves ordered late are searched to a smaller depth first
+     */
+    public boolean isLateMoveReductions() {
+        return this.lateMoveReductions;
+    }
+
+    /**
+     * @return true if quiet moves near the leaves are skipped when the position is far below alpha
+     */
+    public boolean isFutilityPruning() {
+        return this.futilityPruning;
+    }
+
+    /**
+     * @return true if nodes near the leaves are cut off when the position is far above beta
+     */
+    public boolean isReverseFutilityPruning() {
+        return this.reverseFutilityPruning;
+    }
+
+    @Override
+    public String toString() {
+        return "null move " + this.nullMovePruning
+                + " lmr " + this.lateMoveReductions
+                + " futility " + this.futilityPruning
+                + " reverse futility " + this.reverseFutilityPruning;
+    }
+
+    /**
+     * Builder for SearchOptions
+     */
+    public static class Builder {
+
+        private boolean nullMovePruning = true;
+        private boolean lateMoveReductions = true;
+        private boolean futilityPruning = true;
+        private boolean reverseFutilityPruning = true;
+
+        public Builder() {
+        }
+
+        /**
+         * @param options options to start from
+         */
+        public Builder(final SearchOptions options) {
+            this.nullMovePruning = options.nullMovePruning;
+            this.lateMoveReductions = options.lateMoveReductions;
+            this.futilityPruning = options.futilityPruning;
+            this.reverseFutilityPruning = options.reverseFutilityPruning;
+        }
+
+        public Builder setNullMovePruning(final boolean nullMovePruning) {
+            this.nullMovePruning = nullMovePruning;
+            return this;
+        }
+
+        public Builder setLateMoveReductions(final boolean lateMoveReductions) {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        public Builder setFutilityPruning(final boolean futilityPruning) {
+            this.futilityPruning = futilityPruning;
+            return this;
+        }
+
+        public Builder setReverseFutilityPruning(final boolean reverseFutilityPruning) {
+            this.reverseFutilityPruning = reverseFutilityPruning;
+            return this;
+        }
+
+        public SearchOptions build() {
+            return new SearchOptions(this);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package cz.chess.engine.search;
+
+import cz.chess.engine.model.board.PackedMove;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of a finished Search: the best move, its score, the principal variation and how much work it took.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class SearchResult {
+
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long timeNanos;
+    private final int[] principalVariation;
+
+    public SearchResult(final int bestMove, final int score, final int depth, final long nodes, final long timeNanos) {
+        this(bestMove, score, depth, nodes, timeNanos, bestMove == PackedMove.NONE ? new int[0] : new int[]{bestMove});
+    }
+
+    /**
+     * @param principalVariation moves the search expects to be played, starting with the @param bestMove
+     */
+    public SearchResult(final int bestMove, final int score, final int depth, final long nodes, final long timeNanos,
+                        final int[] principalVariation) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.timeNanos = timeNanos;
+        this.principalVariation = Arrays.copyOf(principalVariation, principalVariation.length);
+    }
+
+    /**
+     * @return best move encoded by PackedMove, PackedMove.NONE if the side to move has no legal move
+     */
+    public int getBestMove() {
+        return this.bestMove;
+    }
+
+    /**
+     * @return score in centipawns from the point of view of the side to move
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * @return depth of the last fully searched iteration
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * @return moves encoded by PackedMove starting with the best move, a copy
+     */
+    public int[] getPrincipalVariation() {
+        return Arrays.copyOf(this.principalVariation, this.principalVariation.length);
+    }
+
+    /**
+     * @return the principal variation in long algebraic notation separated by spaces, e.g. "e2e4 e7e5"
+     */
+    public String getPrincipalVariationString() {
+        final StringBuilder builder = new StringBuilder();
+        for (final int move : this.principalVariation) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(PackedMove.toString(move));
+        }
+        return builder.toString();
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getTimeNanos() {
+        return this.timeNanos;
+    }
+
+    public long getTimeMillis() {
+        return this.timeNanos / 1_000_000;
+    }
+
+    public long getNodesPerSecond() {
+        return this.timeNanos <= 0 ? 0 : this.nodes * 1_000_000_000L / this.timeNanos;
+    }
+
+    /**
+     * @return true if the score announces a forced mate for either side
+     */
+    public boolean isMateScore() {
+        return Math.abs(this.score) >= Search.MATE_BOUND;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + this.depth
+                + " score " + (isMateScore() ? "mate " + getMateDistance() : "cp " + this.score)
+                + " nodes " + this.nodes
+                + " nps " + getNodesPerSecond()
+                + " time " + getTimeMillis()
+                + " bestmove " + PackedMove.toString(this.bestMove)
+                + " pv " + getPrincipalVariationString();
+    }
+
+    /**
+     * @return number of own moves to the mate, negative if the side to move gets mated
+     */
+    public int getMateDistance() {
+        return this.score > 0 ? (Search.MATE - this.score + 1) / 2 : -(Search.MATE + this.score) / 2;
+    }
+}
@@ -0,0 +1,142 @@
+package cz.chess.engine.search;
+
+import cz.chess.engine.eval.Evaluation;
+import cz.chess.engine.model.board.Attacks;
+import cz.chess.engine.model.board.BitBoard;
+import cz.chess.engine.model.board.MoveTables;
+import cz.chess.engine.model.board.PackedMove;
+import cz.chess.engine.model.board.Position;
+import cz.chess.engine.model.pieces.Piece.PieceType;
+
+/**
+ * Static exchange evaluation (SEE) tells how much material a capture wins or loses
+ * when both sides keep recapturing on its Tile with their least valuable piece,
+ * each side being allowed to stop when going on would lose more.
+ * Sliders standing behind the attackers (x-rays) join the exchange as soon as the Tile in front of them is free.
+ * Pins and checks are ignored, which makes the result an estimate, but a cheap one without making any move.
+ * This class is only used for its methods, it cannot be instantiated.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class StaticExchange {
+
+    private static final int KING = PieceType.KING.ordinal();
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+    private static final int ROOK = PieceType.ROOK.ordinal();
+    private static final int BISHOP = PieceType.BISHOP.ordinal();
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final int PAWN = PieceType.PAWN.ordinal();
+
+    /* order in which the attackers recapture, the least valuable first */
+    private static final int[] ATTACKER_ORDER = {PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING};
+
+    /* at most 32 pieces can take part in one exchange */
+    private static final int MAX_EXCHANGE = 32;
+
+    /* gains of the exchange, one buffer for each search thread, so that no array is allocated by a call */
+    private static final ThreadLocal<int[]> GAIN = ThreadLocal.withInitial(() -> new int[MAX_EXCHANGE]);
+
+    private StaticExchange() {
+        throw new RuntimeException("StaticExchange class is not instantiable!");
+    }
+
+    /**
+     * @param position
+     * @param move pseudo-legal move of the side to move encoded by PackedMove
+     * @return material in centipawns the side to move wins by the @param move and the exchange following it,
+     * negative when the move loses material
+     */
+    public static int evaluate(final Position position, final int move) {
+        if (PackedMove.isCastling(move)) {
+            return 0;
+        }
+        final BitBoard bitBoard = position.getBitBoard();
+        final int from = PackedMove.getFrom(move);
+        final int to = PackedMove.getTo(move);
+        final int[] gain = GAIN.get();
+
+        // value of the piece standing on the Tile after the last capture
+        int pieceOnSquare = Evaluation.pieceValue(PackedMove.getMovedPiece(move));
+        gain[0] = Evaluation.pieceValue(PackedMove.getCapturedPiece(move));
+        if (PackedMove.isPromotion(move)) {
+            pieceOnSquare = Evaluation.typeValue(PackedMove.getPromotionType(move));
+            gain[0] += pieceOnSquare - Evaluation.typeValue(PAWN);
+        }
+
+        long occupancy = bitBoard.getOccupancy() ^ BitBoard.squareMask(from);
+        if (PackedMove.isEnPassant(move)) {
+            occupancy ^= BitBoard.squareMask(to + (position.getSideToMove() == Position.WHITE ? -8 : 8));
+        }
+        long attackers = Attacks.attackersTo(bitBoard, to, occupancy) & occupancy;
+        final long diagonalSliders = sliders(bitBoard, BISHOP);
+        final long straightSliders = sliders(bitBoard, ROOK);
+
+        int side = position.getSideToMove() ^ 1;
+        int depth = 0;
+        while (depth < MAX_EXCHANGE - 1) {
+            final long sideAttackers = attackers & bitBoard.getOccupancy(side);
+            if (sideAttackers == 0) {
+                break;
+            }
+            int type = KING;
+            long attacker = 0;
+            for (final int candidate : ATTACKER_ORDER) {
+                attacker = sideAttackers & bitBoard.getPieces(BitBoard.pieceCode(side, candidate));
+                if (attacker != 0) {
+                    type = candidate;
+                    break;
+                }
+            }
+            if (type == KING && (attackers & bitBoard.getOccupancy(side ^ 1)) != 0) {
+                // the King cannot capture a defended piece
+                break;
+            }
+
+            // what the side gains if it captures and the exchange stops there
+            depth++;
+            gain[depth] = pieceOnSquare - gain[depth - 1];
+
+            occupancy ^= attacker & -attacker;
+            if (type == PAWN || type == BISHOP || type == QUEEN) {
+                attackers |= MoveTables.bishopAttacks(to, occupancy) & diagonalSliders;
+            }
+            if (type == ROOK || type == QUEEN) {
+                attackers |= MoveTables.rookAttacks(to, occupancy) & straightSliders;
+            }
+            attackers &= occupancy;
+            pieceOnSquare = Evaluation.typeValue(type);
+            side ^= 1;
+        }
+
+        // going back, every side either captures or stops, whichever is better for it
+        while (depth > 0) {
+            gain[depth - 1] = Math.min(gain[depth - 1], -gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    /**
+     * @param position
+     * @param move pseudo-legal move of the side to move encoded by PackedMove
+     * @return true if the @param move does not lose material according to the exchange evaluation
+     */
+    public static boolean isWinningOrEqual(final Position position, final int move) {
+        // taking a piece at least as valuable as the capturing one cannot lose
+        if (Evaluation.pieceValue(PackedMove.getCapturedPiece(move)) >= Evaluation.pieceValue(PackedMove.getMovedPiece(move))
+                && !PackedMove.isPromotion(move)) {
+            return true;
+        }
+        return evaluate(position, move) >= 0;
+    }
+
+    /**
+     * @return bitmap of Queens of both sides together with pieces of the @param type
+     */
+    private static long sliders(final BitBoard bitBoard, final int type) {
+        return bitBoard.getPieces(BitBoard.pieceCode(Position.WHITE, type))
+                | bitBoard.getPieces(BitBoard.pieceCode(Position.BLACK, type))
+                | bitBoard.getPieces(BitBoard.pieceCode(Position.WHITE, QUEEN))
+                | bitBoard.getPieces(BitBoard.pieceCode(Position.BLACK, QUEEN));
+    }
+}
@@ -0,0 +1,110 @@
+package cz.chess.engine.search;
+
+import cz.chess.engine.model.board.PackedMove;
+
+/**
+ * Decides how long the Search thinks about one move when it plays with a clock.
+ *
+ * The soft limit is the share of the time left the move should normally take. After every iteration
+ * it is stretched while the best move keeps changing or the score drops, and shrunk while the best move
+ * stays the same, and the Search does not start another iteration which would likely not finish in it.
+ * The hard limit is never exceeded, the Search polls it while searching and stops in the middle of an iteration.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class TimeManager {
+
+    /* moves the time left is split into when the number of moves to the next time control is not known */
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    /* time kept in reserve for the GUI and the communication with it */
+    private static final long MOVE_OVERHEAD_MILLIS = 50;
+    /* the hard limit is at most this many soft limits */
+    private static final int HARD_LIMIT_FACTOR = 4;
+    /* spending more than the own time share is allowed when the opponent has less time, within these bounds */
+    private static final int MIN_CLOCK_RATIO_PERCENT = 80;
+    private static final int MAX_CLOCK_RATIO_PERCENT = 125;
+
+    /* the soft limit in percent, indexed by how many iterations in a row returned the same best move */
+    private static final int[] STABILITY_PERCENT = {150, 125, 100, 85, 70};
+    /* score drops in centipawns since the previous iteration which stretch the soft limit */
+    private static final int SMALL_SCORE_DROP = 25;
+    private static final int LARGE_SCORE_DROP = 60;
+    /* the next iteration usually takes longer than all the previous ones together,
+       so it is only started in the first part of the soft limit */
+    private static final int NEXT_ITERATION_PERCENT = 60;
+
+    private final long softNanos;
+    private final long hardNanos;
+
+    private int bestMove = PackedMove.NONE;
+    private int score;
+    private int stableIterations;
+
+    /**
+     * @param remainingMillis time left on the own clock
+     * @param incrementMillis time added to the own clock after every move
+     * @param opponentRemainingMillis time left on the opponent's clock, 0 if it is not known
+     * @param movesToGo moves until the next time control, 0 if the whole game has to be played in the time left
+     */
+    public TimeManager(final long remainingMillis,
+                       final long incrementMillis,
+                       final long opponentRemainingMillis,
+                       final int movesToGo) {
+        final int moves = movesToGo > 0 ? Math.min(movesToGo, DEFAULT_MOVES_TO_GO) : DEFAULT_MOVES_TO_GO;
+        final long available = Math.max(1, remainingMillis - MOVE_OVERHEAD_MILLIS);
+        long soft = remainingMillis / moves + incrementMillis * 3 / 4;
+        if (opponentRemainingMillis > 0) {
+            final long ratioPercent = remainingMillis * 100 / opponentRemainingMillis;
+            soft = soft * Math.max(MIN_CLOCK_RATIO_PERCENT, Math.min(MAX_CLOCK_RATIO_PERCENT, ratioPercent)) / 100;
+        }
+        // with the last moves before the time control the whole time left can be used
+        final long hard = Math.min(soft * HARD_LIMIT_FACTOR, available / Math.min(moves, 3));
+        soft = Math.max(1, Math.min(soft, hard));
+        this.softNanos = soft * 1_000_000;
+        this.hardNanos = Math.max(1, hard) * 1_000_000;
+    }
+
+    /**
+     * @param limits limits with the clocks of both sides, see SearchLimits.hasClock
+     * @param side side of the engine, Position.WHITE or Position.BLACK
+     */
+    public TimeManager(final SearchLimits limits, final int side) {
+        this(limits.getTimeLeftMillis(side),
+                limits.getIncrementMillis(side),
+                limits.getTimeLeftMillis(1 - side),
+                limits.getMovesToGo());
+    }
+
+    public long getSoftMillis() {
+        return this.softNanos / 1_000_000;
+    }
+
+    public long getHardMillis() {
+        return this.hardNanos / 1_000_000;
+    }
+
+    /**
+     * Called by the Search after every completed iteration.
+     *
+     * @param bestMove best move of the iteration
+     * @param score score of the iteration
+     * @param elapsedNanos time since the start of the search
+     * @return true if the Search should start another iteration
+     */
+    public boolean iterationFinished(final int bestMove, final int score, final long elapsedNanos) {
+        int scoreDrop = 0;
+        if (this.bestMove != PackedMove.NONE) {
+            this.stableIterations = bestMove == this.bestMove
+                    ? Math.min(this.stableIterations + 1, STABILITY_PERCENT.length - 1)
+                    : 0;
+            scoreDrop = this.score - score;
+        }
+        this.bestMove = bestMove;
+        this.score = score;
+
+        final int swingPercent = scoreDrop >= LARGE_SCORE_DROP ? 140 : scoreDrop >= SMALL_SCORE_DROP ? 120 : 100;
+        final long budget = Math.min(this.hardNanos,
+                this.softNanos * STABILITY_PERCENT[this.stableIterations] / 100 * swingPercent / 100);
+        return elapsedNanos < budget * NEXT_ITERATION_PERCENT / 100;
+    }
+}
@@ -0,0 +1,230 @@
+package cz.chess.engine.search;
+
+import cz.chess.engine.model.board.MoveGenerator;
+import cz.chess.engine.model.board.MoveList;
+import cz.chess.engine.model.board.PackedMove;
+import cz.chess.engine.model.board.Position;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size hash table of search results keyed by the Zobrist key of a position.
+ *
+ * The table is a flat long array split into buckets of two entries,
+ * the first entry keeps the deepest result of the current search (depth-preferred),
+ * the second one always takes the newest result (always-replace).
+ * An entry is two longs, the data and the key XOR data. A reader only accepts the entry when
+ * both longs fit together, so the table can be shared by many search threads without locks:
+ * an entry torn by two threads writing at once simply looks like a miss.
+ *
+ * Data bits:
+ *  0 - 25 best move encoded by PackedMove
+ * 26 - 41 score + 32768
+ * 42 - 49 depth
+ * 50 - 51 bound type, 0 means an empty entry
+ * 52 - 59 age of the search which stored the entry
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class TranspositionTable {
+
+    public static final int DEFAULT_SIZE_MB = 16;
+
+    public static final int BOUND_UPPER = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_EXACT = 3;
+
+    /* returned by probe when the position is not in the table */
+    public static final long MISS = 0L;
+
+    private static final int LONGS_PER_BUCKET = 4;
+    private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+    /* the whole table has to fit into one Java array */
+    private static final long MAX_BUCKETS = 1L << 28;
+
+    private static final int MOVE_MASK = (1 << 26) - 1;
+    private static final int SCORE_SHIFT = 26;
+    private static final int DEPTH_SHIFT = 42;
+    private static final int BOUND_SHIFT = 50;
+    private static final int AGE_SHIFT = 52;
+
+    private long[] table;
+    private long bucketMask;
+    private int age;
+
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_MB);
+    }
+
+    /**
+     * @param sizeMb size in megabytes, rounded down to a power of two number of buckets
+     */
+    public TranspositionTable(final int sizeMb) {
+        resize(sizeMb);
+    }
+
+    /**
+     * Allocates a new empty table of @param sizeMb megabytes.
+     * Must not be called while a search is using the table.
+     *
+     * @param sizeMb size in megabytes, rounded down to a power of two number of buckets
+     */
+    public void resize(final int sizeMb) {
+        final long bytes = Math.max(1, sizeMb) * 1024L * 1024L;
+        final long buckets = Math.min(Long.highestOneBit(bytes / BYTES_PER_BUCKET), MAX_BUCKETS);
+        this.table = new long[(int) buckets * LONGS_PER_BUCKET];
+        this.bucketMask = this.table.length / LONGS_PER_BUCKET - 1;
+        this.age = 0;
+    }
+
+    /**
+     * Forgets every stored position.
+     */
+    public void clear() {
+        Arrays.fill(this.table, 0L);
+        this.age = 0;
+    }
+
+    /**
+     * Called at the start of every search, entries of older searches are replaced first.
+     */
+    public void newSearch() {
+        this.age = (this.age + 1) & 0xFF;
+    }
+
+    /**
+     * @param key Zobrist key of the position
+     * @return data of the stored entry, MISS if the position is not stored
+     */
+    public long probe(final long key) {
+        final long[] table = this.table;
+        final int index = bucketIndex(key);
+        for (int i = index; i < index + LONGS_PER_BUCKET; i += 2) {
+            final long data = table[i + 1];
+            if ((table[i] ^ data) == key && getBound(data) != 0) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of searching a position.
+     *
+     * @param key Zobrist key of the position
+     * @param move best move encoded by PackedMove, PackedMove.NONE keeps the move stored before
+     * @param score score already adjusted for mate distance by the caller
+     * @param depth remaining depth the position was searched to
+     * @param bound one of BOUND_UPPER, BOUND_LOWER and BOUND_EXACT
+     */
+    public void store(final long key, int move, final int score, final int depth, final int bound) {
+        final long[] table = this.table;
+        final int index = bucketIndex(key);
+        final long deepData = table[index + 1];
+        // a position already in the bucket keeps its slot, so the bucket never holds it twice
+        int slot;
+        if (isEntryOf(key, table[index], deepData)) {
+            slot = index;
+        } else if (isEntryOf(key, table[index + 2], table[index + 3])) {
+            slot = index + 2;
+        } else {
+            slot = -1;
+        }
+        if (slot >= 0 && move == PackedMove.NONE) {
+            move = getMove(table[slot + 1]);
+        }
+
+        final long data = (move & MOVE_MASK)
+                | ((long) (score + 32768) << SCORE_SHIFT)
+                | ((long) (Math.max(0, depth) & 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) this.age << AGE_SHIFT);
+
+        if (slot < 0) {
+            slot = getBound(deepData) == 0 || getAge(deepData) != this.age || depth >= getDepth(deepData)
+                    ? index
+                    : index + 2;
+        }
+        table[slot] = key ^ data;
+        table[slot + 1] = data;
+    }
+
+    /**
+     * @return how many entries out of 1000 are used by the current search, sampled from the first buckets
+     */
+    public int getHashFull() {
+        final int sampled = (int) Math.min(1000, this.bucketMask + 1) * 2;
+        int used = 0;
+        for (int i = 0; i < sampled; i++) {
+            final long data = this.table[i * 2 + 1];
+            if (getBound(data) != 0 && getAge(data) == this.age) {
+                used++;
+            }
+        }
+        return used * 1000 / sampled;
+    }
+
+    public int getSizeMb() {
+        return (int) ((long) this.table.length * Long.BYTES / (1024 * 1024));
+    }
+
+    /**
+     * Follows the stored best moves from the @param position, which is left unchanged.
+     * Entries may be overwritten by other searches, so every move is checked to be legal
+     * and the line ends at the first one which is not.
+     *
+     * @param position position the line starts in
+     * @param firstMove first move of the line, usually the best move of a SearchResult
+     * @param maxLength longest line returned, it also ends a line which repeats positions forever
+     * @return moves encoded by PackedMove, empty if @param firstMove is not legal
+     */
+    public int[] principalVariation(final Position position, final int firstMove, final int maxLength) {
+        final int[] line = new int[maxLength];
+        final MoveList legalMoves = new MoveList();
+        int length = 0;
+        int move = firstMove;
+        while (length < maxLength && move != PackedMove.NONE) {
+            MoveGenerator.generateLegalMoves(position, legalMoves);
+            if (!legalMoves.contains(move)) {
+                break;
+            }
+            position.makeMove(move);
+            line[length++] = move;
+            move = getMove(probe(position.getZobristKey()));
+        }
+        for (int i = 0; i < length; i++) {
+            position.unmakeMove();
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    private static boolean isEntryOf(final long key, final long checkedKey, final long data) {
+        return (checkedKey ^ data) == key && getBound(data) != 0;
+    }
+
+    private int bucketIndex(final long key) {
+        return (int) (key & this.bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    // -------- ENTRY DATA --------
+
+    public static int getMove(final long data) {
+        return (int) (data & MOVE_MASK);
+    }
+
+    public static int getScore(final long data) {
+        return (int) ((data >>> SCORE_SHIFT) & 0xFFFF) - 32768;
+    }
+
+    public static int getDepth(final long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    public static int getBound(final long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 3);
+    }
+
+    private static int getAge(final long data) {
+        return (int) ((data >>> AGE_SHIFT) & 0xFF);
+    }
+}
@@ -0,0 +1,446 @@
+package cz.chess.engine.uci;
+
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.FEN;
+import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.Move.MoveCreator;
+import cz.chess.engine.model.board.MoveExecution;
+import cz.chess.engine.model.board.PackedMove;
+import cz.chess.engine.model.board.Position;
+import cz.chess.engine.search.LazySmpSearch;
+import cz.chess.engine.search.SearchLimits;
+import cz.chess.engine.search.SearchOptions;
+import cz.chess.engine.search.SearchResult;
+import cz.chess.engine.search.TimeManager;
+import cz.chess.engine.search.TranspositionTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless front-end speaking the Universal Chess Interface (UCI) protocol,
+ * so the engine can be driven by chess GUIs and tournament managers without JavaFX.
+ * Run the main method and talk to it through the standard input and output, the log goes to the standard error.
+ *
+ * Supported commands: uci, isready, ucinewgame, setoption (Hash, Threads, Ponder, NullMove, LateMoveReductions,
+ * FutilityPruning, ReverseFutilityPruning),
+ * position startpos|fen ... [moves ...], go [depth, nodes, movetime, wtime, btime, winc, binc, movestogo,
+ * infinite, ponder], stop, ponderhit and quit.
+ * The game is kept as a Board, the moves are applied with the Move model and the search runs on a Position copy.
+ *
+ * Commands are read on the calling thread, the search runs on its own thread so that stop and ponderhit
+ * can interrupt it. A search started by "go infinite" or "go ponder" never reports its best move
+ * before it is told to by stop or ponderhit, as the protocol requires.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class UciEngine {
+
+    private final static Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
+
+    private static final String NAME = "King's Gambit";
+    private static final String AUTHOR = "Vojtěch Sýkora";
+
+    private static final int MAX_HASH_MB = 65536;
+    private static final int MAX_THREADS = 512;
+
+    /* time kept in reserve for the communication with the GUI */
+    private static final long MOVE_OVERHEAD_MILLIS = 50;
+
+    private final BufferedReader input;
+    private final PrintStream output;
+    private final TranspositionTable transpositionTable = new TranspositionTable();
+    private final LazySmpSearch search = new LazySmpSearch(this.transpositionTable, 1);
+    private final ExecutorService searchThread = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "uci-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /* guards the fields below which are shared with the search thread */
+    private final Object lock = new Object();
+
+    private Board board = Board.createStartingBoard();
+    private Future<?> runningSearch;
+    /* counted down by the first iteration of the running search */
+    private volatile CountDownLatch searchStarted = new CountDownLatch(0);
+    private boolean infinite;
+    private boolean pondering;
+    private long ponderTimeLimit;
+
+    /**
+     * @param input commands from the GUI
+     * @param output responses to the GUI
+     */
+    public UciEngine(final InputStream input, final PrintStream output) {
+        this.input = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.output = output;
+        this.search.setListener(this::sendInfo);
+    }
+
+    public static void main(final String[] args) {
+        new UciEngine(System.in, new PrintStream(System.out, true, StandardCharsets.UTF_8)).run();
+    }
+
+    /**
+     * Reads and executes commands until quit is received or the input ends.
+     */
+    public void run() {
+        try {
+            String line;
+            while ((line = this.input.readLine()) != null) {
+                if (!execute(line.trim())) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Reading UCI commands failed", e);
+        } finally {
+            stopSearch();
+            this.searchThread.shutdownNow();
+            this.search.shutdown();
+        }
+    }
+
+    /**
+     * Executes one command, a search started by it keeps running after it returns.
+     *
+     * @param command one line sent by the GUI
+     * @return false if the engine has to quit
+     */
+    public boolean execute(final String command) {
+        final String[] tokens = command.split("\\s+");
+        switch (tokens[0]) {
+            case "uci":
+                send("id name " + NAME);
+                send("id author " + AUTHOR);
+                send("option name Hash type spin default " + TranspositionTable.DEFAULT_SIZE_MB + " min 1 max " + MAX_HASH_MB);
+                send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                send("option name Ponder type check default false");
+                send("option name NullMove type check default true");
+                send("option name LateMoveReductions type check default true");
+                send("option name FutilityPruning type check default true");
+                send("option name ReverseFutilityPruning type check default true");
+                send("uciok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "ucinewgame":
+                stopSearch();
+                this.transpositionTable.clear();
+                this.board = Board.createStartingBoard();
+                break;
+            case "setoption":
+                stopSearch();
+                setOption(tokens);
+                break;
+            case "position":
+                stopSearch();
+                setPosition(tokens);
+                break;
+            case "go":
+                stopSearch();
+                go(tokens);
+                break;
+            case "stop":
+                stopSearch();
+                break;
+            case "ponderhit":
+                ponderHit();
+                break;
+            case "quit":
+                return false;
+            default:
+                if (!command.isEmpty()) {
+                    LOGGER.warning("Unknown UCI command: " + command);
+                }
+        }
+        return true;
+    }
+
+    private void setOption(final String[] tokens) {
+        final int nameIndex = Arrays.asList(tokens).indexOf("name");
+        final int valueIndex = Arrays.asList(tokens).indexOf("value");
+        if (nameIndex < 0 || valueIndex < nameIndex) {
+            return;
+        }
+        final String name = String.join(" ", Arrays.copyOfRange(tokens, nameIndex + 1, valueIndex));
+        final String value = valueIndex + 1 < tokens.length ? tokens[valueIndex + 1] : "";
+        try {
+            switch (name.toLowerCase()) {
+                case "hash":
+                    this.transpositionTable.resize(Math.max(1, Math.min(Integer.parseInt(value), MAX_HASH_MB)));
+                    break;
+                case "threads":
+                    this.search.setThreads(Math.max(1, Math.min(Integer.parseInt(value), MAX_THREADS)));
+                    break;
+                case "ponder":
+                    // the engine always ponders when it receives "go ponder"
+                    break;
+                case "nullmove":
+                    this.search.setOptions(new SearchOptions.Builder(this.search.getOptions())
+                            .setNullMovePruning(Boolean.parseBoolean(value)).build());
+                    break;
+                case "latemovereductions":
+                    this.search.setOptions(new SearchOptions.Builder(this.search.getOptions())
+                            .setLateMoveReductions(Boolean.parseBoolean(value)).build());
+                    break;
+                case "futilitypruning":
+                    this.search.setOptions(new SearchOptions.Builder(this.search.getOptions())
+                            .setFutilityPruning(Boolean.parseBoolean(value)).build());
+                    break;
+                case "reversefutilitypruning":
+                    this.search.setOptions(new SearchOptions.Builder(this.search.getOptions())
+                            .setReverseFutilityPruning(Boolean.parseBoolean(value)).build());
+                    break;
+                default:
+                    LOGGER.warning("Unknown UCI option: " + name);
+            }
+        } catch (NumberFormatException e) {
+            LOGGER.warning("Invalid value of UCI option " + name + ": " + value);
+        }
+    }
+
+    private void setPosition(final String[] tokens) {
+        final int movesIndex = Arrays.asList(tokens).indexOf("moves");
+        final int end = movesIndex < 0 ? tokens.length : movesIndex;
+        Board newBoard;
+        if (tokens.length > 1 && tokens[1].equals("fen")) {
+            newBoard = FEN.createBoardFromFEN(String.join(" ", Arrays.copyOfRange(tokens, 2, end)));
+        } else {
+            newBoard = Board.createStartingBoard();
+        }
+        if (movesIndex >= 0) {
+            for (int i = movesIndex + 1; i < tokens.length; i++) {
+                final Move move = MoveCreator.createMove(newBoard, tokens[i]);
+                final MoveExecution execution = newBoard.getCurrentPlayer().makeMove(move);
+                if (!execution.getMoveState().isFinished()) {
+                    LOGGER.warning("Illegal move in UCI position command: " + tokens[i]);
+                    break;
+                }
+                newBoard = execution.getAfterBoard();
+            }
+        }
+        this.board = newBoard;
+    }
+
+    private void go(final String[] tokens) {
+        final SearchLimits.Builder builder = new SearchLimits.Builder();
+        final int side = this.board.getCurrentPlayer().getPlayingSide().isWhite() ? Position.WHITE : Position.BLACK;
+        long moveTime = 0;
+        long whiteTime = 0;
+        long blackTime = 0;
+        long whiteIncrement = 0;
+        long blackIncrement = 0;
+        int movesToGo = 0;
+        boolean infinite = false;
+        boolean ponder = false;
+        for (int i = 1; i < tokens.length; i++) {
+            final String token = tokens[i];
+            if (token.equals("infinite")) {
+                infinite = true;
+                continue;
+            }
+            if (token.equals("ponder")) {
+                ponder = true;
+                continue;
+            }
+            if (i + 1 >= tokens.length) {
+                break;
+            }
+            try {
+                final long value = Long.parseLong(tokens[i + 1]);
+                switch (token) {
+                    case "depth":
+                        builder.setDepth((int) value);
+                        break;
+                    case "nodes":
+                        builder.setNodes(value);
+                        break;
+                    case "movetime":
+                        moveTime = Math.max(1, value - MOVE_OVERHEAD_MILLIS);
+                        break;
+                    case "wtime":
+                        whiteTime = value;
+                        break;
+                    case "btime":
+                        blackTime = value;
+                        break;
+                    case "winc":
+                        whiteIncrement = value;
+                        break;
+                    case "binc":
+                        blackIncrement = value;
+                        break;
+                    case "movestogo":
+                        movesToGo = (int) value;
+                        break;
+                    default:
+                        continue;
+                }
+                i++;
+            } catch (NumberFormatException e) {
+                LOGGER.warning("Invalid value in UCI go command: " + token + " " + tokens[i + 1]);
+            }
+        }
+
+        final SearchLimits clocks = new SearchLimits.Builder()
+                .setTimeLeft(whiteTime, blackTime)
+                .setIncrement(whiteIncrement, blackIncrement)
+                .setMovesToGo(movesToGo)
+                .build();
+        if (!infinite && !ponder) {
+            // the Search manages the clock itself, stopping early in easy positions
+            builder.setTimeMillis(moveTime)
+                    .setTimeLeft(whiteTime, blackTime)
+                    .setIncrement(whiteIncrement, blackIncrement)
+                    .setMovesToGo(movesToGo);
+        }
+        // a ponder search only learns its time on ponderhit, so it gets the soft limit of the clock
+        final long ponderTimeLimit = moveTime > 0 ? moveTime
+                : clocks.hasClock(side) ? new TimeManager(clocks, side).getSoftMillis() : 0;
+        startSearch(builder.build(), infinite, ponder, ponderTimeLimit);
+    }
+
+    /**
+     * @param limits limits of the search, a ponder search gets its time limit only on ponderhit
+     * @param infinite the best move is not sent before stop
+     * @param ponder the best move is not sent before stop or ponderhit
+     * @param ponderTimeLimit time limit set on ponderhit, 0 for none
+     */
+    private void startSearch(final SearchLimits limits,
+                             final boolean infinite,
+                             final boolean ponder,
+                             final long ponderTimeLimit) {
+        final Position position = this.board.toPosition();
+        position.setSideToMove(this.board.getCurrentPlayer().getPlayingSide());
+        final CountDownLatch started = new CountDownLatch(1);
+        synchronized (this.lock) {
+            this.infinite = infinite;
+            this.pondering = ponder;
+            this.ponderTimeLimit = ponderTimeLimit;
+            this.searchStarted = started;
+        }
+        this.runningSearch = this.searchThread.submit(() -> {
+            SearchResult result = null;
+            try {
+                result = this.search.search(position, limits);
+            } finally {
+                started.countDown();
+                waitForRelease();
+                sendBestMove(position, result);
+            }
+        });
+    }
+
+    /**
+     * Turns the ponder search into the real one, its time limit starts now.
+     */
+    private void ponderHit() {
+        final CountDownLatch started;
+        final long timeLimit;
+        synchronized (this.lock) {
+            if (!this.pondering) {
+                return;
+            }
+            this.pondering = false;
+            timeLimit = this.ponderTimeLimit;
+            started = this.searchStarted;
+            this.lock.notifyAll();
+        }
+        if (timeLimit > 0) {
+            try {
+                // a time limit set before the search starts would be overwritten by the search itself
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.search.setTimeLimit(timeLimit);
+        }
+    }
+
+    /**
+     * Stops the running search, if there is one, and waits until it sends its best move.
+     */
+    private void stopSearch() {
+        if (this.runningSearch == null) {
+            return;
+        }
+        synchronized (this.lock) {
+            this.infinite = false;
+            this.pondering = false;
+            this.lock.notifyAll();
+        }
+        this.search.stop();
+        try {
+            this.runningSearch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.SEVERE, "UCI search failed", e.getCause());
+        }
+        this.runningSearch = null;
+    }
+
+    private void waitForRelease() {
+        synchronized (this.lock) {
+            while (this.infinite || this.pondering) {
+                try {
+                    this.lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void sendInfo(final SearchResult result) {
+        this.searchStarted.countDown();
+        send("info depth " + result.getDepth()
+                + " score " + (result.isMateScore() ? "mate " + result.getMateDistance() : "cp " + result.getScore())
+                + " nodes " + result.getNodes()
+                + " nps " + result.getNodesPerSecond()
+                + " time " + result.getTimeMillis()
+                + " pv " + result.getPrincipalVariationString());
+    }
+
+    private void sendBestMove(final Position position, final SearchResult result) {
+        final int bestMove = result == null ? PackedMove.NONE : result.getBestMove();
+        final int ponderMove = bestMove == PackedMove.NONE ? PackedMove.NONE : findPonderMove(position, result);
+        send("bestmove " + PackedMove.toString(bestMove)
+                + (ponderMove == PackedMove.NONE ? "" : " ponder " + PackedMove.toString(ponderMove)));
+    }
+
+    /**
+     * @return the second move of the principal variation, or the reply to the best move stored in the TranspositionTable
+     * if the search stopped before finding one, PackedMove.NONE if it is not known
+     */
+    private int findPonderMove(final Position position, final SearchResult result) {
+        final int[] principalVariation = result.getPrincipalVariation();
+        if (principalVariation.length >= 2) {
+            return principalVariation[1];
+        }
+        final int[] line = this.transpositionTable.principalVariation(position, result.getBestMove(), 2);
+        return line.length == 2 ? line[1] : PackedMove.NONE;
+    }
+
+    private void send(final String message) {
+        synchronized (this.output) {
+            this.output.println(message);
+            this.output.flush();
+        }
+    }
+}
@@ -13,6 +13,11 @@ import org.junit.runners.Suite;
         {
             TestPieces.class,
             TestBoard.class,
+            TestPerft.class,
+            TestEvaluation.class,
+            TestSearch.class,
+            TestUci.class,
+            TestClock.class,
        })
 public class MainTests {
 }
@@ -4,13 +4,22 @@ import com.google.common.collect.Iterables;
 import cz.chess.engine.model.PlayingSide;
 import cz.chess.engine.model.board.Board;
 import cz.chess.engine.model.board.Board.Builder;
+import cz.chess.engine.model.board.FEN;
 import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.Move.MoveCreator;
+import cz.chess.engine.model.board.MoveGenerator;
+import cz.chess.engine.model.board.MoveList;
+import cz.chess.engine.model.board.PackedMove;
+import cz.chess.engine.model.board.Position;
 import cz.chess.engine.model.board.Tile;
 import cz.chess.engine.model.board.Utils;
 import cz.chess.engine.model.pieces.*;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -234,4 +243,119 @@ public class TestBoard {
         assertEquals(board.getCurrentPlayer(), board.getBlackPlayer());
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests that every Move survives encoding into an int and back
+     * and that different moves on the same board are not equal
+     */
+    @Test
+    public void testPackedMoves() {
+        final Board board = Board.createStartingBoard();
+        final Collection<Move> legalMoves = board.getCurrentPlayer().getLegalMoves();
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(board.toPosition(), moves);
+        assertEquals(legalMoves.size(), moves.size());
+
+        for (final Move move : legalMoves) {
+            final int packedMove = move.toPackedMove();
+            assertTrue(moves.contains(packedMove));
+            assertEquals(move, MoveCreator.createMove(board, packedMove));
+            assertEquals(move.getCurrentCoordinate(), PackedMove.getFrom(packedMove));
+            assertEquals(move.getFinalCoordinate(), PackedMove.getTo(packedMove));
+        }
+        assertEquals(legalMoves.size(), new HashSet<>(legalMoves).size());
+        assertTrue(PackedMove.isPawnJump(MoveCreator.createMove(board, 12, 28).toPackedMove()));
+    }
+
+    /**
+     * Tests that the Zobrist key only depends on the position and not on the move order
+     */
+    @Test
+    public void testZobristKey() {
+        final Board board = Board.createStartingBoard();
+        final Board afterNf3 = MoveCreator.createMove(board, 6, 21).execute();
+        final Board afterNf6 = MoveCreator.createMove(afterNf3, 62, 45).execute();
+        final Board afterNg1 = MoveCreator.createMove(afterNf6, 21, 6).execute();
+        final Board afterNg8 = MoveCreator.createMove(afterNg1, 45, 62).execute();
+        assertEquals(board.getZobristKey(), afterNg8.getZobristKey());
+        assertNotEquals(board.getZobristKey(), afterNg1.getZobristKey());
+
+        final Board nf3 = MoveCreator.createMove(MoveCreator.createMove(board, 6, 21).execute(), 57, 42).execute();
+        final Board nc3 = MoveCreator.createMove(MoveCreator.createMove(board, 1, 18).execute(), 57, 42).execute();
+        assertEquals(MoveCreator.createMove(nf3, 1, 18).execute().getZobristKey(),
+                MoveCreator.createMove(nc3, 6, 21).execute().getZobristKey());
+    }
+
+    /**
+     * Tests that the Boards of a game remember its positions, so the third occurrence of a position ends the game,
+     * while the search already scores the second occurrence inside its tree as a draw
+     */
+    @Test
+    public void testThreefoldRepetition() {
+        Board board = Board.createStartingBoard();
+        final int[][] knightMoves = {{6, 21}, {62, 45}, {21, 6}, {45, 62}};
+        for (int i = 0; i < 8; i++) {
+            assertFalse(board.isThreefoldRepetition());
+            final int[] knightMove = knightMoves[i % 4];
+            board = MoveCreator.createMove(board, knightMove[0], knightMove[1]).execute();
+        }
+        assertTrue(board.isThreefoldRepetition());
+        assertTrue(Utils.gameEnded(board));
+        assertEquals(8, board.getHalfmoveClock());
+
+        final Position position = Board.createStartingBoard().toPosition();
+        for (int i = 0; i < 4; i++) {
+            position.makeMove(MoveCreator.createMove(Board.createBoardFromPosition(position),
+                    knightMoves[i][0], knightMoves[i][1]).toPackedMove());
+        }
+        assertEquals(1, position.countRepetitions());
+        assertFalse(position.isRepetition(4));
+        assertTrue(position.isRepetition(5));
+    }
+
+    /**
+     * Tests that FEN keeps the halfmove clock and the fullmove number and that the fifty-move rule ends the game
+     */
+    @Test
+    public void testMoveCountersAndFiftyMoveRule() {
+        final String fen = "8/8/4k3/8/8/4K3/8/R7 w - - 99 87";
+        final Board board = FEN.createBoardFromFEN(fen);
+        assertEquals(fen, FEN.createFENFromBoard(board));
+        assertFalse(board.isFiftyMoveRule());
+
+        final Board afterRook = MoveCreator.createMove(board, 0, 8).execute();
+        assertTrue(afterRook.isFiftyMoveRule());
+        assertTrue(Utils.gameEnded(afterRook));
+        assertEquals("8/8/4k3/8/8/4K3/R7/8 b - - 100 87", FEN.createFENFromBoard(afterRook));
+
+        final Board afterPawn = MoveCreator.createMove(Board.createStartingBoard(), 12, 28).execute();
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1", FEN.createFENFromBoard(afterPawn));
+        assertEquals("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                FEN.createFENFromBoard(FEN.createBoardFromFEN("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq -")));
+    }
+
+    /**
+     * Tests that choosing an underpromotion returns the matching legal move and leaves the legal moves of the board as they were
+     */
+    @Test
+    public void testUnderpromotionKeepsLegalMoves() {
+        final Board board = FEN.createBoardFromFEN("8/P7/8/8/8/8/8/k3K3 w - - 0 1");
+        final List<String> legalMovesBefore = new ArrayList<>();
+        for (final Move move : board.getAllLegalMoves()) {
+            legalMovesBefore.add(move.toString());
+        }
+        try {
+            MoveCreator.setPromotionChooser(() -> Piece.PieceType.KNIGHT);
+            final Move promotion = MoveCreator.createMove(board, 48, 56);
+            assertEquals(Piece.PieceType.KNIGHT, promotion.getPromotionPieceType());
+        } finally {
+            MoveCreator.setPromotionChooser(() -> Piece.PieceType.QUEEN);
+        }
+        final List<String> legalMovesAfter = new ArrayList<>();
+        for (final Move move : board.getAllLegalMoves()) {
+            legalMovesAfter.add(move.toString());
+        }
+        assertEquals(legalMovesBefore, legalMovesAfter);
+        assertTrue(legalMovesAfter.contains("a7-a8=Q"));
+        assertEquals(Piece.PieceType.QUEEN, MoveCreator.createMove(board, 48, 56).getPromotionPieceType());
+    }
+}
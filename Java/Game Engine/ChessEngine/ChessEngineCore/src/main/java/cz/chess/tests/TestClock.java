@@ -0,0 +1,105 @@
+package cz.chess.tests;
+
+import cz.chess.engine.model.ChessClock;
+import cz.chess.engine.model.ClockService;
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.TimeControl;
+import cz.chess.engine.model.TimerListener;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * UnitTest
+ * Tests the TimeControl and the ChessClock
+ *
+ * @author Vojtěch Sýkora
+ */
+public class TestClock {
+
+    private static final ClockService CLOCK_SERVICE = new ClockService();
+
+    @AfterClass
+    public static void shutdown() {
+        CLOCK_SERVICE.shutdown();
+    }
+
+    /**
+     * Periods of a classical time control: 40 moves in 90 minutes, then 30 minutes for the rest of the game
+     */
+    @Test
+    public void testTimeControlPeriods() {
+        final TimeControl timeControl = new TimeControl.Builder()
+                .addPeriod(40, 90 * 60_000)
+                .addPeriod(0, 30 * 60_000)
+                .setIncrement(30_000)
+                .build();
+        assertEquals(90 * 60_000, timeControl.getInitialMillis());
+        assertEquals(40, timeControl.getMovesToGo(0));
+        assertEquals(1, timeControl.getMovesToGo(39));
+        assertEquals(0, timeControl.getMovesToGo(40));
+        assertEquals(0, timeControl.getPeriodMillisAfter(39));
+        assertEquals(30 * 60_000, timeControl.getPeriodMillisAfter(40));
+        assertEquals(0, timeControl.getPeriodMillisAfter(41));
+        assertEquals("40/5400:1800+30.0", timeControl.toString());
+
+        final TimeControl repeating = new TimeControl.Builder().addPeriod(20, 60_000).build();
+        assertEquals(5, repeating.getMovesToGo(35));
+        assertEquals(60_000, repeating.getPeriodMillisAfter(40));
+    }
+
+    /**
+     * The Fischer increment is added after every move, the Bronstein delay gives back at most the time of the move
+     */
+    @Test
+    public void testIncrementAndDelay() throws InterruptedException {
+        final ChessClock fischer = CLOCK_SERVICE.createClock(TimeControl.fischer(60_000, 2000));
+        fischer.start();
+        Thread.sleep(50);
+        fischer.press();
+        assertEquals(PlayingSide.BLACK, fischer.getSideToMove());
+        final long white = fischer.getRemainingMillis(PlayingSide.WHITE);
+        assertTrue(white > 61_800 && white < 61_960);
+        fischer.stop();
+
+        final ChessClock bronstein = CLOCK_SERVICE.createClock(TimeControl.bronstein(60_000, 5000));
+        bronstein.start();
+        Thread.sleep(50);
+        bronstein.press();
+        assertEquals(60_000, bronstein.getRemainingMillis(PlayingSide.WHITE));
+        bronstein.stop();
+    }
+
+    /**
+     * The listeners learn that the time ran out without anybody pressing the clock
+     */
+    @Test
+    public void testTimeRunsOut() throws InterruptedException {
+        final ChessClock clock = CLOCK_SERVICE.createClock(TimeControl.suddenDeath(100));
+        final AtomicReference<PlayingSide> flagged = new AtomicReference<>();
+        final CountDownLatch ranOut = new CountDownLatch(1);
+        clock.addListener(new TimerListener() {
+            @Override
+            public void timeChanged(final int whiteSeconds, final int blackSeconds) {
+            }
+
+            @Override
+            public void timeRanOut(final PlayingSide playingSide) {
+                flagged.set(playingSide);
+                ranOut.countDown();
+            }
+        });
+        clock.start();
+        assertTrue(ranOut.await(5, TimeUnit.SECONDS));
+        assertEquals(PlayingSide.WHITE, flagged.get());
+        assertEquals(PlayingSide.WHITE, clock.getFlaggedSide());
+        assertFalse(clock.isRunning());
+        assertEquals(0, clock.getRemainingMillis(PlayingSide.WHITE));
+        assertEquals(100, clock.getRemainingMillis(PlayingSide.BLACK));
+    }
+}
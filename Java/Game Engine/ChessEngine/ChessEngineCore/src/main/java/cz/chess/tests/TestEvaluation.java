@@ -0,0 +1,95 @@
+package cz.chess.tests;
+
+import cz.chess.engine.eval.Evaluation;
+import cz.chess.engine.eval.PawnHashTable;
+import cz.chess.engine.eval.PawnStructure;
+import cz.chess.engine.model.board.BitBoard;
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.FEN;
+import cz.chess.engine.model.board.MoveGenerator;
+import cz.chess.engine.model.board.MoveList;
+import cz.chess.engine.model.board.Position;
+import cz.chess.engine.model.board.Zobrist;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * UnitTest
+ * Tests the eval package: the tapered Evaluation, its incremental updates and the PawnStructure
+ *
+ * @author Vojtěch Sýkora
+ */
+public class TestEvaluation {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    /**
+     * The starting position is equal, a position and its color-flipped mirror get the same score
+     */
+    @Test
+    public void testEvaluationIsSymmetric() {
+        assertEquals(0, Evaluation.evaluate(Board.createStartingBoard().toPosition()));
+        final Position position = FEN.createBoardFromFEN(KIWIPETE).toPosition();
+        final Position mirrored = FEN.createBoardFromFEN(
+                "r3k2r/pppbbppp/2n2q1P/1P2p3/3pn3/BN2PNP1/P1PPQPB1/R3K2R b KQkq - 0 1").toPosition();
+        assertEquals(Evaluation.evaluate(position), Evaluation.evaluate(mirrored));
+    }
+
+    /**
+     * The incrementally updated score and pawn key equal the ones computed from scratch after every
+     * move and take-back, including castling, en passant and promotions
+     */
+    @Test
+    public void testIncrementalEvaluation() {
+        final PawnHashTable pawnHashTable = new PawnHashTable(64);
+        assertIncrementalEvaluation(FEN.createBoardFromFEN(KIWIPETE).toPosition(), pawnHashTable, 3);
+        assertIncrementalEvaluation(FEN.createBoardFromFEN(
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1").toPosition(), pawnHashTable, 3);
+    }
+
+    /**
+     * Doubled, isolated, backward and passed Pawns
+     */
+    @Test
+    public void testPawnStructure() {
+        // a3 is a passed isolated Pawn, a2 is doubled and isolated behind it
+        int score = PawnStructure.evaluate(FEN.createBoardFromFEN("4k3/8/8/8/8/P7/P7/4K3 w - - 0 1").toPosition().getBitBoard());
+        assertEquals(-10 - 12 - 12 + 3, PawnStructure.midgame(score));
+        assertEquals(-25 - 15 - 15 + 10, PawnStructure.endgame(score));
+
+        // d2 is backward because e4 controls d3, c3 is passed, the black e4 is isolated
+        score = PawnStructure.evaluate(FEN.createBoardFromFEN("4k3/8/8/8/4p3/2P5/3P4/4K3 w - - 0 1").toPosition().getBitBoard());
+        assertEquals(-8 + 3 + 12, PawnStructure.midgame(score));
+        assertEquals(-12 + 10 + 15, PawnStructure.endgame(score));
+    }
+
+    /**
+     * Pawns in front of the castled King count for it, Pawns far from it do not
+     */
+    @Test
+    public void testKingShield() {
+        final BitBoard shielded = FEN.createBoardFromFEN("4k3/8/8/8/8/8/5PPP/6K1 w - - 0 1").toPosition().getBitBoard();
+        final BitBoard open = FEN.createBoardFromFEN("4k3/8/8/8/8/8/PPP5/6K1 w - - 0 1").toPosition().getBitBoard();
+        assertEquals(36, PawnStructure.kingShield(shielded));
+        assertEquals(0, PawnStructure.kingShield(open));
+    }
+
+    private static void assertIncrementalEvaluation(final Position position,
+                                                    final PawnHashTable pawnHashTable,
+                                                    final int depth) {
+        assertEquals(Zobrist.computePawnKey(position.getBitBoard()), position.getBitBoard().getPawnKey());
+        assertEquals(Evaluation.evaluateFromScratch(position), Evaluation.evaluate(position, pawnHashTable));
+        if (depth == 0) {
+            return;
+        }
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            assertIncrementalEvaluation(position, pawnHashTable, depth - 1);
+            position.unmakeMove();
+        }
+        assertEquals(Evaluation.evaluateFromScratch(position), Evaluation.evaluate(position, pawnHashTable));
+    }
+}
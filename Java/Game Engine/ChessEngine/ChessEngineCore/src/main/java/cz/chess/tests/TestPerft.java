@@ -0,0 +1,79 @@
+package cz.chess.tests;
+
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.FEN;
+import cz.chess.engine.model.board.Perft;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * UnitTest
+ * Compares the move generation with the published perft node counts of standard positions
+ * https://www.chessprogramming.org/Perft_Results
+ *
+ * @author Vojtěch Sýkora
+ */
+public class TestPerft {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    /* en passant, pins along the rank and promotions by black */
+    private static final String POSITION_3 = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    /* promotions with capture and castling through attacked squares */
+    private static final String POSITION_4 = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+    private static final String POSITION_5 = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+
+    /**
+     * Walks the Boards the same way a game does, with Player.makeMove
+     */
+    @Test
+    public void testBoardPerft() {
+        assertEquals(20, Perft.perft(Board.createStartingBoard(), 1));
+        assertEquals(400, Perft.perft(Board.createStartingBoard(), 2));
+        assertEquals(8902, Perft.perft(Board.createStartingBoard(), 3));
+        assertEquals(2039, Perft.perft(FEN.createBoardFromFEN(KIWIPETE), 2));
+        assertEquals(2812, Perft.perft(FEN.createBoardFromFEN(POSITION_3), 3));
+        assertEquals(264, Perft.perft(FEN.createBoardFromFEN(POSITION_4), 2));
+        assertEquals(1486, Perft.perft(FEN.createBoardFromFEN(POSITION_5), 2));
+    }
+
+    /**
+     * Walks one Position in place with make/unmake
+     */
+    @Test
+    public void testPositionPerft() {
+        assertEquals(197281, Perft.perft(Board.createStartingBoard().toPosition(), 4));
+        assertEquals(97862, Perft.perft(FEN.createBoardFromFEN(KIWIPETE).toPosition(), 3));
+        assertEquals(43238, Perft.perft(FEN.createBoardFromFEN(POSITION_3).toPosition(), 4));
+        assertEquals(9467, Perft.perft(FEN.createBoardFromFEN(POSITION_4).toPosition(), 3));
+        assertEquals(62379, Perft.perft(FEN.createBoardFromFEN(POSITION_5).toPosition(), 3));
+    }
+
+    /**
+     * The en passant Tile of the FEN is used and the capture which would expose the King is not generated
+     */
+    @Test
+    public void testEnPassantFromFEN() {
+        assertEquals(31, Perft.perft(FEN.createBoardFromFEN("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3"), 1));
+        assertEquals(30, Perft.perft(FEN.createBoardFromFEN("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq - 0 3"), 1));
+        assertEquals(6, Perft.perft(FEN.createBoardFromFEN("8/8/8/8/k2Pp2Q/8/8/3K4 b - d3 0 1"), 1));
+        assertEquals(6, Perft.perft(FEN.createBoardFromFEN("8/8/8/8/k2Pp2Q/8/8/3K4 b - d3 0 1").toPosition(), 1));
+    }
+
+    /**
+     * divide splits the perft by the first move and both walks agree on every move
+     */
+    @Test
+    public void testDivide() {
+        final Board board = FEN.createBoardFromFEN(KIWIPETE);
+        final Map<String, Long> boardDivide = Perft.divide(board, 2);
+        final Map<String, Long> positionDivide = Perft.divide(board.toPosition(), 2);
+
+        assertEquals(48, boardDivide.size());
+        assertEquals(boardDivide, positionDivide);
+        assertEquals(2039, boardDivide.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(Long.valueOf(36), boardDivide.get("e2a6"));
+    }
+}
@@ -0,0 +1,419 @@
+package cz.chess.tests;
+
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.FEN;
+import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.Move.MoveCreator;
+import cz.chess.engine.model.board.MoveGenerator;
+import cz.chess.engine.model.board.MoveList;
+import cz.chess.engine.model.board.PackedMove;
+import cz.chess.engine.model.board.Position;
+import cz.chess.engine.model.player.EngineProgress;
+import cz.chess.engine.model.player.EngineService;
+import cz.chess.engine.search.LazySmpSearch;
+import cz.chess.engine.search.MoveHistory;
+import cz.chess.engine.search.MovePicker;
+import cz.chess.engine.search.Search;
+import cz.chess.engine.search.SearchLimits;
+import cz.chess.engine.search.SearchOptions;
+import cz.chess.engine.search.SearchResult;
+import cz.chess.engine.search.StaticExchange;
+import cz.chess.engine.search.TimeManager;
+import cz.chess.engine.search.TranspositionTable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * UnitTest
+ * Tests the search package, from the move ordering to the whole Search
+ *
+ * @author Vojtěch Sýkora
+ */
+public class TestSearch {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    /**
+     * The picker serves every pseudo-legal move exactly once, the hash move first,
+     * then captures which do not lose material, quiet moves and finally the losing captures
+     */
+    @Test
+    public void testMovePicker() {
+        final Position position = FEN.createBoardFromFEN(KIWIPETE).toPosition();
+        final MoveList pseudoLegalMoves = new MoveList();
+        MoveGenerator.generatePseudoLegalMoves(position, pseudoLegalMoves);
+        final int hashMove = PackedMove.encode(4, 6, 0, -1, 0, PackedMove.FLAG_CASTLING); // e1g1
+
+        final MovePicker movePicker = new MovePicker(new MoveHistory());
+        movePicker.init(position, hashMove, 0);
+        final Set<Integer> served = new HashSet<>();
+        boolean quietServed = false;
+        int move;
+        while ((move = movePicker.next()) != PackedMove.NONE) {
+            if (served.isEmpty()) {
+                assertEquals(hashMove, move);
+            } else if (PackedMove.isCapture(move)) {
+                assertEquals(quietServed, StaticExchange.evaluate(position, move) < 0);
+            } else {
+                quietServed = true;
+            }
+            assertTrue(served.add(move));
+            assertTrue(pseudoLegalMoves.contains(move));
+        }
+        assertEquals(pseudoLegalMoves.size(), served.size());
+    }
+
+    /**
+     * A hash move which is not possible in the position is never served
+     */
+    @Test
+    public void testMovePickerRejectsWrongHashMove() {
+        final Position position = FEN.createBoardFromFEN(KIWIPETE).toPosition();
+        final int blackMove = PackedMove.encode(60, 62, 6, -1, 0, PackedMove.FLAG_CASTLING); // e8g8
+        assertFalse(MoveGenerator.isPseudoLegal(position, blackMove));
+
+        final MovePicker movePicker = new MovePicker(new MoveHistory());
+        movePicker.init(position, blackMove, 0);
+        int move;
+        while ((move = movePicker.next()) != PackedMove.NONE) {
+            assertNotEquals(blackMove, move);
+        }
+    }
+
+    /**
+     * Exchanges with defenders, x-ray attackers behind other pieces and promotions
+     */
+    @Test
+    public void testStaticExchange() {
+        // Rxe5, the Pawn is not defended
+        Position position = FEN.createBoardFromFEN("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1").toPosition();
+        assertEquals(100, StaticExchange.evaluate(position, PackedMove.encode(4, 36, 2, 11, 0, 0)));
+
+        // Nxe5 takes a Pawn defended by a Knight, a Bishop and a Queen behind it, only a Rook follows the Knight
+        position = FEN.createBoardFromFEN("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2KQ4 w - - 0 1").toPosition();
+        assertEquals(-220, StaticExchange.evaluate(position, PackedMove.encode(19, 36, 4, 11, 0, 0)));
+
+        // Qxd5 takes a Pawn defended by a Pawn
+        position = FEN.createBoardFromFEN("4k3/8/4p3/3p4/8/8/3Q4/4K3 w - - 0 1").toPosition();
+        assertEquals(-800, StaticExchange.evaluate(position, PackedMove.encode(11, 35, 1, 11, 0, 0)));
+
+        // Rxd5 is taken back by the Rook, but the second Rook behind the first one takes it back again
+        position = FEN.createBoardFromFEN("4k3/3r4/8/3p4/8/8/3R4/3RK3 w - - 0 1").toPosition();
+        assertEquals(100, StaticExchange.evaluate(position, PackedMove.encode(11, 35, 2, 11, 0, 0)));
+
+        // a8=Q is taken back by the Rook on h8
+        position = FEN.createBoardFromFEN("7r/P7/8/8/8/8/8/k3K3 w - - 0 1").toPosition();
+        assertEquals(-100, StaticExchange.evaluate(position, PackedMove.encode(48, 56, 5, -1, 1, 0)));
+    }
+
+    /**
+     * The TranspositionTable returns what was stored and keeps the deeper entry of the current search
+     * in the depth-preferred slot, while the always-replace slot takes the other positions of the bucket
+     */
+    @Test
+    public void testTranspositionTable() {
+        final TranspositionTable transpositionTable = new TranspositionTable(1);
+        assertEquals(1, transpositionTable.getSizeMb());
+        transpositionTable.newSearch();
+        final int e2e4 = PackedMove.encode(12, 28, 5, -1, 0, PackedMove.FLAG_PAWN_JUMP);
+        final int d2d4 = PackedMove.encode(11, 27, 5, -1, 0, PackedMove.FLAG_PAWN_JUMP);
+        // the keys differ only in the highest bits, so they share a bucket
+        final long deepKey = 0x1234L;
+        final long otherKey = deepKey | (1L << 60);
+        final long thirdKey = deepKey | (2L << 60);
+
+        assertEquals(TranspositionTable.MISS, transpositionTable.probe(deepKey));
+        transpositionTable.store(deepKey, e2e4, -50, 8, TranspositionTable.BOUND_EXACT);
+        long entry = transpositionTable.probe(deepKey);
+        assertEquals(e2e4, TranspositionTable.getMove(entry));
+        assertEquals(-50, TranspositionTable.getScore(entry));
+        assertEquals(8, TranspositionTable.getDepth(entry));
+        assertEquals(TranspositionTable.BOUND_EXACT, TranspositionTable.getBound(entry));
+        assertEquals(TranspositionTable.MISS, transpositionTable.probe(deepKey ^ 1));
+
+        // a shallower entry does not evict the deeper one, it goes to the always-replace slot
+        transpositionTable.store(otherKey, d2d4, 10, 3, TranspositionTable.BOUND_LOWER);
+        assertEquals(e2e4, TranspositionTable.getMove(transpositionTable.probe(deepKey)));
+        assertEquals(d2d4, TranspositionTable.getMove(transpositionTable.probe(otherKey)));
+
+        // a store without a move keeps the move of the position, also in the always-replace slot,
+        // and a deeper result of the same position does not make a second copy of it
+        transpositionTable.store(otherKey, PackedMove.NONE, 20, 9, TranspositionTable.BOUND_UPPER);
+        entry = transpositionTable.probe(otherKey);
+        assertEquals(d2d4, TranspositionTable.getMove(entry));
+        assertEquals(9, TranspositionTable.getDepth(entry));
+        assertEquals(e2e4, TranspositionTable.getMove(transpositionTable.probe(deepKey)));
+
+        transpositionTable.store(thirdKey, e2e4, 0, 2, TranspositionTable.BOUND_EXACT);
+        assertEquals(TranspositionTable.MISS, transpositionTable.probe(otherKey));
+        assertEquals(e2e4, TranspositionTable.getMove(transpositionTable.probe(deepKey)));
+
+        // an entry of an older search is evicted even by a shallower one
+        transpositionTable.newSearch();
+        transpositionTable.store(otherKey, d2d4, 0, 1, TranspositionTable.BOUND_EXACT);
+        assertEquals(TranspositionTable.MISS, transpositionTable.probe(deepKey));
+        assertEquals(d2d4, TranspositionTable.getMove(transpositionTable.probe(otherKey)));
+
+        transpositionTable.resize(4);
+        assertEquals(4, transpositionTable.getSizeMb());
+        assertEquals(TranspositionTable.MISS, transpositionTable.probe(otherKey));
+    }
+
+    /**
+     * Finds a mate in one and reports the mate score
+     */
+    @Test
+    public void testSearchFindsMate() {
+        final Position position = FEN.createBoardFromFEN("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1").toPosition();
+        final SearchResult result = new Search().search(position, SearchLimits.depth(4));
+        assertEquals("d1d8", PackedMove.toString(result.getBestMove()));
+        assertTrue(result.isMateScore());
+        assertTrue(result.getScore() > 0);
+    }
+
+    /**
+     * LazySmpSearch with helper threads finds the same mate as a single Search and a legal move in a busy position,
+     * keeps working after setThreads and finishes an infinite search when it is stopped
+     */
+    @Test
+    public void testLazySmpSearch() throws Exception {
+        final LazySmpSearch search = new LazySmpSearch(new TranspositionTable(16), 2);
+        try {
+            final Position matePosition = FEN.createBoardFromFEN("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1").toPosition();
+            final SearchResult single = new Search().search(new Position(matePosition), SearchLimits.depth(4));
+            final SearchResult mate = search.search(matePosition, SearchLimits.depth(4));
+            assertEquals(PackedMove.toString(single.getBestMove()), PackedMove.toString(mate.getBestMove()));
+            assertEquals(single.getScore(), mate.getScore());
+            assertTrue(mate.isMateScore());
+
+            final Position position = FEN.createBoardFromFEN(KIWIPETE).toPosition();
+            final long key = position.getZobristKey();
+            assertTrue(MoveGenerator.isLegal(position, search.search(position, SearchLimits.depth(5)).getBestMove()));
+            assertEquals(key, position.getZobristKey());
+
+            search.setThreads(3);
+            assertEquals(3, search.getThreads());
+            assertTrue(MoveGenerator.isLegal(position, search.search(position, SearchLimits.depth(5)).getBestMove()));
+
+            final CountDownLatch searching = new CountDownLatch(1);
+            search.setListener(iteration -> searching.countDown());
+            final CompletableFuture<SearchResult> infinite =
+                    CompletableFuture.supplyAsync(() -> search.search(position, SearchLimits.infinite()));
+            assertTrue(searching.await(30, TimeUnit.SECONDS));
+            search.stop();
+            final SearchResult stopped = infinite.get(30, TimeUnit.SECONDS);
+            assertTrue(MoveGenerator.isLegal(position, stopped.getBestMove()));
+            assertEquals(key, position.getZobristKey());
+        } finally {
+            search.shutdown();
+        }
+    }
+
+    /**
+     * The null move only passes the turn and unmakeMove restores the position.
+     * The selective search needs fewer nodes for the same depth than a plain alpha-beta search
+     * and still finds the mate
+     */
+    @Test
+    public void testSelectiveSearch() {
+        final Position position = FEN.createBoardFromFEN(KIWIPETE).toPosition();
+        final long key = position.getZobristKey();
+        position.makeNullMove();
+        assertEquals(Position.BLACK, position.getSideToMove());
+        assertNotEquals(key, position.getZobristKey());
+        position.unmakeMove();
+        assertEquals(key, position.getZobristKey());
+        assertTrue(position.hasNonPawnMaterial(Position.WHITE));
+        assertFalse(FEN.createBoardFromFEN("4k3/pppp4/8/8/8/8/4PPPP/4K3 w - - 0 1").toPosition().hasNonPawnMaterial(Position.WHITE));
+
+        final Search plain = new Search();
+        plain.setOptions(SearchOptions.none());
+        final SearchResult plainResult = plain.search(new Position(position), SearchLimits.depth(5));
+        final SearchResult selectiveResult = new Search().search(new Position(position), SearchLimits.depth(5));
+        assertEquals(5, selectiveResult.getDepth());
+        assertTrue(selectiveResult.getNodes() < plainResult.getNodes());
+
+        final Position mate = FEN.createBoardFromFEN("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1").toPosition();
+        final Search search = new Search();
+        search.setOptions(new SearchOptions.Builder(SearchOptions.none()).setNullMovePruning(true).build());
+        assertEquals("d1d8", PackedMove.toString(search.search(mate, SearchLimits.depth(6)).getBestMove()));
+    }
+
+    /**
+     * The principal variation starts with the best move and is a line of legal moves
+     */
+    @Test
+    public void testPrincipalVariation() {
+        final Position position = FEN.createBoardFromFEN(KIWIPETE).toPosition();
+        final SearchResult result = new Search().search(new Position(position), SearchLimits.depth(6));
+        final int[] principalVariation = result.getPrincipalVariation();
+        assertTrue(principalVariation.length > 1);
+        assertEquals(result.getBestMove(), principalVariation[0]);
+        final MoveList legalMoves = new MoveList();
+        for (final int move : principalVariation) {
+            MoveGenerator.generateLegalMoves(position, legalMoves);
+            assertTrue(legalMoves.contains(move));
+            position.makeMove(move);
+        }
+        assertTrue(result.toString().endsWith("pv " + result.getPrincipalVariationString()));
+    }
+
+    /**
+     * The side which is a queen down repeats the position for the third time and the search scores it as a draw,
+     * also when the repetition is at the horizon of the search
+     */
+    @Test
+    public void testSearchClaimsRepetition() {
+        Board board = FEN.createBoardFromFEN("kn6/8/8/8/8/8/8/3QK3 w - - 0 1");
+        final int[][] moves = {{3, 11}, {57, 42}, {11, 3}, {42, 57}, {3, 11}, {57, 42}, {11, 3}};
+        for (final int[] move : moves) {
+            board = MoveCreator.createMove(board, move[0], move[1]).execute();
+        }
+        final SearchResult result = new Search().search(board.toPosition(), SearchLimits.depth(5));
+        assertEquals("c6b8", PackedMove.toString(result.getBestMove()));
+        assertEquals(Search.DRAW, result.getScore());
+
+        // the repetition is reached by the last move of the tree
+        final SearchResult leaf = new Search().search(board.toPosition(), SearchLimits.depth(1));
+        assertEquals("c6b8", PackedMove.toString(leaf.getBestMove()));
+        assertEquals(Search.DRAW, leaf.getScore());
+    }
+
+    /**
+     * The TimeManager splits the clock into soft and hard limits and shortens the soft limit
+     * while the best move is stable, but stretches it again when the best move changes or the score drops
+     */
+    @Test
+    public void testTimeManager() {
+        TimeManager timeManager = new TimeManager(60_000, 0, 60_000, 0);
+        assertEquals(2000, timeManager.getSoftMillis());
+        assertEquals(8000, timeManager.getHardMillis());
+
+        timeManager = new TimeManager(1000, 0, 0, 1);
+        assertTrue(timeManager.getHardMillis() < 1000);
+        assertEquals(timeManager.getHardMillis(), timeManager.getSoftMillis());
+
+        final int e2e4 = PackedMove.encode(12, 28, 5, -1, 0, PackedMove.FLAG_PAWN_JUMP);
+        final int d2d4 = PackedMove.encode(11, 27, 5, -1, 0, PackedMove.FLAG_PAWN_JUMP);
+        final long second = 1_000_000_000L;
+        timeManager = new TimeManager(60_000, 0, 0, 0);
+        assertTrue(timeManager.iterationFinished(e2e4, 0, second));
+        for (int i = 0; i < 3; i++) {
+            timeManager.iterationFinished(e2e4, 0, second);
+        }
+        assertFalse(timeManager.iterationFinished(e2e4, 0, second));
+        assertTrue(timeManager.iterationFinished(e2e4, -60, second));
+        assertTrue(timeManager.iterationFinished(d2d4, -60, second));
+    }
+
+    /**
+     * A search with a clock stops on its own before the hard limit of its TimeManager
+     */
+    @Test
+    public void testSearchWithClock() {
+        final Position position = FEN.createBoardFromFEN(KIWIPETE).toPosition();
+        final SearchLimits limits = new SearchLimits.Builder().setTimeLeft(3000, 3000).build();
+        final long hardMillis = new TimeManager(limits, Position.WHITE).getHardMillis();
+        final SearchResult result = new Search().search(position, limits);
+        assertTrue(result.getDepth() >= 1);
+        assertTrue(result.getTimeMillis() <= hardMillis + 100);
+    }
+
+    /**
+     * The EngineService reports every iteration with a principal variation starting with its best move
+     * and completes the future with a legal move
+     */
+    @Test
+    public void testEngineServiceReportsProgress() throws Exception {
+        final EngineService engineService = new EngineService(Runnable::run);
+        final Board board = Board.createStartingBoard();
+        final List<EngineProgress> progress = new ArrayList<>();
+        final Move move = engineService.chooseMove(board, SearchLimits.depth(4), progress::add).get(30, TimeUnit.SECONDS);
+        engineService.shutdown();
+
+        assertTrue(board.getCurrentPlayer().isLegalMove(move));
+        assertEquals(4, progress.size());
+        for (int i = 0; i < progress.size(); i++) {
+            final EngineProgress iteration = progress.get(i);
+            assertEquals(i + 1, iteration.getDepth());
+            assertTrue(iteration.getPrincipalVariation().length >= 1);
+            assertEquals(iteration.getResult().getBestMove(), iteration.getPrincipalVariation()[0]);
+        }
+    }
+
+    /**
+     * Cancelling a request stops its infinite search, so the next request is served
+     */
+    @Test
+    public void testEngineServiceCancel() throws Exception {
+        final EngineService engineService = new EngineService(Runnable::run);
+        final Board board = Board.createStartingBoard();
+        final CountDownLatch searching = new CountDownLatch(1);
+        final CompletableFuture<Move> infinite = engineService.chooseMove(board, SearchLimits.infinite(),
+                iteration -> searching.countDown());
+        assertTrue(searching.await(30, TimeUnit.SECONDS));
+        assertTrue(infinite.cancel(true));
+
+        final Move move = engineService.chooseMove(board, SearchLimits.depth(1), null).get(30, TimeUnit.SECONDS);
+        engineService.shutdown();
+        assertTrue(board.getCurrentPlayer().isLegalMove(move));
+    }
+
+    /**
+     * A ponder hit turns the infinite ponder search into a timed one answering in the real position,
+     * a miss stops it so the next request is served
+     */
+    @Test
+    public void testEngineServicePonder() throws Exception {
+        final EngineService engineService = new EngineService(Runnable::run);
+        final Board board = Board.createStartingBoard();
+        final Move expectedMove = MoveCreator.createMove(board, "e2e4");
+        final Board afterBoard = board.getCurrentPlayer().makeMove(expectedMove).getAfterBoard();
+
+        final CountDownLatch hitPondering = new CountDownLatch(1);
+        final EngineService.Ponder hit = engineService.ponder(board, expectedMove.toPackedMove(), iteration -> hitPondering.countDown());
+        assertTrue(hitPondering.await(30, TimeUnit.SECONDS));
+        assertTrue(hit.isHit(expectedMove));
+        final Move reply = hit.hit(afterBoard, 100).get(30, TimeUnit.SECONDS);
+        assertTrue(afterBoard.getCurrentPlayer().isLegalMove(reply));
+
+        final CountDownLatch missPondering = new CountDownLatch(1);
+        final EngineService.Ponder miss = engineService.ponder(board, expectedMove.toPackedMove(), iteration -> missPondering.countDown());
+        assertTrue(missPondering.await(30, TimeUnit.SECONDS));
+        assertFalse(miss.isHit(MoveCreator.createMove(board, "d2d4")));
+        miss.miss();
+        final Move move = engineService.chooseMove(board, SearchLimits.depth(1), null).get(30, TimeUnit.SECONDS);
+        engineService.shutdown();
+        assertTrue(board.getCurrentPlayer().isLegalMove(move));
+    }
+
+    /**
+     * Cancelling the move returned by Ponder.hit stops the ponder search, so the next request does not wait for its time limit
+     */
+    @Test
+    public void testEngineServiceCancelPonderHit() throws Exception {
+        final EngineService engineService = new EngineService(Runnable::run);
+        final Board board = Board.createStartingBoard();
+        final Move expectedMove = MoveCreator.createMove(board, "e2e4");
+        final Board afterBoard = board.getCurrentPlayer().makeMove(expectedMove).getAfterBoard();
+
+        final CountDownLatch pondering = new CountDownLatch(1);
+        final EngineService.Ponder ponder = engineService.ponder(board, expectedMove.toPackedMove(), iteration -> pondering.countDown());
+        assertTrue(pondering.await(30, TimeUnit.SECONDS));
+        final CompletableFuture<Move> hit = ponder.hit(afterBoard, 60_000);
+        assertTrue(hit.cancel(false));
+
+        final Move move = engineService.chooseMove(board, SearchLimits.depth(1), null).get(5, TimeUnit.SECONDS);
+        engineService.shutdown();
+        assertTrue(board.getCurrentPlayer().isLegalMove(move));
+    }
+}
@@ -0,0 +1,106 @@
+package cz.chess.tests;
+
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.FEN;
+import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.Move.MoveCreator;
+import cz.chess.engine.model.pieces.Piece.PieceType;
+import cz.chess.engine.uci.UciEngine;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * UnitTest
+ * Tests the UCI front-end by sending it commands and reading its responses
+ *
+ * @author Vojtěch Sýkora
+ */
+public class TestUci {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final UciEngine engine = new UciEngine(new ByteArrayInputStream(new byte[0]),
+            new PrintStream(this.bytes, true));
+
+    /**
+     * Moves in the long algebraic notation, including castling and under-promotions
+     */
+    @Test
+    public void testCreateMoveFromNotation() {
+        final Board board = FEN.createBoardFromFEN("r3k3/1P6/8/8/8/8/8/4K2R w Kq - 0 1");
+        final Move promotion = MoveCreator.createMove(board, "b7a8n");
+        assertEquals(PieceType.KNIGHT, promotion.getPromotionPieceType());
+        assertEquals(MoveCreator.getInvalidMove(), MoveCreator.createMove(board, "b7a8"));
+        assertTrue(MoveCreator.createMove(board, "e1g1") instanceof Move.KingSideCastlingMove);
+        assertEquals(MoveCreator.getInvalidMove(), MoveCreator.createMove(board, "e8c8"));
+    }
+
+    /**
+     * The handshake, then a search of a position given by moves, which reports its progress and the best move
+     */
+    @Test
+    public void testHandshakeAndSearch() {
+        this.engine.execute("uci");
+        this.engine.execute("isready");
+        assertTrue(output().contains("uciok"));
+        assertTrue(output().contains("readyok"));
+
+        this.engine.execute("position startpos moves e2e4 e7e5 g1f3 b8c6 f1c4 g8f6 e1g1");
+        this.engine.execute("go depth 3");
+        final String bestMove = awaitBestMove();
+        assertTrue(output().contains("info depth 3 score cp "));
+        assertTrue(output().contains(" nps "));
+        assertTrue(bestMove.matches("bestmove [a-h][1-8][a-h][1-8].*"));
+        assertTrue(this.engine.execute("stop"));
+        assertFalse(this.engine.execute("quit"));
+    }
+
+    /**
+     * Mate in one is found from a position given by FEN
+     */
+    @Test
+    public void testFindsMate() {
+        this.engine.execute("position fen 6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1");
+        this.engine.execute("go depth 4");
+        assertTrue(awaitBestMove().startsWith("bestmove d1d8"));
+        assertTrue(output().contains("score mate 1"));
+    }
+
+    /**
+     * A ponder search does not report its best move before ponderhit, even when it has finished
+     */
+    @Test
+    public void testPonderWaitsForPonderHit() throws InterruptedException {
+        this.engine.execute("position startpos moves e2e4");
+        this.engine.execute("go ponder depth 2 wtime 1000 btime 1000");
+        Thread.sleep(300);
+        assertFalse(output().contains("bestmove"));
+        this.engine.execute("ponderhit");
+        assertTrue(awaitBestMove().startsWith("bestmove "));
+    }
+
+    private String output() {
+        return new String(this.bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private String awaitBestMove() {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            for (final String line : output().split("\\R")) {
+                if (line.startsWith("bestmove")) {
+                    return line;
+                }
+            }
+            Thread.yield();
+        }
+        fail("No bestmove within " + TIMEOUT_MILLIS + " ms");
+        return null;
+    }
+}
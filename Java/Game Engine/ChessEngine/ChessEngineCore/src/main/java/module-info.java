@@ -0,0 +1,14 @@
+module cz.chess.engine.core {
+    requires com.google.common;
+    requires junit;
+    requires java.logging;
+    exports cz.chess.engine;
+    exports cz.chess.engine.model;
+    exports cz.chess.engine.model.board;
+    exports cz.chess.engine.model.pieces;
+    exports cz.chess.engine.model.player;
+    exports cz.chess.engine.eval;
+    exports cz.chess.engine.search;
+    exports cz.chess.engine.uci;
+    exports cz.chess.tests;
+}
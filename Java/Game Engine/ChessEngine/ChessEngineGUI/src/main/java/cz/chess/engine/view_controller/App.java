@@ -1,15 +1,22 @@
 package cz.chess.engine.view_controller;
 
 import cz.chess.engine.MyLogger;
-import cz.chess.engine.model.MyTimer;
+import cz.chess.engine.model.ChessClock;
+import cz.chess.engine.model.ClockService;
+import cz.chess.engine.model.TimeControl;
 import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.Move.MoveCreator;
+import cz.chess.engine.model.player.EngineService;
 import cz.chess.engine.view_controller.boxes.ConfirmBox;
+import cz.chess.engine.view_controller.boxes.PawnPromotionChoiceBox;
 import cz.chess.engine.view_controller.ingame.GameView;
+import cz.chess.engine.view_controller.ingame.TimerLabels;
 import cz.chess.engine.view_controller.menu.UserManual;
 import cz.chess.engine.view_controller.menu.CustomGame;
 import cz.chess.engine.view_controller.menu.LoadGame;
 import cz.chess.engine.view_controller.menu.MainMenu;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
@@ -27,11 +34,14 @@ public class App extends Application {
     public static Scene mainMenu, gameView, customScene, loadScene, userManualScene, loadFENScene, loadPGNScene;
     public static ChessBoard chessBoard, customChessBoard;
     public static boolean hintsTurnedOn = false;
+    public static boolean ponderingTurnedOn = true;
     public static String piecesFolder = "";
     private static Board board;
     public static boolean againstHuman = true;
     public static String customSelectedPiece = null;
-    public static MyTimer myTimer;
+    public static ClockService clockService;
+    public static ChessClock chessClock;
+    public static EngineService engineService;
 
     public static void main(String[] args) {
         launch();
@@ -39,6 +49,7 @@ public class App extends Application {
 
     /**
      * Sets up the Logger
+     * Connects the model to the GUI: the timer Labels, the promotion dialog and the engine
      * Initializes all Scenes
      * Starts up the GUI
      *
@@ -48,7 +59,11 @@ public class App extends Application {
     public void start(Stage stage) {
         window = stage;
         MyLogger.setupLogger();
-        myTimer = new MyTimer();
+        clockService = new ClockService();
+        chessClock = clockService.createClock(TimeControl.suddenDeath(15 * 60 * 1000)); // classic game 15 minutes for each player
+        chessClock.addListener(new TimerLabels());
+        MoveCreator.setPromotionChooser(PawnPromotionChoiceBox::choosePieceType);
+        engineService = new EngineService(Platform::runLater);
 
         initialiseAllScenes();
 
@@ -81,7 +96,8 @@ public class App extends Application {
         Boolean answer = ConfirmBox.display("You wanna exit?", "You sure you want to exit?");
         if (answer) {
             window.close();
-            myTimer.interrupt();
+            clockService.shutdown();
+            engineService.shutdown();
         }
     }
 
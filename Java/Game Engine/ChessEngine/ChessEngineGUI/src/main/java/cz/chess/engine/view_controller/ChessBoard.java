@@ -1,10 +1,15 @@
 package cz.chess.engine.view_controller;
 
 import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.TimeControl;
 import cz.chess.engine.model.board.*;
 import cz.chess.engine.model.board.Board.Builder;
 import cz.chess.engine.model.board.Move.MoveCreator;
 import cz.chess.engine.model.pieces.Piece;
+import cz.chess.engine.model.player.EngineProgress;
+import cz.chess.engine.model.player.EngineService.Ponder;
+import cz.chess.engine.search.SearchLimits;
+import cz.chess.engine.search.TimeManager;
 import cz.chess.engine.view_controller.boxes.GameEndBox;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -23,9 +28,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import static cz.chess.engine.view_controller.App.*;
+import static cz.chess.engine.view_controller.ingame.GameView.engineInfo;
 import static cz.chess.engine.view_controller.ingame.GameView.whosTurnItIs;
 
 /**
@@ -39,7 +46,15 @@ public class ChessBoard extends GridPane {
     private final static Logger LOGGER = Logger.getLogger(Logger.GLOBAL_LOGGER_NAME);
 
     private final static int TILE_SIZE = 80;
+    /* thinking time of the computer when its clock has run out */
+    private final static long MIN_THINKING_MILLIS = 100;
     private static boolean firstMove = true;
+    /* move the engine is choosing, there is only one game at a time */
+    private static CompletableFuture<Move> computerMove;
+    /* search of the expected human reply, it runs while the human is thinking */
+    private static Ponder ponder;
+    /* last progress of the computer move, its principal variation gives the reply to ponder on */
+    private static EngineProgress lastEngineProgress;
     final List<TilePanel> boardTiles;
     private Piece humanMovedPiece;
     private Tile sourceTile;
@@ -59,10 +74,14 @@ public class ChessBoard extends GridPane {
         this.boardTiles = new ArrayList<>();
         this.board = board;
         this.moveLog = new MoveLog();
-        myTimer.setWhiteSeconds(15*60);
-        myTimer.setBlackSeconds(15*60);
+        chessClock.reset();
+        if (board != null) {
+            chessClock.setSideToMove(board.getCurrentPlayer().getPlayingSide());
+        }
+        firstMove = true;
         this.setAlignment(Pos.CENTER);
         this.setPadding(new Insets(5,5,5,5));
+        cancelComputerMove();
 
         createBoardOfTiles();
         if (board != null) {
@@ -100,6 +119,13 @@ public class ChessBoard extends GridPane {
         return moveLog;
     }
 
+    /**
+     * @return last progress of the engine in this game with its principal variation, null if it has not searched yet
+     */
+    public static EngineProgress getLastEngineProgress() {
+        return lastEngineProgress;
+    }
+
     public Builder getBuilder() {
         return builder;
     }
@@ -201,6 +227,73 @@ public class ChessBoard extends GridPane {
         this.board.recalculateLegalMoves();
     }
 
+    /**
+     * Stops the engine if it is choosing a move or pondering for the previous game, its move is never made.
+     */
+    private static void cancelComputerMove() {
+        if (computerMove != null) {
+            computerMove.cancel(false);
+            computerMove = null;
+        }
+        stopPondering();
+        if (engineInfo != null) {
+            engineInfo.setText("");
+        }
+    }
+
+    private static boolean isComputerThinking() {
+        return computerMove != null && !computerMove.isDone();
+    }
+
+    private static void stopPondering() {
+        if (ponder != null) {
+            ponder.miss();
+            ponder = null;
+        }
+    }
+
+    private static void showEngineProgress(final EngineProgress progress) {
+        lastEngineProgress = progress;
+        engineInfo.setText((ponder != null ? "pondering   " : "") + "depth " + progress.getDepth()
+                + "   " + progress.getNodesPerSecond() / 1000 + " kN/s\n"
+                + progress.getPrincipalVariationString());
+    }
+
+    /**
+     * The engine thinks on its own thread, so the GUI keeps running however long it takes,
+     * the TimeManager of the Search decides how much of the time on the ChessClock one move gets.
+     *
+     * @return limits of the computer move with both clocks of the ChessClock
+     */
+    private SearchLimits computerSearchLimits() {
+        final PlayingSide computer = board.getCurrentPlayer().getPlayingSide();
+        if (chessClock.getRemainingMillis(computer) <= 0) {
+            return SearchLimits.timeMillis(MIN_THINKING_MILLIS);
+        }
+        final TimeControl timeControl = chessClock.getTimeControl();
+        // a delay saves as much time as an increment of the same length, unless the move is shorter
+        final long increment = timeControl.getIncrementMillis() + timeControl.getDelayMillis();
+        return new SearchLimits.Builder()
+                .setTimeLeft(chessClock.getRemainingMillis(PlayingSide.WHITE), chessClock.getRemainingMillis(PlayingSide.BLACK))
+                .setIncrement(increment, increment)
+                .setMovesToGo(chessClock.getMovesToGo(computer))
+                .build();
+    }
+
+    /**
+     * @return time limit of a ponder search turned into the real one, the soft limit of the computer's clock
+     */
+    private long computerThinkingMillis() {
+        final SearchLimits limits = computerSearchLimits();
+        return limits.hasClock(computerSide())
+                ? new TimeManager(limits, computerSide()).getSoftMillis()
+                : limits.getTimeMillis();
+    }
+
+    private int computerSide() {
+        return board.getCurrentPlayer().getPlayingSide().isWhite() ? Position.WHITE : Position.BLACK;
+    }
+
     private void redrawBoard(final Board board) {
 
         this.board = board;
@@ -264,6 +357,9 @@ public class ChessBoard extends GridPane {
         }
 
         private void tileLeftClick() {
+            if (isComputerThinking()) { // the board belongs to the engine until it moves
+                return;
+            }
             if (sourceTile == null) { // FIRST CLICK
                 sourceTile = board.getTile(this.index);
                 humanMovedPiece = sourceTile.getPiece();
@@ -292,7 +388,7 @@ public class ChessBoard extends GridPane {
                         Platform.runLater(new Runnable() {
                             @Override
                             public void run() {
-                                myTimer.start();
+                                chessClock.start();
                             }
                         });
                     }
@@ -310,24 +406,20 @@ public class ChessBoard extends GridPane {
                 @Override
                 public void run() {
                     redrawBoard(board);
-                    myTimer.changeWhoPlays();
-                    myTimer.setGUITimer();
+                    chessClock.press();
                     whosTurnItIs.setText(whosTurnItIs.getText() == "WHITE" ? "BLACK" : "WHITE");
                 }
             });
 
-            if (!checkIfGameEnded()) {
+            if (checkIfGameEnded()) {
+                stopPondering();
+            } else {
                 if (!againstHuman) { // if playing against AI
-                    Platform.runLater(new Runnable() { // make an AI move
+                    Platform.runLater(new Runnable() { // start an AI move, it is made when the engine has chosen it
                         @Override
                         public void run() {
                             System.out.println("COMPUTER IS MAKING A MOVE");
-                            makeComputerPlay();
-                            redrawBoard(board);
-                            myTimer.changeWhoPlays();
-                            myTimer.setGUITimer();
-                            whosTurnItIs.setText(whosTurnItIs.getText() == "WHITE" ? "BLACK" : "WHITE");
-                            checkIfGameEnded();
+                            startComputerPlay();
                         }
                     });
                 }
@@ -394,19 +486,32 @@ public class ChessBoard extends GridPane {
             boolean ended = false;
             if (board.getCurrentPlayer().isInCheckMate()) {
                 ended = true;
+                chessClock.stop();
                 GameEndBox.display("CheckMate",
                         board.getCurrentPlayer().getOpponent().getPlayingSide().isWhite() ? "1:0" : "0:1");
             } else if (board.getCurrentPlayer().isInStaleMate()) {
                 ended = true;
+                chessClock.stop();
                 GameEndBox.display("StaleMate", null);
+            } else if (board.isThreefoldRepetition()) {
+                ended = true;
+                chessClock.stop();
+                GameEndBox.display("Draw by Threefold Repetition", "1/2:1/2");
+            } else if (board.isFiftyMoveRule()) {
+                ended = true;
+                chessClock.stop();
+                GameEndBox.display("Draw by the Fifty-Move Rule", "1/2:1/2");
             }
             return ended;
         }
 
         private MoveExecution createAndExecuteTheMove() {
-            final Move move = MoveCreator.createMove(board,
+            return executeTheMove(MoveCreator.createMove(board,
                     sourceTile.getTileCoordinate(),
-                    destinationTile.getTileCoordinate());
+                    destinationTile.getTileCoordinate()));
+        }
+
+        private MoveExecution executeTheMove(final Move move) {
             final MoveExecution moveExecution = board.getCurrentPlayer().makeMove(move);
             if (moveExecution.getMoveState().isFinished()) {
                 board = moveExecution.getAfterBoard();
@@ -415,11 +520,50 @@ public class ChessBoard extends GridPane {
             return moveExecution;
         }
 
-        private void makeComputerPlay() {
-            final Move move = board.getCurrentPlayer().chooseAMove();
-            sourceTile = board.getTile(move.getMovedPiece().getPiecePosition());
-            destinationTile = board.getTile(move.getFinalCoordinate());
-            createAndExecuteTheMove();
+        /**
+         * Lets the engine choose a move on its own thread, the progress and the move come back on the JavaFX thread.
+         * If the engine has been pondering on the move the human played, that search continues with the time limit,
+         * otherwise a new search starts.
+         */
+        private void startComputerPlay() {
+            final Board searchedBoard = board;
+            final Move humanMove = moveLog.getMoves().get(moveLog.size() - 1);
+            lastEngineProgress = null;
+            if (ponder != null && ponder.isHit(humanMove)) {
+                LOGGER.info("Ponder hit " + humanMove);
+                computerMove = ponder.hit(searchedBoard, computerThinkingMillis());
+                ponder = null;
+            } else {
+                stopPondering();
+                computerMove = engineService.chooseMove(searchedBoard,
+                        computerSearchLimits(),
+                        ChessBoard::showEngineProgress);
+            }
+            computerMove.thenAccept(move -> {
+                if (move != null && board == searchedBoard) {
+                    makeComputerPlay(move);
+                }
+            });
+        }
+
+        private void makeComputerPlay(final Move move) {
+            executeTheMove(move); // keeps the promotion piece chosen by the search
+            clearSelection();
+            redrawBoard(board);
+            chessClock.press();
+            whosTurnItIs.setText(whosTurnItIs.getText() == "WHITE" ? "BLACK" : "WHITE");
+            if (!checkIfGameEnded() && ponderingTurnedOn) {
+                startPondering();
+            }
+        }
+
+        /**
+         * Searches the reply the engine expects while the human is thinking, see startComputerPlay.
+         */
+        private void startPondering() {
+            if (lastEngineProgress != null && lastEngineProgress.getPonderMove() != PackedMove.NONE) {
+                ponder = engineService.ponder(board, lastEngineProgress.getPonderMove(), ChessBoard::showEngineProgress);
+            }
         }
 
         private void highlightTile() {
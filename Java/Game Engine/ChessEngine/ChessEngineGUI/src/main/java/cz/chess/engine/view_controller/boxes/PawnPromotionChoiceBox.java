@@ -1,5 +1,6 @@
 package cz.chess.engine.view_controller.boxes;
 
+import cz.chess.engine.model.pieces.Piece.PieceType;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -59,6 +60,21 @@ public class PawnPromotionChoiceBox {
         return ret;
     }
 
+    /**
+     * displays the window, used by the model as its PromotionChooser
+     *
+     * @return PieceType of the chosen piece
+     */
+    public static PieceType choosePieceType() {
+        final String choice = display();
+        for (final PieceType pieceType : PieceType.values()) {
+            if (pieceType.toString().equals(choice)) {
+                return pieceType;
+            }
+        }
+        return PieceType.QUEEN;
+    }
+
     private static Button createButton(String label, String representation) {
         Button button = new Button(label);
         button.setFont(Font.font("Times New Roman", FontWeight.BOLD, 16));
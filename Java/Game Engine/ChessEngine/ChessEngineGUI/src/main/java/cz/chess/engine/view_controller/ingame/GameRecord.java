@@ -1,6 +1,9 @@
 package cz.chess.engine.view_controller.ingame;
 
 import cz.chess.engine.model.board.PGN;
+import cz.chess.engine.model.player.EngineProgress;
+import cz.chess.engine.search.SearchResult;
+import cz.chess.engine.view_controller.ChessBoard;
 import cz.chess.engine.view_controller.GraphicsUtils;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -15,7 +18,7 @@ import javafx.scene.text.FontWeight;
 import static cz.chess.engine.view_controller.App.chessBoard;
 
 /**
- * Creates the scene for viewing the Game Record
+ * Creates the scene for viewing the Game Record and the line the engine expects
  * Can be accessed from GameView
  *
  * @author Vojtěch Sýkora
@@ -38,7 +41,12 @@ public class GameRecord {
             TextArea record = new TextArea(PGN.createGameRecord(chessBoard.getMoveLog()));
             record.setEditable(false);
             record.setWrapText(true);
-        center.getChildren().addAll(label, record);
+            Label engineLabel = new Label("ENGINE LINE");
+            engineLabel.setFont(Font.font("Times New Roman", FontWeight.BOLD, 20));
+            Label engineLine = new Label(createEngineLine(ChessBoard.getLastEngineProgress()));
+            engineLine.setFont(Font.font("Times New Roman", FontWeight.NORMAL, 15));
+            engineLine.setWrapText(true);
+        center.getChildren().addAll(label, record, engineLabel, engineLine);
         layout.setCenter(center);
 
         HBox top = GraphicsUtils.createBackButtonOnRight();
@@ -46,4 +54,18 @@ public class GameRecord {
 
         return new Scene(layout, 1280, 720);
     }
+
+    /**
+     * @param progress last progress of the engine, null if it has not searched yet
+     * @return depth, score and the principal variation the engine expects to be played
+     */
+    private static String createEngineLine(final EngineProgress progress) {
+        if (progress == null) {
+            return "The engine has not analysed this game yet.";
+        }
+        final SearchResult result = progress.getResult();
+        return "depth " + result.getDepth()
+                + "   score " + (result.isMateScore() ? "mate " + result.getMateDistance() : result.getScore() / 100.0)
+                + "\n" + progress.getPrincipalVariationString();
+    }
 }
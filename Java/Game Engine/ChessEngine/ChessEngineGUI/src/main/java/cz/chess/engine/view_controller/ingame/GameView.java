@@ -1,5 +1,6 @@
 package cz.chess.engine.view_controller.ingame;
 
+import cz.chess.engine.model.PlayingSide;
 import cz.chess.engine.model.board.Board;
 import cz.chess.engine.view_controller.ChessBoard;
 import cz.chess.engine.view_controller.GraphicsUtils;
@@ -24,7 +25,7 @@ import static cz.chess.engine.view_controller.App.*;
  */
 public class GameView {
 
-    public static Label whosTurnItIs, blackTimer, whiteTimer;
+    public static Label whosTurnItIs, blackTimer, whiteTimer, engineInfo;
     private static BorderPane gameViewLayout;
 
     /**
@@ -75,7 +76,6 @@ public class GameView {
             System.out.println("User chose NEW GAME");
             chessBoard = new ChessBoard(Board.createStartingBoard());
             whosTurnItIs.setText("WHITE");
-            myTimer.setWhoPlays("WHITE");
             setBoard(chessBoard);
         });
         topRightMenu.add(newGameButton, 0, 0);
@@ -110,6 +110,10 @@ public class GameView {
         Button hintsButton = createHintsButton();
         topRightMenu.add(hintsButton, 0, 2);
 
+        // PONDERING
+        Button ponderButton = createPonderButton();
+        topRightMenu.add(ponderButton, 1, 2);
+
         // WHOS TURN IT IS
         Label whosTurnItisLabel = new Label("Current player:");
         whosTurnItisLabel.setTextFill(Color.WHITE);
@@ -126,7 +130,7 @@ public class GameView {
         topRightMenu.add(blackTimerLabel, 0, 9);
 
         blackTimer = GraphicsUtils.createTimerLabel();
-        blackTimer.setText(String.format("%02d:%02d", myTimer.blackSeconds / 60, myTimer.blackSeconds % 60));
+        blackTimer.setText(TimerLabels.format(chessClock.getRemainingSeconds(PlayingSide.BLACK)));
         topRightMenu.add(blackTimer, 1, 9);
 
         // WHITE TIMER
@@ -134,9 +138,17 @@ public class GameView {
         topRightMenu.add(whiteTimerLabel, 0, 11);
 
         whiteTimer = GraphicsUtils.createTimerLabel();
-        whiteTimer.setText(String.format("%02d:%02d", myTimer.whiteSeconds / 60, myTimer.whiteSeconds % 60));
+        whiteTimer.setText(TimerLabels.format(chessClock.getRemainingSeconds(PlayingSide.WHITE)));
         topRightMenu.add(whiteTimer, 1, 11);
 
+        // ENGINE PROGRESS
+        engineInfo = new Label("");
+        engineInfo.setTextFill(Color.WHITE);
+        engineInfo.setFont(Font.font("Times New Roman", FontWeight.NORMAL, 15));
+        engineInfo.setWrapText(true);
+        engineInfo.setMaxWidth(300);
+        topRightMenu.add(engineInfo, 0, 13, 2, 1);
+
         return topRightMenu;
     }
 
@@ -163,4 +175,16 @@ public class GameView {
         return hintsButton;
     }
 
+    private static Button createPonderButton() {
+        Button ponderButton = new Button(ponderingTurnedOn ? "PONDER ON" : "PONDER OFF");
+        ponderButton.setStyle(ponderingTurnedOn ? "-fx-background-color: #FFDC49;" : null);
+        ponderButton.setOnAction(e -> {
+            ponderingTurnedOn = !ponderingTurnedOn;
+            System.out.println(ponderingTurnedOn ? "PONDER ON" : "PONDER OFF");
+            ponderButton.setStyle(ponderingTurnedOn ? "-fx-background-color: #FFDC49;" : null);
+            ponderButton.setText(ponderingTurnedOn ? "PONDER ON" : "PONDER OFF");
+        });
+        return ponderButton;
+    }
+
 }
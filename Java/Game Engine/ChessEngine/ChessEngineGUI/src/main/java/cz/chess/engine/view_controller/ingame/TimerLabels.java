@@ -0,0 +1,49 @@
+package cz.chess.engine.view_controller.ingame;
+
+import cz.chess.engine.model.PlayingSide;
+import cz.chess.engine.model.TimerListener;
+import cz.chess.engine.view_controller.boxes.GameEndBox;
+import javafx.application.Platform;
+
+import static cz.chess.engine.view_controller.ingame.GameView.blackTimer;
+import static cz.chess.engine.view_controller.ingame.GameView.whiteTimer;
+
+/**
+ * Shows the time of the ChessClock on the GameView Labels
+ * and announces the end of the game when the time runs out.
+ * The events come from the clock threads, so they are passed to the JavaFX thread.
+ *
+ * @author Vojtěch Sýkora
+ */
+public class TimerLabels implements TimerListener {
+
+    @Override
+    public void timeChanged(final int whiteSeconds, final int blackSeconds) {
+        Platform.runLater(() -> {
+            if (whiteTimer == null) { // the clock is reset before the GameView is created
+                return;
+            }
+            whiteTimer.setText(format(whiteSeconds));
+            blackTimer.setText(format(blackSeconds));
+        });
+    }
+
+    /**
+     * @param seconds time left
+     * @return the time as minutes and seconds, e.g. "15:00"
+     */
+    public static String format(final int seconds) {
+        return String.format("%02d:%02d", seconds / 60, seconds % 60);
+    }
+
+    @Override
+    public void timeRanOut(final PlayingSide playingSide) {
+        Platform.runLater(() -> {
+            if (playingSide.isWhite()) {
+                GameEndBox.display("WHITE'S TIME RAN OUT", "0:1");
+            } else {
+                GameEndBox.display("BLACK'S TIME RAN OUT", "1:0");
+            }
+        });
+    }
+}
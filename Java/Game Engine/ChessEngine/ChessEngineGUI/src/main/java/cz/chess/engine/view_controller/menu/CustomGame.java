@@ -162,7 +162,6 @@ public class CustomGame {
         choiceBox.getSelectionModel().selectedItemProperty().addListener( (v, oldValue, newValue) -> {
             System.out.println(newValue + " plays next!");
             customChessBoard.setBuilderWhoPlaysNext(newValue == "WHITE" ? PlayingSide.WHITE : PlayingSide.BLACK);
-            myTimer.setWhoPlays(newValue == "WHITE" ? "WHITE" : "BLACK");
         });
         return choiceBox;
     }
@@ -0,0 +1,59 @@
+package cz.chess.benchmarks;
+
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.FEN;
+
+/**
+ * Corpus of positions every benchmark runs over,
+ * taken from master games and the standard perft suite so that the numbers reflect real play.
+ * This class is only used for its constants and methods, it cannot be instantiated.
+ *
+ * @author Vojtěch Sýkora
+ */
+public final class BenchmarkPositions {
+
+    public static final String[] MIDDLEGAMES = {
+            "r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4",
+            "r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP3PPP/R1BQKB1R w KQ - 0 8",
+            "r2q1rk1/pp1nbppp/2p1pn2/3p4/2PP1B2/2N1PN2/PPQ2PPP/R3KB1R w KQ - 2 9",
+            "r1b2rk1/2q1bppp/p2ppn2/1p6/3NP3/1BN1B3/PPP1QPPP/2KR3R w - - 0 12",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+    };
+
+    public static final String[] ENDGAMES = {
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "8/5pk1/6p1/7p/1P5P/6P1/5PK1/8 w - - 0 40",
+            "2r3k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 30",
+            "8/8/4k3/3p4/3P4/4K3/8/8 w - - 0 50",
+    };
+
+    /* contains every kind of move: pawn jumps, en passant, promotions with and without capture and both castlings */
+    public static final String SPECIAL_MOVES = "r3k2r/1P3ppp/8/3pP3/6n1/3B1P2/P5PP/R3K2R w KQkq d6 0 1";
+
+    private BenchmarkPositions() {
+        throw new RuntimeException("BenchmarkPositions class is not instantiable!");
+    }
+
+    /**
+     * @return FENs of all middlegames followed by all endgames
+     */
+    public static String[] allFENs() {
+        final String[] all = new String[MIDDLEGAMES.length + ENDGAMES.length];
+        System.arraycopy(MIDDLEGAMES, 0, all, 0, MIDDLEGAMES.length);
+        System.arraycopy(ENDGAMES, 0, all, MIDDLEGAMES.length, ENDGAMES.length);
+        return all;
+    }
+
+    /**
+     * @param FENs
+     * @return Boards created from the @param FENs, in the same order
+     */
+    public static Board[] createBoards(final String[] FENs) {
+        final Board[] boards = new Board[FENs.length];
+        for (int i = 0; i < FENs.length; i++) {
+            boards[i] = FEN.createBoardFromFEN(FENs[i]);
+        }
+        return boards;
+    }
+}
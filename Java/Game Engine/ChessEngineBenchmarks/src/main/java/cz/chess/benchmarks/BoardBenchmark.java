@@ -0,0 +1,117 @@
+package cz.chess.benchmarks;
+
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.FEN;
+import cz.chess.engine.model.board.Move;
+import cz.chess.engine.model.board.MoveExecution;
+import cz.chess.engine.model.board.MoveLog;
+import cz.chess.engine.model.player.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of creating Boards, generating and making their moves and converting them to and from text.
+ * Every operation is run over the whole corpus of BenchmarkPositions, one invocation covers all positions.
+ *
+ * @author Vojtěch Sýkora
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardBenchmark {
+
+    /* length of the game written by MoveLog.toString */
+    private static final int GAME_LENGTH = 60;
+
+    @Param({"middlegame", "endgame"})
+    public String phase;
+
+    private String[] FENs;
+    private Board[] boards;
+    private MoveLog moveLog;
+
+    @Setup
+    public void setUp() {
+        this.FENs = this.phase.equals("middlegame") ? BenchmarkPositions.MIDDLEGAMES : BenchmarkPositions.ENDGAMES;
+        this.boards = BenchmarkPositions.createBoards(this.FENs);
+        this.moveLog = playGame(this.boards[0], GAME_LENGTH);
+    }
+
+    @Benchmark
+    public Board createStartingBoard() {
+        return Board.createStartingBoard();
+    }
+
+    @Benchmark
+    public void calculateAllLegalMoves(final Blackhole blackhole) {
+        for (final Board board : this.boards) {
+            blackhole.consume(board.calculateAllLegalMoves(board.getWhitePieces()));
+            blackhole.consume(board.calculateAllLegalMoves(board.getBlackPieces()));
+        }
+    }
+
+    @Benchmark
+    public void makeMove(final Blackhole blackhole) {
+        for (final Board board : this.boards) {
+            final Player player = board.getCurrentPlayer();
+            for (final Move move : player.getLegalMoves()) {
+                blackhole.consume(player.makeMove(move));
+            }
+        }
+    }
+
+    @Benchmark
+    public void createBoardFromFEN(final Blackhole blackhole) {
+        for (final String fen : this.FENs) {
+            blackhole.consume(FEN.createBoardFromFEN(fen));
+        }
+    }
+
+    @Benchmark
+    public void createFENFromBoard(final Blackhole blackhole) {
+        for (final Board board : this.boards) {
+            blackhole.consume(FEN.createFENFromBoard(board));
+        }
+    }
+
+    @Benchmark
+    public String moveLogToString() {
+        return this.moveLog.toString();
+    }
+
+    /**
+     * Plays random legal moves from the @param board, always the same ones thanks to the fixed seed.
+     *
+     * @param board starting Board
+     * @param length maximal number of half moves, the game ends sooner when a player has no move
+     * @return MoveLog of the played moves
+     */
+    private static MoveLog playGame(Board board, final int length) {
+        final Random random = new Random(42);
+        final MoveLog moveLog = new MoveLog();
+        for (int i = 0; i < length; i++) {
+            final List<MoveExecution> finishedMoves = new ArrayList<>();
+            for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+                final MoveExecution moveExecution = board.getCurrentPlayer().makeMove(move);
+                if (moveExecution.getMoveState().isFinished()) {
+                    finishedMoves.add(moveExecution);
+                }
+            }
+            if (finishedMoves.isEmpty()) {
+                break;
+            }
+            final MoveExecution moveExecution = finishedMoves.get(random.nextInt(finishedMoves.size()));
+            moveLog.addMove(moveExecution.getMove());
+            board = moveExecution.getAfterBoard();
+        }
+        return moveLog;
+    }
+}
@@ -0,0 +1,96 @@
+package cz.chess.benchmarks;
+
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.Position;
+import cz.chess.engine.search.LazySmpSearch;
+import cz.chess.engine.search.SearchLimits;
+import cz.chess.engine.search.TranspositionTable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to depth of LazySmpSearch with different numbers of threads.
+ * Every invocation searches all middlegames of BenchmarkPositions to DEPTH with an empty transposition table.
+ *
+ * The main method runs the benchmark for 1, 2, 4, 8 and 16 threads, or the thread counts given as arguments,
+ * and prints the speedup curve relative to the first thread count.
+ *
+ * @author Vojtěch Sýkora
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LazySmpBenchmark {
+
+    private static final int DEPTH = 7;
+    private static final int HASH_SIZE_MB = 64;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    private TranspositionTable transpositionTable;
+    private LazySmpSearch search;
+    private Position[] positions;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        this.transpositionTable = new TranspositionTable(HASH_SIZE_MB);
+        this.search = new LazySmpSearch(this.transpositionTable, this.threads);
+        final Board[] boards = BenchmarkPositions.createBoards(BenchmarkPositions.MIDDLEGAMES);
+        this.positions = new Position[boards.length];
+        for (int i = 0; i < boards.length; i++) {
+            this.positions[i] = boards[i].toPosition();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        this.transpositionTable.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.search.shutdown();
+    }
+
+    @Benchmark
+    public void timeToDepth(final Blackhole blackhole) {
+        for (final Position position : this.positions) {
+            blackhole.consume(this.search.search(position, SearchLimits.depth(DEPTH)));
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final String[] threads = args.length > 0 ? args : new String[]{"1", "2", "4", "8", "16"};
+        final Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(LazySmpBenchmark.class.getSimpleName())
+                .param("threads", threads)
+                .build()).run();
+
+        final List<RunResult> sorted = new ArrayList<>(results);
+        sorted.sort((a, b) -> Integer.compare(threadsOf(a), threadsOf(b)));
+        final double baseline = sorted.get(0).getPrimaryResult().getScore();
+        System.out.println();
+        System.out.println("threads  time to depth " + DEPTH + " [ms]  speedup");
+        for (final RunResult result : sorted) {
+            final double time = result.getPrimaryResult().getScore();
+            System.out.println(String.format("%7d  %21.1f  %7.2f", threadsOf(result), time, baseline / time));
+        }
+    }
+
+    private static int threadsOf(final RunResult result) {
+        return Integer.parseInt(result.getParams().getParam("threads"));
+    }
+}
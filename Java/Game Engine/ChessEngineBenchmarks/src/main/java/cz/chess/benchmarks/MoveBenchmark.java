@@ -0,0 +1,60 @@
+package cz.chess.benchmarks;
+
+import cz.chess.engine.model.board.Board;
+import cz.chess.engine.model.board.FEN;
+import cz.chess.engine.model.board.Move;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of Move.execute measured separately for every subclass of Move.
+ * The moves are taken from BenchmarkPositions.SPECIAL_MOVES which contains all of them.
+ *
+ * @author Vojtěch Sýkora
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoveBenchmark {
+
+    @Param({"NormalMove",
+            "OffensiveMove",
+            "PawnMove",
+            "PawnOffensiveMove",
+            "PawnJumpMove",
+            "PawnEnPassantOffensiveMove",
+            "PawnPromotionMove",
+            "KingSideCastlingMove",
+            "QueenSideCastlingMove"})
+    public String moveType;
+
+    private Move move;
+
+    @Setup
+    public void setUp() {
+        this.move = findMove(FEN.createBoardFromFEN(BenchmarkPositions.SPECIAL_MOVES), this.moveType);
+    }
+
+    @Benchmark
+    public Board execute() {
+        return this.move.execute();
+    }
+
+    /**
+     * @param board
+     * @param moveType simple name of a subclass of Move
+     * @return first legal move of the current player which is an instance of the @param moveType
+     */
+    private static Move findMove(final Board board, final String moveType) {
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            if (move.getClass().getSimpleName().equals(moveType)) {
+                return move;
+            }
+        }
+        throw new IllegalStateException("No " + moveType + " in " + BenchmarkPositions.SPECIAL_MOVES);
+    }
+}